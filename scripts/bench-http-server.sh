@@ -0,0 +1,84 @@
+#!/usr/bin/env bash
+# Compares embedded server configurations on small requests: throughput and tail latency of
+# email lookups (served from the lookup cache, so the server's own overhead dominates).
+# Every variant gets a fresh JVM:
+#   tomcat-default   no profile, HTTP/1.1
+#   tomcat-h1        http2 profile, HTTP/1.1 (thread, connection and keep-alive tuning only)
+#   tomcat-h2c       http2 profile, HTTP/2 (h2c), requests multiplexed by curl over few connections
+#   undertow-h1/-h2c the same against an Undertow build, when UNDERTOW_JAR is set
+# Latency is per request as seen by curl, including waiting for a connection or stream slot.
+# h2c is negotiated with Upgrade: h2c on each connection's first request; curl 7.88 fails on
+# connections reused with --http2-prior-knowledge, which the servers accept too.
+#
+# Usage: mvn -q package -DskipTests && scripts/bench-http-server.sh [requests] [concurrency] [employees] [variant...]
+# Undertow: mvn -q package -DskipTests -Dweb.server=undertow && cp target/employee-management-api-1.0.0.jar /tmp/undertow.jar
+#           mvn -q package -DskipTests && UNDERTOW_JAR=/tmp/undertow.jar scripts/bench-http-server.sh
+set -euo pipefail
+
+REQUESTS=${1:-20000}
+CONCURRENCY=${2:-64}
+EMPLOYEES=${3:-1000}
+shift 3 || shift $#
+PORT=${PORT:-18083}
+BASE="http://localhost:${PORT}"
+JAR=$(ls target/employee-management-api-*.jar | grep -v -- '-exec' | head -n 1)
+UNDERTOW_JAR=${UNDERTOW_JAR:-}
+COMMON="--server.port=$PORT --spring.jpa.show-sql=false --app.rate-limit.enabled=false"
+
+# variant -> jar | application arguments | curl protocol flag
+declare -A VARIANTS=(
+    [tomcat-default]="$JAR||--http1.1"
+    [tomcat-h1]="$JAR|--spring.profiles.active=http2|--http1.1"
+    [tomcat-h2c]="$JAR|--spring.profiles.active=http2|--http2"
+    [undertow-h1]="$UNDERTOW_JAR|--spring.profiles.active=http2|--http1.1"
+    [undertow-h2c]="$UNDERTOW_JAR|--spring.profiles.active=http2|--http2"
+)
+ORDER=(tomcat-default tomcat-h1 tomcat-h2c)
+[ -n "$UNDERTOW_JAR" ] && ORDER+=(undertow-h1 undertow-h2c)
+[ $# -gt 0 ] && ORDER=("$@")
+
+# Prints requests per second, p50/p99/p99.9 latency in ms and non-200 responses for `count`
+# lookups. The awk program prints one curl config block per request and a single curl process
+# runs them with `concurrency` in flight, writing each request's time and status (options after
+# "next" apply to one request only, so the protocol and write-out are repeated in every block).
+run() {
+    local count=$1 protocol=$2 start end times
+    times=$(mktemp)
+    start=$(date +%s.%N)
+    seq 1 "$count" | awk -v n="$EMPLOYEES" -v base="$BASE" -v proto="${protocol#--}" \
+        '{ if (NR > 1) print "next"; print "url = " base "/api/employees/email/bench" ($1 % n) + 1 "@example.com/hql"
+           print "output = /dev/null"; print proto; print "write-out = \"%{time_total} %{http_code}\\n\"" }' \
+        | curl -s --no-progress-meter -Z --parallel-max "$CONCURRENCY" -K - > "$times" || true
+    end=$(date +%s.%N)
+    sort -n "$times" | awk -v c="$count" -v s="$start" -v e="$end" '
+        { t[NR] = $1; if ($2 != 200) errors++ }
+        END { printf "%10.1f %9.2f %9.2f %9.2f %7d", c / (e - s), t[int(NR * 0.50)] * 1000, t[int(NR * 0.99)] * 1000,
+              t[int(NR * 0.999)] * 1000, errors + 0 }'
+    rm -f "$times"
+}
+
+printf '%-16s %10s %9s %9s %9s %7s\n' variant req/s p50-ms p99-ms p99.9-ms errors
+for variant in "${ORDER[@]}"; do
+    IFS='|' read -r jar args protocol <<< "${VARIANTS[$variant]}"
+    if [ -z "$jar" ]; then
+        echo "$variant: set UNDERTOW_JAR" >&2
+        continue
+    fi
+    # shellcheck disable=SC2086
+    java -jar "$jar" $COMMON $args > "/tmp/bench-http-$variant.log" 2>&1 &
+    app_pid=$!
+    trap 'kill "$app_pid" 2>/dev/null' EXIT
+    until curl -sf "$BASE/" > /dev/null; do sleep 0.2; done
+
+    seq 1 "$EMPLOYEES" | xargs -P 16 -I{} curl -sf -o /dev/null -X POST "$BASE/api/employees" \
+        -H 'Content-Type: application/json' -d '{"name":"Bench{}","email":"bench{}@example.com"}'
+    # Warm-up pass so JIT and the lookup cache are comparable across variants
+    run 5000 "$protocol" > /dev/null
+
+    printf '%-16s' "$variant"
+    run "$REQUESTS" "$protocol"
+    echo
+
+    kill "$app_pid"
+    wait "$app_pid" 2>/dev/null || true
+done
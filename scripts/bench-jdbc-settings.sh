@@ -0,0 +1,66 @@
+#!/usr/bin/env bash
+# Shows the effect of each setting in the perf profile on the existing endpoints.
+# Every variant gets a fresh JVM: `default` (no profile), `perf`, and `perf` with one setting
+# put back to its default, so the drop from `perf` to a variant is that setting's contribution.
+# Each workload replays the same requests at fixed concurrency and prints requests per second.
+#
+# Usage: mvn -q package -DskipTests && scripts/bench-jdbc-settings.sh [requests] [concurrency] [employees] [variant...]
+set -euo pipefail
+
+REQUESTS=${1:-3000}
+CONCURRENCY=${2:-32}
+EMPLOYEES=${3:-1000}
+shift 3 || shift $#
+PORT=${PORT:-18082}
+BASE="http://localhost:${PORT}"
+JAR=$(ls target/employee-management-api-*.jar | grep -v -- '-exec' | head -n 1)
+COMMON="--server.port=$PORT --spring.jpa.show-sql=false --app.rate-limit.enabled=false --app.cache.enabled=false"
+
+declare -A VARIANTS=(
+    [default]=""
+    [perf]="--spring.profiles.active=perf"
+    [perf-no-query-cache]="--spring.profiles.active=perf --spring.datasource.url=jdbc:h2:mem:employeedb"
+    [perf-pool-10]="--spring.profiles.active=perf --spring.datasource.hikari.maximum-pool-size=10 --spring.datasource.hikari.minimum-idle=10"
+    [perf-autocommit]="--spring.profiles.active=perf --spring.datasource.hikari.auto-commit=true --spring.jpa.properties.hibernate.connection.provider_disables_autocommit=false"
+    [perf-small-plan-cache]="--spring.profiles.active=perf --spring.jpa.properties.hibernate.query.plan_cache_max_size=16"
+    [perf-no-fetch-size]="--spring.profiles.active=perf --spring.jpa.properties.hibernate.jdbc.fetch_size=0"
+    [perf-no-batching]="--spring.profiles.active=perf --spring.jpa.properties.hibernate.jdbc.batch_size=1"
+)
+ORDER=(default perf perf-no-query-cache perf-pool-10 perf-autocommit perf-small-plan-cache perf-no-fetch-size perf-no-batching)
+[ $# -gt 0 ] && ORDER=("$@")
+
+# Prints requests per second for `count` requests; the awk template prints one curl config
+# block per request, and a single curl process runs them with `concurrency` in flight
+run() {
+    local count=$1 template=$2 start end
+    start=$(date +%s.%N)
+    seq 1 "$count" | awk -v n="$EMPLOYEES" -v base="$BASE" "{ if (NR > 1) print \"next\"; i = (\$1 % n) + 1; $template; print \"output = /dev/null\" }" \
+        | curl -s --no-progress-meter -Z --parallel-max "$CONCURRENCY" -K -
+    end=$(date +%s.%N)
+    awk -v c="$count" -v s="$start" -v e="$end" 'BEGIN { printf "%9.1f", c / (e - s) }'
+}
+
+printf '%-22s %9s %9s %9s %9s %9s\n' variant hql native spec listing patch
+for variant in "${ORDER[@]}"; do
+    # shellcheck disable=SC2086
+    java -jar "$JAR" $COMMON ${VARIANTS[$variant]} > "/tmp/bench-jdbc-$variant.log" 2>&1 &
+    app_pid=$!
+    trap 'kill "$app_pid" 2>/dev/null' EXIT
+    until curl -sf "$BASE/" > /dev/null; do sleep 0.2; done
+
+    seq 1 "$EMPLOYEES" | xargs -P 16 -I{} curl -sf -o /dev/null -X POST "$BASE/api/employees" \
+        -H 'Content-Type: application/json' -d '{"name":"Bench{}","email":"bench{}@example.com","phone":"555{}"}'
+    # Warm-up pass so JIT and caches are comparable across variants
+    run 500 'print "url = " base "/api/employees/email/bench" i "@example.com/hql"' > /dev/null
+
+    printf '%-22s' "$variant"
+    run "$REQUESTS" 'print "url = " base "/api/employees/email/bench" i "@example.com/hql"'
+    run "$REQUESTS" 'print "url = " base "/api/employees/email/bench" i "@example.com/native"'
+    run "$REQUESTS" 'print "url = " base "/api/employees/email/bench" i "@example.com/specifications"'
+    run $((REQUESTS / 20)) 'print "url = " base "/api/employees"'
+    run "$REQUESTS" 'print "url = " base "/api/employees/bench" i "@example.com/phone"; print "request = PATCH"; print "header = \"Content-Type: application/json\""; print "data = \"{\\\"phone\\\":\\\"556" i "\\\"}\""'
+    echo
+
+    kill "$app_pid"
+    wait "$app_pid" 2>/dev/null || true
+done
@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+# Compares the servlet and reactive employee endpoints at equal offered load.
+# For each stack a fresh JVM is started and seeded, the same email lookup mix is
+# replayed at fixed concurrency, and throughput plus peak thread usage is printed:
+# total live JVM threads, request threads (http-nio) and JDBC workers (employee-jdbc).
+# Both stacks share the same Hikari pool, so DB connections are capped identically.
+#
+# Usage: mvn -q package -DskipTests && scripts/bench-reactive-vs-servlet.sh [requests] [concurrency] [employees]
+set -euo pipefail
+
+REQUESTS=${1:-5000}
+CONCURRENCY=${2:-64}
+EMPLOYEES=${3:-500}
+PORT=${PORT:-18080}
+BASE="http://localhost:${PORT}"
+JAR=$(ls target/employee-management-api-*.jar | head -n 1)
+
+peak_threads() {
+    local pid=$1 load_pid=$2 peak=0 threads
+    while kill -0 "$load_pid" 2>/dev/null; do
+        threads=$(awk '/^Threads:/ {print $2}' "/proc/$pid/status")
+        (( threads > peak )) && peak=$threads
+        sleep 0.1
+    done
+    echo "$peak"
+}
+
+lookups() {
+    local prefix=$1 count=$2
+    seq 1 "$count" | awk -v n="$EMPLOYEES" '{print ($1 % n) + 1}' \
+        | xargs -P "$CONCURRENCY" -I{} curl -sf -o /dev/null "$BASE$prefix/email/bench{}@example.com/hql"
+}
+
+bench() {
+    local label=$1 prefix=$2
+    java -jar "$JAR" --server.port="$PORT" --spring.jpa.show-sql=false --app.rate-limit.enabled=false > "/tmp/bench-$label.log" 2>&1 &
+    local app_pid=$!
+    until curl -sf "$BASE/" > /dev/null; do sleep 0.2; done
+
+    seq 1 "$EMPLOYEES" | xargs -P 16 -I{} curl -sf -o /dev/null -X POST "$BASE/api/employees" \
+        -H 'Content-Type: application/json' -d '{"name":"Bench{}","email":"bench{}@example.com"}'
+    lookups "$prefix" 500
+
+    local start end peak
+    start=$(date +%s.%N)
+    lookups "$prefix" "$REQUESTS" &
+    peak=$(peak_threads "$app_pid" $!)
+    end=$(date +%s.%N)
+
+    printf '%-9s %8.1f req/s   peak JVM threads: %4s   http-nio: %4s   employee-jdbc: %4s\n' "$label" \
+        "$(echo "$REQUESTS / ($end - $start)" | bc -l)" "$peak" \
+        "$(jcmd "$app_pid" Thread.print | grep -c '^"http-nio' || true)" \
+        "$(jcmd "$app_pid" Thread.print | grep -c '^"employee-jdbc' || true)"
+
+    kill "$app_pid"
+    wait "$app_pid" 2>/dev/null || true
+}
+
+bench servlet /api/employees
+bench reactive /api/reactive/employees
@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+# Measures startup from JVM launch to
+#   live:  first successful GET /  (what the orchestrator's health check sees)
+#   ready: first successful GET /api/employees
+# Each mode is started RUNS times and the averages and best readiness are printed.
+#
+# All modes come from one `mvn -Paot package` build:
+#   jar      the regular fat jar (built with the exec classifier under -Paot)
+#   aot      thin jar plus target/lib, run with -Dspring.aot.enabled=true
+#   aot-cds  same as aot, plus the AppCDS archive trained during the build
+#   fastboot the fat jar with the fastboot profile (lazy beans, background JPA bootstrap)
+#
+# Usage: mvn -Paot package -DskipTests && scripts/bench-startup.sh [runs] [mode...]
+set -euo pipefail
+
+RUNS=${1:-5}
+shift || true
+MODES=("$@")
+PORT=${PORT:-18081}
+TARGET=target
+NAME=employee-management-api-1.0.0
+
+command_for() {
+    case "$1" in
+        jar)     echo "java -jar $TARGET/$NAME-exec.jar" ;;
+        aot)     echo "java -Dspring.aot.enabled=true -jar $TARGET/$NAME.jar" ;;
+        aot-cds) echo "java -XX:SharedArchiveFile=$TARGET/application.jsa -Dspring.aot.enabled=true -jar $TARGET/$NAME.jar" ;;
+        fastboot) echo "java -jar $TARGET/$NAME-exec.jar --spring.profiles.active=fastboot" ;;
+    esac
+}
+
+if [ ${#MODES[@]} -eq 0 ]; then
+    [ -f "$TARGET/$NAME-exec.jar" ] && MODES+=(jar fastboot)
+    [ -f "$TARGET/lib/$(ls $TARGET/lib 2>/dev/null | head -n 1)" ] && MODES+=(aot)
+    [ -f "$TARGET/application.jsa" ] && MODES+=(aot-cds)
+fi
+
+now_ms() { date +%s%3N; }
+
+for mode in "${MODES[@]}"; do
+    live_total=0
+    ready_total=0
+    best=0
+    for run in $(seq 1 "$RUNS"); do
+        start=$(now_ms)
+        $(command_for "$mode") --server.port="$PORT" --spring.jpa.show-sql=false --app.rate-limit.enabled=false > "/tmp/bench-startup-$mode.log" 2>&1 &
+        pid=$!
+        until curl -sf -o /dev/null "http://localhost:$PORT/"; do sleep 0.02; done
+        live=$(( $(now_ms) - start ))
+        until curl -sf -o /dev/null "http://localhost:$PORT/api/employees"; do sleep 0.02; done
+        ready=$(( $(now_ms) - start ))
+        kill "$pid"
+        wait "$pid" 2>/dev/null || true
+        live_total=$(( live_total + live ))
+        ready_total=$(( ready_total + ready ))
+        (( best == 0 || ready < best )) && best=$ready
+    done
+    printf '%-8s live avg %6d ms   ready avg %6d ms   ready best %6d ms   (%d runs)\n' "$mode" \
+        $(( live_total / RUNS )) $(( ready_total / RUNS )) "$best" "$RUNS"
+done
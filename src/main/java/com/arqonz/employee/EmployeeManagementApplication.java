@@ -1,9 +1,12 @@
 package com.arqonz.employee;
 
+import com.arqonz.employee.config.EmployeeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(EmployeeRuntimeHints.class)
 public class EmployeeManagementApplication {
 
     public static void main(String[] args) {
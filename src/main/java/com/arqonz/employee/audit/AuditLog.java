@@ -0,0 +1,420 @@
+package com.arqonz.employee.audit;
+
+import com.arqonz.employee.dto.EmployeeHistoryResponse;
+import com.arqonz.employee.service.EmployeeChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// Append-only change history of every employee (app.audit.enabled).
+// Committed mutations (EmployeeChangedEvent) are queued and written by one background thread in
+// batches - one write and one fsync per batch - so requests never wait for the disk. Records go to
+// numbered segment files of about app.audit.segment-size, each framed as
+// length (4) | CRC32 (4) | AuditRecord payload; a torn record at the end of the last segment is
+// cut off on startup.
+// History reads go through an in-memory index of record positions per tenant and employee email.
+// When a segment is sealed, its share of the index is written next to it as a .idx file, so a
+// restart only has to scan the segment that was still open.
+@Component
+public class AuditLog {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("audit-(\\d{8})\\.log");
+
+    private final boolean enabled;
+    private final Path dir;
+    private final long segmentSize;
+    private final int batchSize;
+    private final boolean fsync;
+    private final BlockingQueue<AuditRecord> queue;
+    private final Map<String, Positions> index = new ConcurrentHashMap<>();
+    private final Map<Integer, FileChannel> readers = new ConcurrentHashMap<>();
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong processed = new AtomicLong();
+
+    // Owned by the writer thread once started
+    private Map<String, Positions> segmentIndex = new HashMap<>();
+    private int segmentId;
+    private FileChannel segment;
+    private long segmentEnd;
+    private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+
+    private Thread writer;
+    private volatile boolean running;
+
+    @Autowired
+    public AuditLog(@Value("${app.audit.enabled:true}") boolean enabled,
+                    @Value("${app.audit.dir:./data/audit}") String dir,
+                    @Value("${app.audit.segment-size:64MB}") DataSize segmentSize,
+                    @Value("${app.audit.batch-size:512}") int batchSize,
+                    @Value("${app.audit.queue-size:65536}") int queueSize,
+                    @Value("${app.audit.fsync:true}") boolean fsync) {
+        this.enabled = enabled;
+        this.dir = Path.of(dir);
+        this.segmentSize = Math.min(segmentSize.toBytes(), Integer.MAX_VALUE / 2);
+        this.batchSize = batchSize;
+        this.fsync = fsync;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+    }
+
+    // Started with the context rather than on ApplicationReadyEvent, so no early change goes unrecorded
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        Files.createDirectories(dir);
+        List<Integer> ids = segmentIds();
+        for (int i = 0; i < ids.size() - 1; i++) {
+            int id = ids.get(i);
+            if (Files.exists(indexPath(id))) {
+                loadIndexFile(id);
+            } else {
+                writeIndexFile(id, scanSegment(id, false));
+            }
+        }
+        int active = ids.isEmpty() ? 1 : ids.get(ids.size() - 1);
+        segmentIndex = ids.isEmpty() ? new HashMap<>() : scanSegment(active, true);
+        openSegment(active);
+        log.info("Audit log opened with {} segments for {} employees in {} ms",
+                Math.max(1, ids.size()), index.size(), (System.nanoTime() - start) / 1_000_000);
+
+        running = true;
+        writer = new Thread(this::runWriter, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public boolean isEnabled() {
+        return running;
+    }
+
+    @TransactionalEventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!running) {
+            return;
+        }
+        try {
+            // Blocks only when the writer is a full queue behind; dropping would leave a gap in the history
+            queue.put(AuditRecord.of(event, System.currentTimeMillis()));
+            enqueued.incrementAndGet();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.error("Audit record for employee {} was not queued", event.isDelete()
+                    ? event.getBefore().getId() : event.getAfter().getId());
+        }
+    }
+
+    // Most recent first; changes still queued for the writer are not visible yet
+    public List<EmployeeHistoryResponse.Entry> history(String tenantId, String email, int limit) throws IOException {
+        if (!running) {
+            throw new IllegalStateException("Audit log is not available");
+        }
+        Positions positions = index.get(AuditRecord.key(tenantId, email));
+        if (positions == null) {
+            return List.of();
+        }
+        long[] all = positions.toArray();
+        List<EmployeeHistoryResponse.Entry> entries = new ArrayList<>(Math.min(limit, all.length));
+        for (int i = all.length - 1; i >= 0 && entries.size() < limit; i--) {
+            entries.add(toEntry(read(all[i])));
+        }
+        return entries;
+    }
+
+    // Waits until every record queued so far has been written (or failed); for tests and shutdown
+    boolean awaitWritten(long timeoutMillis) throws InterruptedException {
+        long target = enqueued.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (processed.get() < target) {
+            if (System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        segment.close();
+        for (FileChannel reader : readers.values()) {
+            reader.close();
+        }
+        readers.clear();
+    }
+
+    private void runWriter() {
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditRecord first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException ex) {
+                log.error("Audit batch of {} records could not be written", batch.size(), ex);
+            } finally {
+                processed.addAndGet(batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<AuditRecord> batch) throws IOException {
+        if (segmentEnd >= segmentSize) {
+            rotate();
+        }
+        int[] sizes = new int[batch.size()];
+        int total = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = batch.get(i).encodedSize();
+            total += HEADER_SIZE + sizes[i];
+        }
+        if (buffer.capacity() < total) {
+            buffer = ByteBuffer.allocate(Math.max(total, buffer.capacity() * 2));
+        }
+        buffer.clear();
+        int[] offsets = new int[sizes.length];
+        CRC32 crc = new CRC32();
+        for (int i = 0; i < sizes.length; i++) {
+            int start = buffer.position();
+            offsets[i] = (int) segmentEnd + start;
+            buffer.putInt(sizes[i]).putInt(0);
+            batch.get(i).encode(buffer);
+            crc.reset();
+            crc.update(buffer.array(), start + HEADER_SIZE, sizes[i]);
+            buffer.putInt(start + Integer.BYTES, (int) crc.getValue());
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            segment.write(buffer, segmentEnd + buffer.position());
+        }
+        if (fsync) {
+            segment.force(false);
+        }
+        segmentEnd += total;
+
+        // Indexed only once durable, so a reader never follows a position that is not on disk
+        for (int i = 0; i < sizes.length; i++) {
+            String key = batch.get(i).key();
+            index.computeIfAbsent(key, k -> new Positions()).add(position(segmentId, offsets[i]));
+            segmentIndex.computeIfAbsent(key, k -> new Positions()).add(offsets[i]);
+        }
+    }
+
+    private void rotate() throws IOException {
+        segment.force(true);
+        segment.close();
+        writeIndexFile(segmentId, segmentIndex);
+        segmentIndex = new HashMap<>();
+        openSegment(segmentId + 1);
+    }
+
+    private void openSegment(int id) throws IOException {
+        segmentId = id;
+        segment = FileChannel.open(segmentPath(id), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        segmentEnd = segment.size();
+    }
+
+    // Adds every intact record of the segment to the index and returns the segment's own index.
+    // In the active segment, anything after the last intact record is a torn write and is removed.
+    private Map<String, Positions> scanSegment(int id, boolean active) throws IOException {
+        Map<String, Positions> positions = new HashMap<>();
+        try (FileChannel channel = FileChannel.open(segmentPath(id), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CRC32 crc = new CRC32();
+            int offset = 0;
+            while (offset + HEADER_SIZE <= size) {
+                int length = map.getInt(offset);
+                if (length <= 0 || offset + HEADER_SIZE + (long) length > size) {
+                    break;
+                }
+                ByteBuffer payload = map.slice(offset + HEADER_SIZE, length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != map.getInt(offset + Integer.BYTES)) {
+                    break;
+                }
+                String key = AuditRecord.decodeKey(payload);
+                index.computeIfAbsent(key, k -> new Positions()).add(position(id, offset));
+                positions.computeIfAbsent(key, k -> new Positions()).add(offset);
+                offset += HEADER_SIZE + length;
+            }
+            if (offset < size) {
+                log.warn("Audit segment {} has {} unreadable bytes after offset {}{}", segmentPath(id),
+                        size - offset, offset, active ? "; truncating" : "");
+                if (active) {
+                    channel.truncate(offset);
+                }
+            }
+        }
+        return positions;
+    }
+
+    // .idx layout, per employee: tenant/email | record count (varint) | offsets as varint deltas
+    private void writeIndexFile(int id, Map<String, Positions> positions) throws IOException {
+        int size = 0;
+        for (Map.Entry<String, Positions> entry : positions.entrySet()) {
+            long[] offsets = entry.getValue().toArray();
+            size += AuditRecord.stringSize(entry.getKey()) + AuditRecord.varIntSize(offsets.length);
+            long previous = 0;
+            for (long offset : offsets) {
+                size += AuditRecord.varIntSize((int) (offset - previous));
+                previous = offset;
+            }
+        }
+        ByteBuffer out = ByteBuffer.allocate(size);
+        for (Map.Entry<String, Positions> entry : positions.entrySet()) {
+            long[] offsets = entry.getValue().toArray();
+            AuditRecord.putString(out, entry.getKey());
+            AuditRecord.putVarInt(out, offsets.length);
+            long previous = 0;
+            for (long offset : offsets) {
+                AuditRecord.putVarInt(out, (int) (offset - previous));
+                previous = offset;
+            }
+        }
+        Path temp = indexPath(id).resolveSibling(indexPath(id).getFileName() + ".tmp");
+        Files.write(temp, out.array());
+        Files.move(temp, indexPath(id), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void loadIndexFile(int id) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(indexPath(id)));
+        while (in.hasRemaining()) {
+            Positions positions = index.computeIfAbsent(AuditRecord.getString(in), k -> new Positions());
+            int count = AuditRecord.getVarInt(in);
+            int offset = 0;
+            for (int i = 0; i < count; i++) {
+                offset += AuditRecord.getVarInt(in);
+                positions.add(position(id, offset));
+            }
+        }
+    }
+
+    private AuditRecord read(long position) throws IOException {
+        int id = (int) (position >>> 32);
+        long offset = (int) position;
+        FileChannel channel = readers.computeIfAbsent(id, this::openReader);
+        ByteBuffer header = readFully(channel, ByteBuffer.allocate(HEADER_SIZE), offset);
+        ByteBuffer payload = readFully(channel, ByteBuffer.allocate(header.getInt(0)), offset + HEADER_SIZE);
+        return AuditRecord.decode(payload.flip());
+    }
+
+    private FileChannel openReader(int id) {
+        try {
+            return FileChannel.open(segmentPath(id), StandardOpenOption.READ);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, ByteBuffer target, long position) throws IOException {
+        while (target.hasRemaining()) {
+            if (channel.read(target, position + target.position()) < 0) {
+                throw new EOFException("Audit record at " + position + " is incomplete");
+            }
+        }
+        return target;
+    }
+
+    private static EmployeeHistoryResponse.Entry toEntry(AuditRecord record) {
+        Map<String, EmployeeHistoryResponse.Change> changes = new LinkedHashMap<>();
+        for (int i = 0; i < AuditRecord.FIELDS.length; i++) {
+            if (record.isChanged(i)) {
+                changes.put(AuditRecord.FIELDS[i], new EmployeeHistoryResponse.Change(record.before[i], record.after[i]));
+            }
+        }
+        LocalDateTime timestamp = LocalDateTime.ofInstant(Instant.ofEpochMilli(record.timestampMillis), ZoneId.systemDefault());
+        return new EmployeeHistoryResponse.Entry(record.employeeId, timestamp, record.operation.name(), changes);
+    }
+
+    private List<Integer> segmentIds() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(file -> SEGMENT_NAME.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Integer.parseInt(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(int id) {
+        return dir.resolve(String.format("audit-%08d.log", id));
+    }
+
+    private Path indexPath(int id) {
+        return dir.resolve(String.format("audit-%08d.idx", id));
+    }
+
+    private static long position(int segmentId, long offset) {
+        return (long) segmentId << 32 | offset;
+    }
+
+    // Growable list of record positions, appended by the writer and copied by readers
+    private static final class Positions {
+        private long[] values = new long[4];
+        private int size;
+
+        synchronized void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        synchronized long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
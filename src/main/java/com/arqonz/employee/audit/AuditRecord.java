@@ -0,0 +1,187 @@
+package com.arqonz.employee.audit;
+
+import com.arqonz.employee.dto.EmployeeResponse;
+import com.arqonz.employee.model.Employee;
+import com.arqonz.employee.service.EmployeeChangedEvent;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+// One change to one employee, as stored in the audit log. Only changed fields are kept: before[i]
+// and after[i] are meaningful when bit i of changedFields is set (i indexes FIELDS).
+//
+// Encoding: employeeId (8) | timestamp millis (8) | operation (1) | tenant | email
+//           | changedFields (1) | before, after for each changed field
+// Strings are a varint of (UTF-8 length + 1), 0 meaning null, followed by the bytes.
+final class AuditRecord {
+
+    static final String[] FIELDS = {"firstName", "lastName", "email", "phone", "address"};
+
+    enum Operation { CREATED, UPDATED, DELETED }
+
+    final long employeeId;
+    final long timestampMillis;
+    final Operation operation;
+    final String tenantId;
+    final String email;
+    final int changedFields;
+    final String[] before;
+    final String[] after;
+
+    AuditRecord(long employeeId, long timestampMillis, Operation operation, String tenantId, String email,
+                int changedFields, String[] before, String[] after) {
+        this.employeeId = employeeId;
+        this.timestampMillis = timestampMillis;
+        this.operation = operation;
+        this.tenantId = tenantId;
+        this.email = email;
+        this.changedFields = changedFields;
+        this.before = before;
+        this.after = after;
+    }
+
+    // Creates and restores have no before, deletes no after; updates keep only the fields that differ
+    static AuditRecord of(EmployeeChangedEvent event, long timestampMillis) {
+        String[] before = values(event.getBefore());
+        String[] after = values(event.getAfter());
+        int changed = 0;
+        for (int i = 0; i < FIELDS.length; i++) {
+            if (!Objects.equals(before[i], after[i])) {
+                changed |= 1 << i;
+            }
+        }
+        EmployeeResponse employee = event.isDelete() ? event.getBefore() : event.getAfter();
+        Operation operation = event.isCreate() ? Operation.CREATED
+                : event.isDelete() ? Operation.DELETED : Operation.UPDATED;
+        return new AuditRecord(employee.getId(), timestampMillis, operation, event.getTenantId(), employee.getEmail(),
+                changed, before, after);
+    }
+
+    // History is looked up per tenant and normalized email
+    static String key(String tenantId, String email) {
+        return tenantId + '/' + Employee.normalizeEmail(email);
+    }
+
+    String key() {
+        return key(tenantId, email);
+    }
+
+    boolean isChanged(int field) {
+        return (changedFields & (1 << field)) != 0;
+    }
+
+    int encodedSize() {
+        int size = Long.BYTES * 2 + 1 + stringSize(tenantId) + stringSize(email) + 1;
+        for (int i = 0; i < FIELDS.length; i++) {
+            if (isChanged(i)) {
+                size += stringSize(before[i]) + stringSize(after[i]);
+            }
+        }
+        return size;
+    }
+
+    void encode(ByteBuffer buffer) {
+        buffer.putLong(employeeId);
+        buffer.putLong(timestampMillis);
+        buffer.put((byte) operation.ordinal());
+        putString(buffer, tenantId);
+        putString(buffer, email);
+        buffer.put((byte) changedFields);
+        for (int i = 0; i < FIELDS.length; i++) {
+            if (isChanged(i)) {
+                putString(buffer, before[i]);
+                putString(buffer, after[i]);
+            }
+        }
+    }
+
+    static AuditRecord decode(ByteBuffer buffer) {
+        long employeeId = buffer.getLong();
+        long timestampMillis = buffer.getLong();
+        Operation operation = Operation.values()[buffer.get()];
+        String tenantId = getString(buffer);
+        String email = getString(buffer);
+        int changedFields = buffer.get() & 0xFF;
+        String[] before = new String[FIELDS.length];
+        String[] after = new String[FIELDS.length];
+        for (int i = 0; i < FIELDS.length; i++) {
+            if ((changedFields & (1 << i)) != 0) {
+                before[i] = getString(buffer);
+                after[i] = getString(buffer);
+            }
+        }
+        return new AuditRecord(employeeId, timestampMillis, operation, tenantId, email, changedFields, before, after);
+    }
+
+    // Reads just the history key, for rebuilding the index without decoding whole records
+    static String decodeKey(ByteBuffer buffer) {
+        buffer.position(buffer.position() + Long.BYTES * 2 + 1);
+        String tenantId = getString(buffer);
+        return key(tenantId, getString(buffer));
+    }
+
+    static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    static void putVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static int getVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    static int stringSize(String value) {
+        if (value == null) {
+            return 1;
+        }
+        int length = value.getBytes(StandardCharsets.UTF_8).length;
+        return varIntSize(length + 1) + length;
+    }
+
+    static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.put((byte) 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putVarInt(buffer, bytes.length + 1);
+        buffer.put(bytes);
+    }
+
+    static String getString(ByteBuffer buffer) {
+        int length = getVarInt(buffer) - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String[] values(EmployeeResponse employee) {
+        if (employee == null) {
+            return new String[FIELDS.length];
+        }
+        return new String[] {employee.getFirstName(), employee.getLastName(), employee.getEmail(),
+                employee.getPhone(), employee.getAddress()};
+    }
+}
@@ -0,0 +1,236 @@
+package com.arqonz.employee.backup;
+
+import com.arqonz.employee.dto.SnapshotStatusResponse;
+import com.arqonz.employee.exception.ConflictException;
+import com.arqonz.employee.model.Employee;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Point-in-time snapshot of the employees table (app.snapshot.*), for carrying the in-memory
+// database over a restart.
+// A snapshot reads the table in id order inside one REPEATABLE READ transaction - H2 serves it
+// from its MVCC versions, so writers are never blocked - and streams the rows into a
+// block-compressed, checksummed SnapshotFile. Every tenant and soft-deleted rows are included.
+// On startup, when the table is empty and a snapshot exists, the rows are bulk-inserted over
+// plain JDBC with their original ids, before ApplicationReadyEvent so the caches and indexes
+// built then see them.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class EmployeeStoreSnapshot implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeStoreSnapshot.class);
+    private static final int READ_PAGE_SIZE = 10_000;
+
+    private static final String SELECT_PAGE_SQL =
+            "SELECT id, first_name, last_name, email, phone, address, deleted_at, tenant_id FROM employees "
+                    + "WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO employees (id, tenant_id, first_name, last_name, email, email_normalized, phone, address, "
+                    + "deleted_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final DataSource dataSource;
+    private final Path path;
+    private final boolean restoreOnStartup;
+    private final int batchSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "employee-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile SnapshotStatusResponse status;
+
+    @Autowired
+    public EmployeeStoreSnapshot(DataSource dataSource,
+                                 @Value("${app.snapshot.path:./data/employees.snapshot}") String path,
+                                 @Value("${app.snapshot.restore-on-startup:true}") boolean restoreOnStartup,
+                                 @Value("${app.snapshot.restore-batch-size:5000}") int batchSize) {
+        this.dataSource = dataSource;
+        this.path = Path.of(path);
+        this.restoreOnStartup = restoreOnStartup;
+        this.batchSize = batchSize;
+        this.status = new SnapshotStatusResponse("NONE", this.path.toString(), null, null, null, null, null);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!restoreOnStartup || !Files.exists(path)) {
+            return;
+        }
+        long existing = countRows();
+        if (existing > 0) {
+            log.info("Snapshot restore skipped, {} employees already present", existing);
+            return;
+        }
+        restore();
+    }
+
+    // Starts a snapshot on the background thread and returns at once; one snapshot at a time
+    public SnapshotStatusResponse startSnapshot() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ConflictException("A snapshot is already in progress");
+        }
+        status = new SnapshotStatusResponse("RUNNING", path.toString(), LocalDateTime.now(), null, null, null, null);
+        SnapshotStatusResponse started = status;
+        executor.execute(() -> {
+            try {
+                writeSnapshot(started.getStartedAt());
+            } finally {
+                running.set(false);
+            }
+        });
+        return started;
+    }
+
+    // Takes a snapshot on the calling thread
+    public SnapshotStatusResponse snapshot() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ConflictException("A snapshot is already in progress");
+        }
+        try {
+            return writeSnapshot(LocalDateTime.now());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public SnapshotStatusResponse getStatus() {
+        return status;
+    }
+
+    // Loads the snapshot into an empty table and returns the number of rows inserted.
+    // A damaged snapshot fails the restore and leaves the table empty again.
+    public long restore() throws IOException, SQLException {
+        long start = System.nanoTime();
+        long inserted = 0;
+        try (SnapshotFile.Reader reader = new SnapshotFile.Reader(path);
+             Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                for (Employee employee = reader.next(); employee != null; employee = reader.next()) {
+                    statement.setLong(1, employee.getId());
+                    statement.setString(2, employee.getTenantId());
+                    statement.setString(3, employee.getFirstName());
+                    statement.setString(4, employee.getLastName());
+                    statement.setString(5, employee.getEmail());
+                    statement.setString(6, employee.getEmailNormalized());
+                    statement.setString(7, employee.getPhone());
+                    statement.setString(8, employee.getAddress());
+                    statement.setTimestamp(9, employee.getDeletedAt() == null ? null : Timestamp.valueOf(employee.getDeletedAt()));
+                    statement.addBatch();
+                    if (++inserted % batchSize == 0) {
+                        statement.executeBatch();
+                        connection.commit();
+                    }
+                }
+                statement.executeBatch();
+                try (Statement alter = connection.createStatement()) {
+                    // Ids were inserted explicitly, so new rows must continue after the highest one
+                    alter.execute("ALTER TABLE employees ALTER COLUMN id RESTART WITH " + (reader.maxId() + 1));
+                }
+                connection.commit();
+            } catch (IOException | SQLException | RuntimeException ex) {
+                connection.rollback();
+                try (Statement truncate = connection.createStatement()) {
+                    truncate.execute("TRUNCATE TABLE employees RESTART IDENTITY");
+                }
+                connection.commit();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+        log.info("Restored {} employees from snapshot {} in {} ms", inserted, path, (System.nanoTime() - start) / 1_000_000);
+        return inserted;
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private SnapshotStatusResponse writeSnapshot(LocalDateTime startedAt) {
+        long start = System.nanoTime();
+        try (SnapshotFile.Writer writer = new SnapshotFile.Writer(path);
+             Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            int isolation = connection.getTransactionIsolation();
+            connection.setAutoCommit(false);
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            connection.setReadOnly(true);
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_PAGE_SQL)) {
+                long afterId = 0L;
+                int read;
+                do {
+                    statement.setLong(1, afterId);
+                    statement.setInt(2, READ_PAGE_SIZE);
+                    read = 0;
+                    try (ResultSet rs = statement.executeQuery()) {
+                        while (rs.next()) {
+                            writer.append(toEmployee(rs));
+                            afterId = rs.getLong(1);
+                            read++;
+                        }
+                    }
+                } while (read == READ_PAGE_SIZE);
+                connection.commit();
+            } finally {
+                connection.setReadOnly(false);
+                connection.setTransactionIsolation(isolation);
+                connection.setAutoCommit(autoCommit);
+            }
+            long bytes = writer.finish();
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            log.info("Snapshot of {} employees written to {} ({} bytes) in {} ms", writer.rows(), path, bytes, millis);
+            status = new SnapshotStatusResponse("COMPLETED", path.toString(), startedAt, millis, writer.rows(), bytes, null);
+        } catch (IOException | SQLException | RuntimeException ex) {
+            log.error("Snapshot to {} failed", path, ex);
+            status = new SnapshotStatusResponse("FAILED", path.toString(), startedAt,
+                    (System.nanoTime() - start) / 1_000_000, null, null, ex.getMessage());
+        }
+        return status;
+    }
+
+    private long countRows() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM employees")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static Employee toEmployee(ResultSet rs) throws SQLException {
+        Employee employee = new Employee(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                rs.getString(5), rs.getString(6));
+        Timestamp deletedAt = rs.getTimestamp(7);
+        employee.setDeletedAt(deletedAt == null ? null : deletedAt.toLocalDateTime());
+        employee.setTenantId(rs.getString(8));
+        return employee;
+    }
+}
@@ -0,0 +1,340 @@
+package com.arqonz.employee.backup;
+
+import com.arqonz.employee.model.Employee;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// On-disk format of an employee table snapshot.
+//
+// Header (40 bytes): magic | version | created millis (8) | rows (8) | max id (8) | CRC32 of the
+//                    preceding 32 bytes | reserved
+// Blocks:            raw length | compressed length | CRC32 of the raw bytes | deflated rows
+// The last block has a raw length of 0. Each block is deflated on its own, so a damaged block is
+// reported as such instead of as a failure somewhere later in one long stream.
+// Row:               id (8) | flags (1) | [deleted_at epoch second (8) | nanos (4)] |
+//                    tenant_id, first_name, last_name, email, phone, address
+// Strings are an unsigned short UTF-8 length (0xFFFF meaning null) followed by the bytes.
+final class SnapshotFile {
+
+    static final int HEADER_SIZE = 40;
+
+    private static final int MAGIC = 0x45535331;
+    private static final int VERSION = 2;
+    private static final int BLOCK_HEADER_SIZE = Integer.BYTES * 3;
+    private static final int BLOCK_SIZE = 256 * 1024;
+    private static final int NULL_STRING = 0xFFFF;
+    private static final int DELETED = 1;
+
+    private SnapshotFile() {
+    }
+
+    // Streams rows into a temporary file next to the target and moves it into place on finish,
+    // so a crash mid-snapshot leaves the previous snapshot intact
+    static final class Writer implements AutoCloseable {
+
+        private final Path path;
+        private final Path tmp;
+        private final FileChannel channel;
+        private final ByteBuffer raw = ByteBuffer.allocate(BLOCK_SIZE);
+        private final ByteBuffer compressed = ByteBuffer.allocate(BLOCK_HEADER_SIZE + BLOCK_SIZE + BLOCK_SIZE / 8 + 64);
+        private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        private final CRC32 crc = new CRC32();
+        private long rows;
+        private long maxId;
+        private boolean finished;
+
+        Writer(Path path) throws IOException {
+            this.path = path;
+            this.tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            channel.position(HEADER_SIZE);
+        }
+
+        void append(Employee employee) throws IOException {
+            int size = rowSize(employee);
+            if (size > raw.remaining()) {
+                flushBlock();
+                if (size > raw.remaining()) {
+                    throw new IllegalArgumentException("Employee " + employee.getId() + " does not fit in a snapshot block");
+                }
+            }
+            raw.putLong(employee.getId());
+            LocalDateTime deletedAt = employee.getDeletedAt();
+            raw.put((byte) (deletedAt != null ? DELETED : 0));
+            if (deletedAt != null) {
+                raw.putLong(deletedAt.toEpochSecond(ZoneOffset.UTC));
+                raw.putInt(deletedAt.getNano());
+            }
+            putString(raw, employee.getTenantId());
+            putString(raw, employee.getFirstName());
+            putString(raw, employee.getLastName());
+            putString(raw, employee.getEmail());
+            putString(raw, employee.getPhone());
+            putString(raw, employee.getAddress());
+            rows++;
+            maxId = Math.max(maxId, employee.getId());
+        }
+
+        long rows() {
+            return rows;
+        }
+
+        long maxId() {
+            return maxId;
+        }
+
+        // Returns the size of the snapshot file
+        long finish() throws IOException {
+            flushBlock();
+            compressed.clear();
+            compressed.putInt(0).putInt(0).putInt(0).flip();
+            writeFully(compressed);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putLong(System.currentTimeMillis()).putLong(rows).putLong(maxId);
+            crc.reset();
+            crc.update(header.array(), 0, 32);
+            header.putInt((int) crc.getValue()).putInt(0).flip();
+            long size = channel.position();
+            channel.write(header, 0);
+            channel.force(true);
+            channel.close();
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            finished = true;
+            return size;
+        }
+
+        @Override
+        public void close() throws IOException {
+            deflater.end();
+            if (!finished) {
+                channel.close();
+                Files.deleteIfExists(tmp);
+            }
+        }
+
+        private void flushBlock() throws IOException {
+            if (raw.position() == 0) {
+                return;
+            }
+            raw.flip();
+            crc.reset();
+            crc.update(raw.duplicate());
+            deflater.reset();
+            deflater.setInput(raw);
+            deflater.finish();
+            compressed.clear();
+            compressed.position(BLOCK_HEADER_SIZE);
+            while (!deflater.finished()) {
+                deflater.deflate(compressed);
+            }
+            int compressedLength = compressed.position() - BLOCK_HEADER_SIZE;
+            compressed.putInt(0, raw.limit()).putInt(4, compressedLength).putInt(8, (int) crc.getValue());
+            compressed.flip();
+            writeFully(compressed);
+            raw.clear();
+        }
+
+        private void writeFully(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    // Reads a snapshot block by block, verifying every checksum before handing out its rows
+    static final class Reader implements AutoCloseable {
+
+        private final Path path;
+        private final FileChannel channel;
+        private final Inflater inflater = new Inflater();
+        private final CRC32 crc = new CRC32();
+        private final ByteBuffer blockHeader = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+        private final ByteBuffer raw = ByteBuffer.allocate(BLOCK_SIZE);
+        private ByteBuffer compressed = ByteBuffer.allocate(BLOCK_SIZE);
+        private final long createdMillis;
+        private final long rows;
+        private final long maxId;
+        private long read;
+        private boolean ended;
+
+        Reader(Path path) throws IOException {
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            try {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                readFully(header);
+                crc.update(header.array(), 0, 32);
+                if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                    throw new SnapshotCorruptException(path + " is not an employee snapshot");
+                }
+                if (header.getInt(32) != (int) crc.getValue()) {
+                    throw new SnapshotCorruptException(path + " has a damaged header");
+                }
+                this.createdMillis = header.getLong(8);
+                this.rows = header.getLong(16);
+                this.maxId = header.getLong(24);
+            } catch (IOException | RuntimeException ex) {
+                close();
+                throw ex;
+            }
+            raw.limit(0);
+        }
+
+        long createdMillis() {
+            return createdMillis;
+        }
+
+        long rows() {
+            return rows;
+        }
+
+        long maxId() {
+            return maxId;
+        }
+
+        // Null after the last row
+        Employee next() throws IOException {
+            if (!raw.hasRemaining() && !readBlock()) {
+                if (read != rows) {
+                    throw new SnapshotCorruptException(path + " holds " + read + " rows, its header says " + rows);
+                }
+                return null;
+            }
+            Employee employee = new Employee();
+            employee.setId(raw.getLong());
+            boolean deleted = (raw.get() & DELETED) != 0;
+            if (deleted) {
+                employee.setDeletedAt(LocalDateTime.ofEpochSecond(raw.getLong(), raw.getInt(), ZoneOffset.UTC));
+            }
+            employee.setTenantId(getString(raw));
+            employee.setFirstName(getString(raw));
+            employee.setLastName(getString(raw));
+            employee.setEmail(getString(raw));
+            employee.setPhone(getString(raw));
+            employee.setAddress(getString(raw));
+            read++;
+            return employee;
+        }
+
+        @Override
+        public void close() throws IOException {
+            inflater.end();
+            channel.close();
+        }
+
+        private boolean readBlock() throws IOException {
+            if (ended) {
+                return false;
+            }
+            blockHeader.clear();
+            readFully(blockHeader);
+            int rawLength = blockHeader.getInt(0);
+            int compressedLength = blockHeader.getInt(4);
+            int checksum = blockHeader.getInt(8);
+            if (rawLength == 0) {
+                ended = true;
+                return false;
+            }
+            if (rawLength < 0 || rawLength > BLOCK_SIZE || compressedLength <= 0 || compressedLength > BLOCK_SIZE * 2) {
+                throw new SnapshotCorruptException(path + " has a damaged block at offset " + (channel.position() - BLOCK_HEADER_SIZE));
+            }
+            if (compressed.capacity() < compressedLength) {
+                compressed = ByteBuffer.allocate(compressedLength);
+            }
+            compressed.clear().limit(compressedLength);
+            readFully(compressed);
+            compressed.flip();
+
+            raw.clear().limit(rawLength);
+            inflater.reset();
+            inflater.setInput(compressed);
+            try {
+                while (raw.hasRemaining() && !inflater.finished()) {
+                    if (inflater.inflate(raw) == 0 && inflater.needsInput()) {
+                        break;
+                    }
+                }
+            } catch (DataFormatException ex) {
+                throw new SnapshotCorruptException(path + " has a block that does not inflate: " + ex.getMessage());
+            }
+            raw.flip();
+            crc.reset();
+            crc.update(raw.duplicate());
+            if (raw.limit() != rawLength || (int) crc.getValue() != checksum) {
+                throw new SnapshotCorruptException(path + " has a block with a bad checksum");
+            }
+            return true;
+        }
+
+        private void readFully(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new SnapshotCorruptException(path + " is truncated", new EOFException());
+                }
+            }
+        }
+    }
+
+    static class SnapshotCorruptException extends IOException {
+
+        SnapshotCorruptException(String message) {
+            super(message);
+        }
+
+        SnapshotCorruptException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    private static int rowSize(Employee employee) {
+        int size = Long.BYTES + 1 + (employee.getDeletedAt() != null ? Long.BYTES + Integer.BYTES : 0);
+        for (String value : new String[] {employee.getTenantId(), employee.getFirstName(), employee.getLastName(), employee.getEmail(),
+                employee.getPhone(), employee.getAddress()}) {
+            size += Short.BYTES + (value == null ? 0 : value.length() * 3);
+        }
+        return size;
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putShort((short) NULL_STRING);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= NULL_STRING) {
+            throw new IllegalArgumentException("Value too long for a snapshot: " + bytes.length + " bytes");
+        }
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getShort() & 0xFFFF;
+        if (length == NULL_STRING) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+}
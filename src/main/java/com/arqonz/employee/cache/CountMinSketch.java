@@ -0,0 +1,102 @@
+package com.arqonz.employee.cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Count-Min sketch of access frequencies: DEPTH rows of width counters, each key hashed to one
+// counter per row, its estimate the smallest of them. Estimates never undercount and overcount by
+// at most about e * total / width with high probability, in a fixed DEPTH * width * 4 bytes
+// however many distinct keys are seen.
+// Uses conservative update (only the counters at the current minimum are raised), which keeps
+// the overcount of rare keys down, and halves every counter once sampleSize increments have been
+// added since the last halving, so estimates follow recent traffic rather than all-time totals.
+// Lock-free; a concurrent halving can lose a few increments, which only lowers estimates.
+final class CountMinSketch {
+
+    private static final int DEPTH = 4;
+
+    private final AtomicIntegerArray counters;
+    private final int mask;
+    private final long sampleSize;
+    private final AtomicLong additions = new AtomicLong();
+    private final AtomicInteger halvings = new AtomicInteger();
+
+    // Width is rounded up to a power of two
+    CountMinSketch(int width, long sampleSize) {
+        if (width < 1) {
+            throw new IllegalArgumentException("width must be positive");
+        }
+        int rounded = Integer.highestOneBit(Math.max(1, width - 1)) << 1;
+        this.mask = rounded - 1;
+        this.counters = new AtomicIntegerArray(DEPTH * (mask + 1));
+        this.sampleSize = sampleSize;
+    }
+
+    // Adds count occurrences of key and returns its new estimate
+    int add(String key, int count) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, h1, h2)));
+        }
+        int target = (int) Math.min((long) estimate + count, Integer.MAX_VALUE);
+        for (int row = 0; row < DEPTH; row++) {
+            counters.accumulateAndGet(index(row, h1, h2), target, Math::max);
+        }
+        if (additions.addAndGet(count) >= sampleSize) {
+            halve();
+        }
+        return target;
+    }
+
+    int estimate(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, h1, h2)));
+        }
+        return estimate;
+    }
+
+    int width() {
+        return mask + 1;
+    }
+
+    // How many times the counters have been halved
+    int halvings() {
+        return halvings.get();
+    }
+
+    private void halve() {
+        long seen = additions.get();
+        if (seen < sampleSize || !additions.compareAndSet(seen, seen / 2)) {
+            return;
+        }
+        for (int i = 0; i < counters.length(); i++) {
+            counters.updateAndGet(i, value -> value >>> 1);
+        }
+        halvings.incrementAndGet();
+    }
+
+    // Row i uses h1 + i * h2 (double hashing), so one 64-bit hash feeds every row
+    private int index(int row, int h1, int h2) {
+        return row * (mask + 1) + ((h1 + row * h2) & mask);
+    }
+
+    // 64-bit FNV-1a over the UTF-16 chars, finished with the SplitMix64 mixer so both halves are usable
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+}
@@ -0,0 +1,209 @@
+package com.arqonz.employee.cache;
+
+import com.arqonz.employee.dto.EmployeeResponse;
+import com.arqonz.employee.model.Employee;
+import com.arqonz.employee.service.EmployeeChangedEvent;
+import com.arqonz.employee.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Bounded, TTL-based read cache for email lookups (app.cache.enabled), keyed by normalized email.
+// Entries are invalidated after commit by EmployeeChangedEvent. A reader that loaded from the
+// database passes the generation it saw before the query; if any invalidation happened since,
+// its possibly stale result is not cached. The check is repeated under the entry's map lock as
+// the entry is stored, so an invalidation can never fall between the check and the store.
+// Deletes leave a tombstone for the TTL, so repeated lookups of a just-deleted email (offboarding
+// waves) are answered as not found without a query; a later create or restore replaces it.
+// Each tenant has its own partition with its own capacity and generation, so a large tenant only
+// evicts its own entries and its writes never keep another tenant's loads out of the cache.
+// Tenants beyond app.cache.max-tenants are served uncached.
+// HotKeyCacheWarmer keeps the most looked-up emails loaded, re-putting them before they expire.
+@Component
+public class EmployeeCache {
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final int maxEntriesPerTenant;
+    private final int maxTenants;
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public EmployeeCache(@Value("${app.cache.enabled:true}") boolean enabled,
+                         @Value("${app.cache.ttl-seconds:300}") long ttlSeconds,
+                         @Value("${app.cache.max-entries-per-tenant:20000}") int maxEntriesPerTenant,
+                         @Value("${app.cache.max-tenants:100}") int maxTenants) {
+        this.enabled = enabled;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.maxEntriesPerTenant = maxEntriesPerTenant;
+        this.maxTenants = maxTenants;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Optional<EmployeeResponse> get(String email) {
+        Partition partition = enabled ? partitions.get(TenantContext.current()) : null;
+        if (partition == null) {
+            return Optional.empty();
+        }
+        String key = Employee.normalizeEmail(email);
+        Entry entry = partition.entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expiresAt - System.nanoTime() < 0) {
+            partition.entries.remove(key, entry);
+            return Optional.empty();
+        }
+        return Optional.ofNullable(entry.value);
+    }
+
+    // True when the email was deleted within the TTL and not created or restored since
+    public boolean isTombstoned(String email) {
+        Partition partition = enabled ? partitions.get(TenantContext.current()) : null;
+        if (partition == null) {
+            return false;
+        }
+        Entry entry = partition.entries.get(Employee.normalizeEmail(email));
+        return entry != null && entry.value == null && entry.expiresAt - System.nanoTime() >= 0;
+    }
+
+    // True when email has no live entry or its entry expires within aheadNanos; false for a
+    // tombstone, which only a create or restore may replace
+    public boolean needsRefresh(String email, long aheadNanos) {
+        Partition partition = enabled ? partitions.get(TenantContext.current()) : null;
+        if (partition == null) {
+            return enabled;
+        }
+        Entry entry = partition.entries.get(Employee.normalizeEmail(email));
+        long remaining = entry != null ? entry.expiresAt - System.nanoTime() : -1L;
+        if (entry != null && entry.value == null && remaining >= 0) {
+            return false;
+        }
+        return remaining < aheadNanos;
+    }
+
+    // Read before querying the database and hand back to put()
+    public long generation() {
+        Partition partition = enabled ? partition(TenantContext.current()) : null;
+        return partition != null ? partition.generation.get() : 0L;
+    }
+
+    public void put(EmployeeResponse employee, long loadedAtGeneration) {
+        Partition partition = enabled ? partition(TenantContext.current()) : null;
+        if (partition == null || partition.generation.get() != loadedAtGeneration) {
+            return;
+        }
+        if (partition.entries.size() >= maxEntriesPerTenant) {
+            evict(partition);
+        }
+        // Invalidations bump the generation before removing or replacing the entry under the same
+        // lock: either they run after this store and overwrite it, or this sees the new generation
+        // and keeps whatever they left
+        Entry loaded = new Entry(employee, System.nanoTime() + ttlNanos);
+        partition.entries.compute(Employee.normalizeEmail(employee.getEmail()),
+                (key, current) -> partition.generation.get() == loadedAtGeneration ? loaded : current);
+    }
+
+    public void invalidate(String email) {
+        invalidate(TenantContext.current(), email);
+    }
+
+    public void tombstone(String email) {
+        tombstone(TenantContext.current(), email);
+    }
+
+    public int size() {
+        return partitions.values().stream().mapToInt(partition -> partition.entries.size()).sum();
+    }
+
+    public int size(String tenantId) {
+        Partition partition = partitions.get(tenantId);
+        return partition != null ? partition.entries.size() : 0;
+    }
+
+    @TransactionalEventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        String tenantId = event.getTenantId();
+        if (event.isDelete()) {
+            tombstone(tenantId, event.getBefore().getEmail());
+        } else if (event.getBefore() != null) {
+            invalidate(tenantId, event.getBefore().getEmail());
+        }
+        if (event.getAfter() != null) {
+            invalidate(tenantId, event.getAfter().getEmail());
+        }
+    }
+
+    private void invalidate(String tenantId, String email) {
+        Partition partition = partition(tenantId);
+        if (partition != null) {
+            partition.generation.incrementAndGet();
+            partition.entries.remove(Employee.normalizeEmail(email));
+        }
+    }
+
+    private void tombstone(String tenantId, String email) {
+        Partition partition = partition(tenantId);
+        if (partition != null) {
+            partition.generation.incrementAndGet();
+            store(partition, Employee.normalizeEmail(email), null);
+        }
+    }
+
+    // Null once max-tenants partitions exist and the tenant has none
+    private Partition partition(String tenantId) {
+        Partition partition = partitions.get(tenantId);
+        if (partition == null && partitions.size() < maxTenants) {
+            partition = partitions.computeIfAbsent(tenantId, key -> new Partition());
+        }
+        return partition;
+    }
+
+    private void store(Partition partition, String key, EmployeeResponse value) {
+        if (partition.entries.size() >= maxEntriesPerTenant) {
+            evict(partition);
+        }
+        partition.entries.put(key, new Entry(value, System.nanoTime() + ttlNanos));
+    }
+
+    // Drops expired entries, then arbitrary ones, until about 1/16 of the partition is free
+    private void evict(Partition partition) {
+        int target = maxEntriesPerTenant - Math.max(1, maxEntriesPerTenant / 16);
+        long now = System.nanoTime();
+        partition.entries.values().removeIf(entry -> entry.expiresAt - now < 0);
+        Iterator<String> it = partition.entries.keySet().iterator();
+        while (partition.entries.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static final class Partition {
+        private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+        private final AtomicLong generation = new AtomicLong();
+    }
+
+    private static final class Entry {
+        // null for a tombstone
+        private final EmployeeResponse value;
+        private final long expiresAt;
+
+        private Entry(EmployeeResponse value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.arqonz.employee.cache;
+
+import com.arqonz.employee.model.Employee;
+import com.arqonz.employee.tenant.TenantContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Access frequency of emails looked up through the service (app.cache.hot-keys.*), per tenant.
+// Every lookup is counted in a Count-Min sketch; keys whose estimate beats the current top-K
+// threshold are kept as candidates, trimmed back to the top-K whenever they reach twice that.
+// The top-K is written to app.cache.hot-keys.path on shutdown and read back on startup, so
+// HotKeyCacheWarmer can preload the cache before the first request and keep those keys refreshed
+// ahead of their TTL.
+@Component
+public class HotKeyTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(HotKeyTracker.class);
+    private static final String FILE_HEADER = "# employee hot keys v1";
+    // Tenant ids are [a-z0-9_-]; the email is the last column, so nothing in it can shift the others
+    private static final char SEPARATOR = '\t';
+
+    private final boolean enabled;
+    private final Path path;
+    private final int topK;
+    private final CountMinSketch sketch;
+    private final Map<String, Candidate> candidates = new ConcurrentHashMap<>();
+    private volatile int threshold;
+    private volatile int thresholdHalvings;
+
+    @Autowired
+    public HotKeyTracker(@Value("${app.cache.enabled:true}") boolean cacheEnabled,
+                         @Value("${app.cache.hot-keys.enabled:true}") boolean enabled,
+                         @Value("${app.cache.hot-keys.path:./data/hot-keys.tsv}") String path,
+                         @Value("${app.cache.hot-keys.top-k:1000}") int topK,
+                         @Value("${app.cache.hot-keys.sketch-width:65536}") int sketchWidth) {
+        this.enabled = cacheEnabled && enabled;
+        this.path = Path.of(path);
+        this.topK = topK;
+        // Halve after ten lookups per counter, so a key that went cold drops out within a few rounds
+        this.sketch = new CountMinSketch(sketchWidth, 10L * sketchWidth);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Counts one lookup of email by the current tenant
+    public void record(String email) {
+        if (enabled && email != null) {
+            record(TenantContext.current(), Employee.normalizeEmail(email), 1);
+        }
+    }
+
+    // Hottest keys first, at most top-k of them
+    public List<HotKey> hotKeys() {
+        List<HotKey> keys = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates.values()) {
+            keys.add(new HotKey(candidate.tenantId, candidate.email, sketch.estimate(candidate.key)));
+        }
+        keys.sort(Comparator.comparingInt(HotKey::getHits).reversed());
+        return keys.size() > topK ? new ArrayList<>(keys.subList(0, topK)) : keys;
+    }
+
+    // Estimated lookups of email by tenantId since its counters were last halved
+    public int estimate(String tenantId, String email) {
+        return sketch.estimate(key(tenantId, Employee.normalizeEmail(email)));
+    }
+
+    @PostConstruct
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        int loaded = 0;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            if (!FILE_HEADER.equals(line)) {
+                log.warn("Ignoring hot keys file {} with unknown header", path);
+                return;
+            }
+            while ((line = reader.readLine()) != null && loaded < topK) {
+                String[] parts = line.split(String.valueOf(SEPARATOR), 3);
+                if (parts.length == 3 && TenantContext.isValid(parts[0])) {
+                    record(parts[0], parts[2], Math.max(1, Integer.parseInt(parts[1])));
+                    loaded++;
+                }
+            }
+        } catch (NoSuchFileException ex) {
+            return;
+        } catch (IOException | NumberFormatException ex) {
+            log.warn("Could not read hot keys from {}: {}", path, ex.getMessage());
+        }
+        log.info("Loaded {} hot keys from {}", loaded, path);
+    }
+
+    // Written to a temporary file and moved into place, so a crash keeps the previous list
+    @PreDestroy
+    public void save() {
+        if (!enabled) {
+            return;
+        }
+        List<HotKey> keys = hotKeys();
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                writer.write(FILE_HEADER);
+                writer.newLine();
+                for (HotKey key : keys) {
+                    writer.write(key.getTenantId() + SEPARATOR + key.getHits() + SEPARATOR + key.getEmail());
+                    writer.newLine();
+                }
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Saved {} hot keys to {}", keys.size(), path);
+        } catch (IOException ex) {
+            log.warn("Could not save hot keys to {}: {}", path, ex.getMessage());
+        }
+    }
+
+    private void record(String tenantId, String email, int count) {
+        String key = key(tenantId, email);
+        int estimate = sketch.add(key, count);
+        if (estimate < threshold() || candidates.containsKey(key)) {
+            return;
+        }
+        candidates.putIfAbsent(key, new Candidate(key, tenantId, email));
+        if (candidates.size() >= 2 * topK) {
+            trim();
+        }
+    }
+
+    // Keeps the top-k candidates; the k-th estimate becomes the bar for new ones
+    private synchronized void trim() {
+        if (candidates.size() < 2 * topK) {
+            return;
+        }
+        List<HotKey> keys = hotKeys();
+        Set<String> kept = new HashSet<>();
+        for (HotKey key : keys) {
+            kept.add(key(key.getTenantId(), key.getEmail()));
+        }
+        candidates.keySet().retainAll(kept);
+        thresholdHalvings = sketch.halvings();
+        threshold = keys.isEmpty() ? 0 : keys.get(keys.size() - 1).getHits();
+    }
+
+    // The bar set at the last trim, halved along with the counters since
+    private int threshold() {
+        int halvings = sketch.halvings() - thresholdHalvings;
+        return halvings >= Integer.SIZE ? 0 : threshold >>> halvings;
+    }
+
+    private static String key(String tenantId, String email) {
+        return tenantId + SEPARATOR + email;
+    }
+
+    private static final class Candidate {
+        private final String key;
+        private final String tenantId;
+        private final String email;
+
+        private Candidate(String key, String tenantId, String email) {
+            this.key = key;
+            this.tenantId = tenantId;
+            this.email = email;
+        }
+    }
+
+    public static final class HotKey {
+        private final String tenantId;
+        // Normalized
+        private final String email;
+        private final int hits;
+
+        public HotKey(String tenantId, String email, int hits) {
+            this.tenantId = tenantId;
+            this.email = email;
+            this.hits = hits;
+        }
+
+        public String getTenantId() {
+            return tenantId;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public int getHits() {
+            return hits;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.arqonz.employee.cache;
+
+import com.arqonz.employee.exception.ConflictException;
+import com.arqonz.employee.tenant.TenantContext;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Results of requests sent with an Idempotency-Key header, kept for app.idempotency.ttl-seconds.
+// A retry with the same key and the same request body gets the stored result without running the
+// operation again. The same key with a different body is rejected (400), and a retry that arrives
+// while the first attempt is still running gets 409. Failed attempts are not stored, so the client
+// can retry them. Keys are scoped to the current tenant. Bounded like EmployeeCache: expired
+// entries go first, then arbitrary ones.
+@Component
+public class IdempotencyStore {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Autowired
+    public IdempotencyStore(@Value("${app.idempotency.ttl-seconds:86400}") long ttlSeconds,
+                            @Value("${app.idempotency.max-entries:10000}") int maxEntries) {
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.maxEntries = maxEntries;
+    }
+
+    public <T> Result<T> execute(String key, Object request, Supplier<T> operation) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        key = TenantContext.current() + '/' + key;
+        Entry entry = new Entry(request);
+        Entry existing = entries.putIfAbsent(key, entry);
+        if (existing != null && existing.isExpired()) {
+            entries.remove(key, existing);
+            existing = entries.putIfAbsent(key, entry);
+        }
+        if (existing != null) {
+            return replay(existing, request);
+        }
+
+        if (entries.size() > maxEntries) {
+            evict();
+        }
+        try {
+            T result = operation.get();
+            entry.complete(result, System.nanoTime() + ttlNanos);
+            return new Result<>(result, false);
+        } catch (RuntimeException ex) {
+            entries.remove(key, entry);
+            throw ex;
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Result<T> replay(Entry existing, Object request) {
+        if (!existing.request.equals(request)) {
+            throw new IllegalArgumentException("Idempotency-Key was already used with a different request");
+        }
+        Object result = existing.result;
+        if (result == null) {
+            throw new ConflictException("A request with this Idempotency-Key is still in progress");
+        }
+        return new Result<>((T) result, true);
+    }
+
+    // Drops expired entries, then arbitrary completed ones, until about 1/16 of the capacity is free
+    private void evict() {
+        int target = maxEntries - Math.max(1, maxEntries / 16);
+        entries.values().removeIf(Entry::isExpired);
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > target && it.hasNext()) {
+            if (it.next().result != null) {
+                it.remove();
+            }
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static final class Result<T> {
+        private final T value;
+        private final boolean replayed;
+    }
+
+    private static final class Entry {
+        private final Object request;
+        private volatile Object result;
+        private volatile long expiresAt;
+
+        private Entry(Object request) {
+            this.request = request;
+        }
+
+        private void complete(Object result, long expiresAt) {
+            this.expiresAt = expiresAt;
+            this.result = result;
+        }
+
+        private boolean isExpired() {
+            return result != null && expiresAt - System.nanoTime() < 0;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.arqonz.employee.config;
+
+import com.arqonz.employee.dto.CreateEmployeeRequest;
+import com.arqonz.employee.dto.EmployeeResponse;
+import com.arqonz.employee.dto.ErrorResponse;
+import com.arqonz.employee.dto.PartialEmployeeResponse;
+import com.arqonz.employee.dto.UpdateEmployeeRequest;
+import com.arqonz.employee.dto.UpdatePhoneRequest;
+import com.arqonz.employee.model.Employee;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+// Reflection and resource hints for AOT/native builds.
+// Jackson binds the DTOs and Hibernate hydrates Employee through reflection,
+// and Flyway discovers its migration scripts on the classpath at runtime.
+public class EmployeeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<Class<?>> REFLECTIVE_TYPES = List.of(
+            Employee.class,
+            CreateEmployeeRequest.class,
+            UpdateEmployeeRequest.class,
+            UpdatePhoneRequest.class,
+            EmployeeResponse.class,
+            PartialEmployeeResponse.class,
+            ErrorResponse.class
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> type : REFLECTIVE_TYPES) {
+            hints.reflection().registerType(type,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+        // Instantiated by Jackson from @JsonSerialize
+        hints.reflection().registerTypeIfPresent(classLoader, PartialEmployeeResponse.class.getName() + "$Serializer",
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        hints.resources().registerPattern("db/migration/*.sql");
+    }
+}
@@ -0,0 +1,38 @@
+package com.arqonz.employee.config;
+
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatConnectorCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// HTTP/2 stream limits for Tomcat when server.http2.enabled is set (see the http2 profile).
+// Boot only switches the h2c upgrade protocol on; its defaults let a connection run just 20
+// streams at once and close it after 20 s idle, which defeats multiplexing many small lookups
+// over a few long-lived connections. Undertow builds take the equivalent server.undertow.options.
+@Configuration
+@ConditionalOnClass(Http2Protocol.class)
+@ConditionalOnProperty(name = "server.http2.enabled", havingValue = "true")
+public class Http2ServerConfig {
+
+    @Bean
+    public TomcatConnectorCustomizer http2StreamLimits(
+            @Value("${app.server.http2.max-concurrent-streams:200}") int maxConcurrentStreams,
+            @Value("${app.server.http2.max-concurrent-stream-execution:64}") int maxConcurrentStreamExecution,
+            @Value("${app.server.http2.keep-alive-timeout:60s}") Duration keepAliveTimeout) {
+        return connector -> {
+            for (UpgradeProtocol protocol : connector.findUpgradeProtocols()) {
+                if (protocol instanceof Http2Protocol http2) {
+                    http2.setMaxConcurrentStreams(maxConcurrentStreams);
+                    http2.setMaxConcurrentStreamExecution(maxConcurrentStreamExecution);
+                    http2.setKeepAliveTimeout(keepAliveTimeout.toMillis());
+                }
+            }
+        };
+    }
+}
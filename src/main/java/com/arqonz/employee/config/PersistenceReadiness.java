@@ -0,0 +1,69 @@
+package com.arqonz.employee.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.SessionFactoryObserver;
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+// Tracks whether the persistence layer is usable in fast-boot mode.
+// The EntityManagerFactory bootstraps on a background executor; Hibernate calls back here as
+// soon as the SessionFactory is built, which flips the flag. Nothing here looks up or waits for
+// a JPA bean: a thread waiting for the bootstrap inside bean creation would hold the bean
+// factory's singleton lock, and every request creating a bean (including GET /) would queue
+// behind it.
+@Component
+@Lazy(false)
+@ConditionalOnProperty(name = "app.fast-boot.enabled", havingValue = "true")
+public class PersistenceReadiness implements HibernatePropertiesCustomizer, SessionFactoryObserver,
+        SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(PersistenceReadiness.class);
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    private volatile boolean ready;
+
+    @Autowired
+    public PersistenceReadiness(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.SESSION_FACTORY_OBSERVER, this);
+    }
+
+    // Creates the EntityManagerFactory bean before the server starts, so the background bootstrap
+    // starts with it even when every bean is lazy. With a bootstrap executor this only submits
+    // the build and returns the proxy; nothing waits for it.
+    @Override
+    public void afterSingletonsInstantiated() {
+        entityManagerFactory.getIfAvailable();
+    }
+
+    @Override
+    public void sessionFactoryCreated(SessionFactory factory) {
+        ready = true;
+        log.info("Persistence layer ready {} ms after JVM start", ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+
+    @Override
+    public void sessionFactoryClosed(SessionFactory factory) {
+        ready = false;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+}
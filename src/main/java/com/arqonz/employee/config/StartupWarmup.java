@@ -0,0 +1,71 @@
+package com.arqonz.employee.config;
+
+import com.arqonz.employee.dto.EmployeeResponse;
+import com.arqonz.employee.service.EmployeeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Startup warm-up for the file-backed database.
+// Reads the directory in keyset pages so the H2 page cache holds the table and its indexes,
+// then runs each lookup strategy once so Hibernate has parsed and cached every query plan.
+@Component
+@ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true")
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+    private static final int PAGE_SIZE = 1000;
+
+    private final EmployeeService employeeService;
+    private final int maxRows;
+
+    @Autowired
+    public StartupWarmup(EmployeeService employeeService,
+                         @Value("${app.warmup.max-rows:50000}") int maxRows) {
+        this.employeeService = employeeService;
+        this.maxRows = maxRows;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        int rows = 0;
+        long afterId = 0L;
+        EmployeeResponse sample = null;
+
+        while (rows < maxRows) {
+            List<EmployeeResponse> page = employeeService.getEmployeesAfter(afterId, Math.min(PAGE_SIZE, maxRows - rows));
+            if (page.isEmpty()) {
+                break;
+            }
+            if (sample == null) {
+                sample = page.get(0);
+            }
+            rows += page.size();
+            afterId = page.get(page.size() - 1).getId();
+        }
+
+        if (sample != null) {
+            employeeService.getEmployeeByEmailUsingSpecifications(sample.getEmail());
+            employeeService.getEmployeeByEmailUsingHQL(sample.getEmail());
+            employeeService.getEmployeeByEmailUsingNativeSQL(sample.getEmail());
+            try {
+                employeeService.getEmployeeByNameUsingSpecifications(sample.getFirstName());
+                employeeService.getEmployeeByNameUsingHQL(sample.getFirstName());
+                employeeService.getEmployeeByNameUsingNativeSQL(sample.getFirstName());
+            } catch (RuntimeException ex) {
+                // Name lookups expect a unique match; a shared first name only means that plan stays cold
+                log.debug("Skipped name lookup warm-up: {}", ex.getMessage());
+            }
+        }
+
+        log.info("Warm-up read {} employees in {} ms", rows, (System.nanoTime() - start) / 1_000_000);
+    }
+}
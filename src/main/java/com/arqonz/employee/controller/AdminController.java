@@ -0,0 +1,31 @@
+package com.arqonz.employee.controller;
+
+import com.arqonz.employee.backup.EmployeeStoreSnapshot;
+import com.arqonz.employee.dto.SnapshotStatusResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+    
+    private final EmployeeStoreSnapshot employeeStoreSnapshot;
+    
+    @Autowired
+    public AdminController(EmployeeStoreSnapshot employeeStoreSnapshot) {
+        this.employeeStoreSnapshot = employeeStoreSnapshot;
+    }
+    
+    // Returns 202 right away; poll GET /api/admin/snapshot for the outcome
+    @PostMapping("/snapshot")
+    public ResponseEntity<SnapshotStatusResponse> startSnapshot() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(employeeStoreSnapshot.startSnapshot());
+    }
+    
+    @GetMapping("/snapshot")
+    public ResponseEntity<SnapshotStatusResponse> getSnapshotStatus() {
+        return ResponseEntity.ok(employeeStoreSnapshot.getStatus());
+    }
+}
@@ -1,76 +1,185 @@
 package com.arqonz.employee.controller;
 
+import com.arqonz.employee.cache.IdempotencyStore;
+import com.arqonz.employee.dto.BatchLookupRequest;
+import com.arqonz.employee.dto.BatchLookupResponse;
 import com.arqonz.employee.dto.CreateEmployeeRequest;
+import com.arqonz.employee.dto.EmployeeFields;
 import com.arqonz.employee.dto.EmployeeResponse;
+import com.arqonz.employee.dto.EmployeeSearchRequest;
+import com.arqonz.employee.dto.EmployeeHistoryResponse;
+import com.arqonz.employee.dto.EmployeeStatsResponse;
+import com.arqonz.employee.dto.FullTextSearchResponse;
+import com.arqonz.employee.dto.LookupStrategyStatsResponse;
 import com.arqonz.employee.dto.UpdateEmployeeRequest;
 import com.arqonz.employee.dto.UpdatePhoneRequest;
+import com.arqonz.employee.service.EmployeeExporter;
 import com.arqonz.employee.service.EmployeeService;
+import com.arqonz.employee.service.LookupStrategy;
+import com.arqonz.employee.service.LookupStrategyRouter;
+import com.arqonz.employee.tenant.TenantContext;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/employees")
 public class EmployeeController {
     
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    static final String LOOKUP_STRATEGY_HEADER = "X-Lookup-Strategy";
+    
     private final EmployeeService employeeService;
+    private final EmployeeExporter employeeExporter;
+    private final LookupStrategyRouter lookupStrategyRouter;
+    private final IdempotencyStore idempotencyStore;
     
     @Autowired
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, EmployeeExporter employeeExporter,
+                              LookupStrategyRouter lookupStrategyRouter, IdempotencyStore idempotencyStore) {
         this.employeeService = employeeService;
+        this.employeeExporter = employeeExporter;
+        this.lookupStrategyRouter = lookupStrategyRouter;
+        this.idempotencyStore = idempotencyStore;
+    }
+    
+    // Every read of employees accepts ?fields=email,phone (any of id, firstName, lastName, email,
+    // phone, address): only those are serialized and, where the row is not already in memory,
+    // only those columns are selected
+    
+    // Strategy-neutral lookups: routed to the specifications, HQL or native query, whichever is
+    // currently fastest (LookupStrategyRouter); the X-Lookup-Strategy header names the one used
+    @GetMapping("/email/{email}")
+    public ResponseEntity<EmployeeResponse> getEmployeeByEmail(
+            @PathVariable String email,
+            @RequestParam(required = false) String fields) {
+        EmployeeFields selection = EmployeeFields.parse(fields);
+        LookupStrategy strategy = lookupStrategyRouter.choose(LookupStrategyRouter.Kind.EMAIL);
+        EmployeeResponse response = employeeService.getEmployeeByEmail(email, strategy, selection);
+        return ResponseEntity.ok().header(LOOKUP_STRATEGY_HEADER, strategy.path()).body(response);
+    }
+    
+    @GetMapping("/name/{name}")
+    public ResponseEntity<EmployeeResponse> getEmployeeByName(
+            @PathVariable String name,
+            @RequestParam(required = false) String fields) {
+        EmployeeFields selection = EmployeeFields.parse(fields);
+        LookupStrategy strategy = lookupStrategyRouter.choose(LookupStrategyRouter.Kind.NAME);
+        EmployeeResponse response = employeeService.getEmployeeByName(name, strategy, selection);
+        return ResponseEntity.ok().header(LOOKUP_STRATEGY_HEADER, strategy.path()).body(response);
     }
     
     // 1. Fetch Employee Details by Email (using JPA Specifications)
     @GetMapping("/email/{email}/specifications")
-    public ResponseEntity<EmployeeResponse> getEmployeeByEmailUsingSpecifications(@PathVariable String email) {
-        EmployeeResponse response = employeeService.getEmployeeByEmailUsingSpecifications(email);
+    public ResponseEntity<EmployeeResponse> getEmployeeByEmailUsingSpecifications(
+            @PathVariable String email,
+            @RequestParam(required = false) String fields) {
+        EmployeeResponse response = employeeService.getEmployeeByEmailUsingSpecifications(email, EmployeeFields.parse(fields));
         return ResponseEntity.ok(response);
     }
     
     // 1. Fetch Employee Details by Email (using HQL)
     @GetMapping("/email/{email}/hql")
-    public ResponseEntity<EmployeeResponse> getEmployeeByEmailUsingHQL(@PathVariable String email) {
-        EmployeeResponse response = employeeService.getEmployeeByEmailUsingHQL(email);
+    public ResponseEntity<EmployeeResponse> getEmployeeByEmailUsingHQL(
+            @PathVariable String email,
+            @RequestParam(required = false) String fields) {
+        EmployeeResponse response = employeeService.getEmployeeByEmailUsingHQL(email, EmployeeFields.parse(fields));
         return ResponseEntity.ok(response);
     }
     
     // 1. Fetch Employee Details by Email (using Native SQL)
     @GetMapping("/email/{email}/native")
-    public ResponseEntity<EmployeeResponse> getEmployeeByEmailUsingNativeSQL(@PathVariable String email) {
-        EmployeeResponse response = employeeService.getEmployeeByEmailUsingNativeSQL(email);
+    public ResponseEntity<EmployeeResponse> getEmployeeByEmailUsingNativeSQL(
+            @PathVariable String email,
+            @RequestParam(required = false) String fields) {
+        EmployeeResponse response = employeeService.getEmployeeByEmailUsingNativeSQL(email, EmployeeFields.parse(fields));
         return ResponseEntity.ok(response);
     }
     
     // 2. Fetch Employee Details by Name (using JPA Specifications)
     @GetMapping("/name/{name}/specifications")
-    public ResponseEntity<EmployeeResponse> getEmployeeByNameUsingSpecifications(@PathVariable String name) {
-        EmployeeResponse response = employeeService.getEmployeeByNameUsingSpecifications(name);
+    public ResponseEntity<EmployeeResponse> getEmployeeByNameUsingSpecifications(
+            @PathVariable String name,
+            @RequestParam(required = false) String fields) {
+        EmployeeResponse response = employeeService.getEmployeeByNameUsingSpecifications(name, EmployeeFields.parse(fields));
         return ResponseEntity.ok(response);
     }
     
     // 2. Fetch Employee Details by Name (using HQL)
     @GetMapping("/name/{name}/hql")
-    public ResponseEntity<EmployeeResponse> getEmployeeByNameUsingHQL(@PathVariable String name) {
-        EmployeeResponse response = employeeService.getEmployeeByNameUsingHQL(name);
+    public ResponseEntity<EmployeeResponse> getEmployeeByNameUsingHQL(
+            @PathVariable String name,
+            @RequestParam(required = false) String fields) {
+        EmployeeResponse response = employeeService.getEmployeeByNameUsingHQL(name, EmployeeFields.parse(fields));
         return ResponseEntity.ok(response);
     }
     
     // 2. Fetch Employee Details by Name (using Native SQL)
     @GetMapping("/name/{name}/native")
-    public ResponseEntity<EmployeeResponse> getEmployeeByNameUsingNativeSQL(@PathVariable String name) {
-        EmployeeResponse response = employeeService.getEmployeeByNameUsingNativeSQL(name);
+    public ResponseEntity<EmployeeResponse> getEmployeeByNameUsingNativeSQL(
+            @PathVariable String name,
+            @RequestParam(required = false) String fields) {
+        EmployeeResponse response = employeeService.getEmployeeByNameUsingNativeSQL(name, EmployeeFields.parse(fields));
+        return ResponseEntity.ok(response);
+    }
+    
+    // Batch lookup by emails and/or ids, results in request order
+    @PostMapping("/lookup")
+    public ResponseEntity<BatchLookupResponse> lookupEmployees(
+            @Valid @RequestBody BatchLookupRequest request,
+            @RequestParam(required = false) String fields) {
+        BatchLookupResponse response = employeeService.lookupEmployees(request, EmployeeFields.parse(fields));
+        return ResponseEntity.ok(response);
+    }
+    
+    // Aggregate statistics (totals, missing fields, by email domain, by last-name initial)
+    @GetMapping("/stats")
+    public ResponseEntity<EmployeeStatsResponse> getEmployeeStats() {
+        EmployeeStatsResponse response = employeeService.getEmployeeStats();
+        return ResponseEntity.ok(response);
+    }
+    
+    // Per-strategy lookup latency (moving average of the query alone), sample and routing counts,
+    // and the strategy the strategy-neutral lookups currently prefer
+    @GetMapping("/stats/lookup-strategies")
+    public ResponseEntity<LookupStrategyStatsResponse> getLookupStrategyStats() {
+        return ResponseEntity.ok(lookupStrategyRouter.getStats());
+    }
+    
+    // Ranked full-text search over first name, last name, email and address
+    @GetMapping("/fulltext")
+    public ResponseEntity<FullTextSearchResponse> fullTextSearch(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String fields) {
+        FullTextSearchResponse response = employeeService.fullTextSearch(q, page, size, EmployeeFields.parse(fields));
         return ResponseEntity.ok(response);
     }
     
     // 3. Create Employee (Name and Email) - Required
+    // With an Idempotency-Key header, a retried request returns the original response
     @PostMapping
-    public ResponseEntity<EmployeeResponse> createEmployee(@Valid @RequestBody CreateEmployeeRequest request) {
-        EmployeeResponse response = employeeService.createEmployee(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    public ResponseEntity<EmployeeResponse> createEmployee(
+            @Valid @RequestBody CreateEmployeeRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            EmployeeResponse response = employeeService.createEmployee(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        }
+        IdempotencyStore.Result<EmployeeResponse> result =
+                idempotencyStore.execute(idempotencyKey, request, () -> employeeService.createEmployee(request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.isReplayed()))
+                .body(result.getValue());
     }
     
     // 4. Create Employee (Name, Email, and Phone) - Required
@@ -94,6 +203,22 @@ public class EmployeeController {
         return ResponseEntity.ok(response);
     }
     
+    // Change history of an Employee (also after it was deleted), most recent first
+    @GetMapping("/{email}/history")
+    public ResponseEntity<EmployeeHistoryResponse> getEmployeeHistory(
+            @PathVariable String email,
+            @RequestParam(defaultValue = "100") int limit) {
+        EmployeeHistoryResponse response = employeeService.getEmployeeHistory(email, limit);
+        return ResponseEntity.ok(response);
+    }
+    
+    // Restore a soft-deleted Employee (until it is purged)
+    @PostMapping("/{email}/restore")
+    public ResponseEntity<EmployeeResponse> restoreEmployee(@PathVariable String email) {
+        EmployeeResponse response = employeeService.restoreEmployee(email);
+        return ResponseEntity.ok(response);
+    }
+    
     // 7. Delete Employee by Email
     @DeleteMapping("/{email}")
     public ResponseEntity<Void> deleteEmployeeByEmail(@PathVariable String email) {
@@ -101,10 +226,29 @@ public class EmployeeController {
         return ResponseEntity.noContent().build();
     }
     
+    // Full export for reporting jobs: every employee as a JSON array in id order, read in parallel
+    // id ranges and streamed as they are merged, instead of one query materialized in memory
+    @GetMapping("/export")
+    public void exportEmployees(
+            @RequestParam(required = false) String fields,
+            HttpServletResponse response) throws IOException {
+        EmployeeFields selection = EmployeeFields.parse(fields);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        employeeExporter.export(TenantContext.current(), selection, response.getOutputStream());
+    }
+    
     // Bonus: Get all employees
+    // With any of lastName, phonePrefix, addressContains, sort, cursor or limit this becomes a
+    // paginated search returning { items, nextCursor }
     @GetMapping
-    public ResponseEntity<List<EmployeeResponse>> getAllEmployees() {
-        List<EmployeeResponse> employees = employeeService.getAllEmployees();
+    public ResponseEntity<?> getAllEmployees(
+            @ModelAttribute EmployeeSearchRequest searchRequest,
+            @RequestParam(required = false) String fields) {
+        EmployeeFields selection = EmployeeFields.parse(fields);
+        if (!searchRequest.isEmpty()) {
+            return ResponseEntity.ok(employeeService.searchEmployees(searchRequest, selection));
+        }
+        List<EmployeeResponse> employees = employeeService.getAllEmployees(selection);
         return ResponseEntity.ok(employees);
     }
 }
@@ -0,0 +1,93 @@
+package com.arqonz.employee.controller;
+
+import com.arqonz.employee.dto.CreateEmployeeRequest;
+import com.arqonz.employee.dto.EmployeeResponse;
+import com.arqonz.employee.dto.UpdateEmployeeRequest;
+import com.arqonz.employee.dto.UpdatePhoneRequest;
+import com.arqonz.employee.service.ReactiveEmployeeService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Reactive mirror of EmployeeController.
+// Same endpoints under /api/reactive/employees, returning Mono/Flux so the
+// servlet thread is released while the JPA call runs on the bounded JDBC scheduler.
+@RestController
+@RequestMapping("/api/reactive/employees")
+public class ReactiveEmployeeController {
+
+    private final ReactiveEmployeeService reactiveEmployeeService;
+
+    @Autowired
+    public ReactiveEmployeeController(ReactiveEmployeeService reactiveEmployeeService) {
+        this.reactiveEmployeeService = reactiveEmployeeService;
+    }
+
+    @GetMapping("/email/{email}/specifications")
+    public Mono<EmployeeResponse> getEmployeeByEmailUsingSpecifications(@PathVariable String email) {
+        return reactiveEmployeeService.getEmployeeByEmailUsingSpecifications(email);
+    }
+
+    @GetMapping("/email/{email}/hql")
+    public Mono<EmployeeResponse> getEmployeeByEmailUsingHQL(@PathVariable String email) {
+        return reactiveEmployeeService.getEmployeeByEmailUsingHQL(email);
+    }
+
+    @GetMapping("/email/{email}/native")
+    public Mono<EmployeeResponse> getEmployeeByEmailUsingNativeSQL(@PathVariable String email) {
+        return reactiveEmployeeService.getEmployeeByEmailUsingNativeSQL(email);
+    }
+
+    @GetMapping("/name/{name}/specifications")
+    public Mono<EmployeeResponse> getEmployeeByNameUsingSpecifications(@PathVariable String name) {
+        return reactiveEmployeeService.getEmployeeByNameUsingSpecifications(name);
+    }
+
+    @GetMapping("/name/{name}/hql")
+    public Mono<EmployeeResponse> getEmployeeByNameUsingHQL(@PathVariable String name) {
+        return reactiveEmployeeService.getEmployeeByNameUsingHQL(name);
+    }
+
+    @GetMapping("/name/{name}/native")
+    public Mono<EmployeeResponse> getEmployeeByNameUsingNativeSQL(@PathVariable String name) {
+        return reactiveEmployeeService.getEmployeeByNameUsingNativeSQL(name);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<EmployeeResponse>> createEmployee(@Valid @RequestBody CreateEmployeeRequest request) {
+        return reactiveEmployeeService.createEmployee(request)
+                .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+
+    @PutMapping("/{email}")
+    public Mono<EmployeeResponse> updateEmployee(
+            @PathVariable String email,
+            @Valid @RequestBody UpdateEmployeeRequest request) {
+        return reactiveEmployeeService.updateEmployee(email, request);
+    }
+
+    @PatchMapping("/{email}/phone")
+    public Mono<EmployeeResponse> updateEmployeePhone(
+            @PathVariable String email,
+            @Valid @RequestBody UpdatePhoneRequest request) {
+        return reactiveEmployeeService.updateEmployeePhone(email, request);
+    }
+
+    @DeleteMapping("/{email}")
+    public Mono<ResponseEntity<Void>> deleteEmployeeByEmail(@PathVariable String email) {
+        return reactiveEmployeeService.deleteEmployeeByEmail(email)
+                .then(Mono.just(ResponseEntity.noContent().<Void>build()));
+    }
+
+    // Listing as a JSON array (collected) or as newline-delimited JSON, which is
+    // written element by element and only pulls the next page as the client keeps up
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<EmployeeResponse> getAllEmployees() {
+        return reactiveEmployeeService.streamAllEmployees();
+    }
+}
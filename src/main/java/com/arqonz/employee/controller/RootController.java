@@ -1,5 +1,6 @@
 package com.arqonz.employee.controller;
 
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -7,7 +8,10 @@ import org.springframework.web.bind.annotation.RestController;
 import java.util.HashMap;
 import java.util.Map;
 
+// Created eagerly even in fast-boot mode: GET / is the liveness check and must not wait to
+// create its controller while a lazy bean that needs JPA is being built
 @RestController
+@Lazy(false)
 public class RootController {
 
     @GetMapping("/")
@@ -17,14 +21,23 @@ public class RootController {
         apiInfo.put("version", "1.0.0");
         apiInfo.put("status", "Running");
         apiInfo.put("baseUrl", "/api/employees");
-        apiInfo.put("endpoints", Map.of(
-                "getAllEmployees", "GET /api/employees",
-                "getEmployeeByEmail", "GET /api/employees/email/{email}/{specifications|hql|native}",
-                "getEmployeeByName", "GET /api/employees/name/{name}/{specifications|hql|native}",
-                "createEmployee", "POST /api/employees",
-                "updateEmployee", "PUT /api/employees/{email}",
-                "updatePhone", "PATCH /api/employees/{email}/phone",
-                "deleteEmployee", "DELETE /api/employees/{email}"
+        apiInfo.put("reactiveBaseUrl", "/api/reactive/employees");
+        apiInfo.put("endpoints", Map.ofEntries(
+                Map.entry("getAllEmployees", "GET /api/employees"),
+                Map.entry("searchEmployees", "GET /api/employees?lastName=&phonePrefix=&addressContains=&sort=&cursor=&limit="),
+                Map.entry("fullTextSearch", "GET /api/employees/fulltext?q=&page=&size="),
+                Map.entry("getEmployeeByEmail", "GET /api/employees/email/{email}/{specifications|hql|native}"),
+                Map.entry("getEmployeeByName", "GET /api/employees/name/{name}/{specifications|hql|native}"),
+                Map.entry("createEmployee", "POST /api/employees"),
+                Map.entry("lookupEmployees", "POST /api/employees/lookup"),
+                Map.entry("employeeStats", "GET /api/employees/stats"),
+                Map.entry("updateEmployee", "PUT /api/employees/{email}"),
+                Map.entry("updatePhone", "PATCH /api/employees/{email}/phone"),
+                Map.entry("deleteEmployee", "DELETE /api/employees/{email}"),
+                Map.entry("restoreEmployee", "POST /api/employees/{email}/restore"),
+                Map.entry("employeeHistory", "GET /api/employees/{email}/history?limit="),
+                Map.entry("startSnapshot", "POST /api/admin/snapshot"),
+                Map.entry("snapshotStatus", "GET /api/admin/snapshot")
         ));
         apiInfo.put("h2Console", "http://localhost:8080/h2-console");
 
@@ -0,0 +1,254 @@
+package com.arqonz.employee.directory;
+
+import com.arqonz.employee.dto.EmployeeResponse;
+import com.arqonz.employee.model.Employee;
+import com.arqonz.employee.repository.EmployeeRepository;
+import com.arqonz.employee.service.EmployeeChangedEvent;
+import com.arqonz.employee.tenant.TenantContext;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Optional in-process read replica of the employee directory (app.directory-snapshot.enabled).
+// Rows live off-heap in a memory-mapped file, indexed by email (open addressing) and by id
+// (primitive long keys), so EmployeeService point reads by email skip the database entirely.
+// The replica follows committed mutations via EmployeeChangedEvent, and the file outlives the
+// process: a clean shutdown records the database fingerprint (count, max id and a hash over the
+// rows) in the file header, and on restart the file is reloaded as-is only when the database
+// still has that fingerprint. Changes made while the replica was down or disabled, or a crash
+// that left the header unmarked, force a reload from the database.
+// It holds the default tenant only (loaded outside any request, so queries see that tenant);
+// reads and changes of other tenants pass it by.
+@Component
+public class DirectorySnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(DirectorySnapshot.class);
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private final EmployeeRepository employeeRepository;
+    private final boolean enabled;
+    private final Path path;
+    private final int initialCapacity;
+    private final boolean reloadOnStartup;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private OffHeapEmployeeStore store;
+    private EmailIndex emailIndex;
+    private IdIndex idIndex;
+    private volatile boolean ready;
+
+    @Autowired
+    public DirectorySnapshot(EmployeeRepository employeeRepository,
+                             @Value("${app.directory-snapshot.enabled:false}") boolean enabled,
+                             @Value("${app.directory-snapshot.path:./data/directory.snapshot}") String path,
+                             @Value("${app.directory-snapshot.initial-capacity-mb:16}") int initialCapacityMb,
+                             @Value("${app.directory-snapshot.reload-on-startup:true}") boolean reloadOnStartup) {
+        this.employeeRepository = employeeRepository;
+        this.enabled = enabled;
+        this.path = Path.of(path);
+        this.initialCapacity = initialCapacityMb * 1024 * 1024;
+        this.reloadOnStartup = reloadOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            // From here on committed changes queue on the lock and are applied after the load, so
+            // none can slip in between the database read and the first event
+            store = OffHeapEmployeeStore.open(path, initialCapacity);
+            long syncedVersion = store.syncedVersion();
+            store.markSynced(0L);
+            store.flush();
+            Object[] fingerprint = employeeRepository.fingerprint(TenantContext.DEFAULT_TENANT).get(0);
+            long rows = ((Number) fingerprint[0]).longValue();
+            if (reloadOnStartup && syncedVersion == databaseVersion(fingerprint) && store.liveRecords() == rows) {
+                rebuildIndexes();
+                log.info("Directory snapshot reloaded {} employees from {} in {} ms",
+                        rows, path, (System.nanoTime() - start) / 1_000_000);
+            } else {
+                loadFromDatabase(rows);
+                log.info("Directory snapshot loaded {} employees from the database in {} ms",
+                        store.liveRecords(), (System.nanoTime() - start) / 1_000_000);
+            }
+            ready = true;
+        } catch (IOException | RuntimeException ex) {
+            discardStore();
+            throw ex;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public Optional<EmployeeResponse> findByEmail(String email) {
+        if (!ready || email == null || !isDefaultTenant(TenantContext.current())) {
+            return Optional.empty();
+        }
+        byte[] key = Employee.normalizeEmail(email).getBytes(StandardCharsets.UTF_8);
+        int hash = EmailIndex.hash(key);
+        lock.readLock().lock();
+        try {
+            int offset = emailIndex.get(key, hash, store);
+            return offset == 0 ? Optional.empty() : Optional.of(store.read(offset));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<EmployeeResponse> findById(long id) {
+        if (!ready || !isDefaultTenant(TenantContext.current())) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            int offset = idIndex.get(id);
+            return offset == 0 ? Optional.empty() : Optional.of(store.read(offset));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!enabled || !isDefaultTenant(event.getTenantId())) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (store == null) {
+                return;
+            }
+            if (event.isDelete()) {
+                remove(event.getBefore().getId());
+            } else {
+                upsert(event.getAfter());
+            }
+            if (store.needsCompaction()) {
+                store = store.compact();
+                rebuildIndexes();
+            }
+        } catch (IOException ex) {
+            // The replica can no longer be trusted; fall back to the database for every read
+            ready = false;
+            discardStore();
+            log.error("Directory snapshot disabled after a write failure", ex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            if (store != null) {
+                try {
+                    store.markSynced(databaseVersion(employeeRepository.fingerprint(TenantContext.DEFAULT_TENANT).get(0)));
+                } catch (RuntimeException ex) {
+                    log.warn("Directory snapshot closed without a database fingerprint; it will reload on the next start", ex);
+                }
+                store.close();
+                store = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Closes the file with no synced version, so the next start reloads from the database
+    private void discardStore() {
+        if (store == null) {
+            return;
+        }
+        try {
+            store.close();
+        } catch (IOException ex) {
+            log.warn("Failed to close the directory snapshot file", ex);
+        }
+        store = null;
+    }
+
+    // Folds the (count, max id, row hash sum) fingerprint into one non-zero version
+    private static long databaseVersion(Object[] fingerprint) {
+        long version = 17L;
+        for (Object value : fingerprint) {
+            version = 31L * version + ((Number) value).longValue();
+        }
+        return version == 0L ? 1L : version;
+    }
+
+    private void upsert(EmployeeResponse employee) throws IOException {
+        remove(employee.getId());
+        int offset = store.append(employee);
+        idIndex.put(employee.getId(), offset);
+        emailIndex.put(EmailIndex.hash(emailKey(employee)), offset);
+    }
+
+    private void remove(long id) {
+        int offset = idIndex.remove(id);
+        if (offset != 0) {
+            emailIndex.remove(EmailIndex.hash(emailKey(store.read(offset))), offset);
+            store.markDeleted(offset);
+        }
+    }
+
+    private void loadFromDatabase(long rows) throws IOException {
+        store.clear();
+        int expected = (int) Math.min(Integer.MAX_VALUE / 2, rows);
+        idIndex = new IdIndex(expected);
+        emailIndex = new EmailIndex(expected);
+
+        long afterId = 0L;
+        List<Employee> page;
+        do {
+            page = employeeRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (Employee employee : page) {
+                upsert(new EmployeeResponse(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                        employee.getEmail(), employee.getPhone(), employee.getAddress()));
+                afterId = employee.getId();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+        store.flush();
+    }
+
+    private void rebuildIndexes() {
+        int expected = (int) Math.min(Integer.MAX_VALUE / 2, store.liveRecords());
+        idIndex = new IdIndex(expected);
+        emailIndex = new EmailIndex(expected);
+        store.forEachLive(offset -> {
+            idIndex.put(store.idAt(offset), offset);
+            emailIndex.put(EmailIndex.hash(emailKey(store.read(offset))), offset);
+        });
+    }
+
+    private static byte[] emailKey(EmployeeResponse employee) {
+        return Employee.normalizeEmail(employee.getEmail()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static boolean isDefaultTenant(String tenantId) {
+        return TenantContext.DEFAULT_TENANT.equals(tenantId);
+    }
+}
@@ -0,0 +1,97 @@
+package com.arqonz.employee.directory;
+
+import java.util.Arrays;
+
+// Open-addressing (linear probing) index from normalized email to record offset.
+// Only the email hash and the record offset are kept on the heap, in two primitive arrays;
+// the email itself is compared against the mapped record, so entries cost 8 bytes and no objects.
+class EmailIndex {
+
+    private static final int EMPTY = 0;
+
+    private int[] hashes;
+    private int[] offsets;
+    private int size;
+
+    EmailIndex(int expectedEntries) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedEntries * 2) - 1) << 1;
+        hashes = new int[capacity];
+        offsets = new int[capacity];
+    }
+
+    int get(byte[] email, int hash, OffHeapEmployeeStore store) {
+        int mask = offsets.length - 1;
+        for (int slot = hash & mask; offsets[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (hashes[slot] == hash && store.normalizedEmailEquals(offsets[slot], email)) {
+                return offsets[slot];
+            }
+        }
+        return EMPTY;
+    }
+
+    void put(int hash, int offset) {
+        if ((size + 1) * 2 > offsets.length) {
+            resize(offsets.length * 2);
+        }
+        insert(hash, offset);
+        size++;
+    }
+
+    // Removes the entry pointing at exactly this record offset
+    void remove(int hash, int offset) {
+        int mask = offsets.length - 1;
+        int slot = hash & mask;
+        while (offsets[slot] != offset) {
+            if (offsets[slot] == EMPTY) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        offsets[slot] = EMPTY;
+        size--;
+
+        // Backward-shift the rest of the probe run so lookups never need tombstones
+        int next = (slot + 1) & mask;
+        while (offsets[next] != EMPTY) {
+            int home = hashes[next] & mask;
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                hashes[slot] = hashes[next];
+                offsets[slot] = offsets[next];
+                offsets[next] = EMPTY;
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    static int hash(byte[] email) {
+        int hash = Arrays.hashCode(email);
+        return hash ^ (hash >>> 16);
+    }
+
+    private void insert(int hash, int offset) {
+        int mask = offsets.length - 1;
+        int slot = hash & mask;
+        while (offsets[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        hashes[slot] = hash;
+        offsets[slot] = offset;
+    }
+
+    private void resize(int capacity) {
+        int[] oldHashes = hashes;
+        int[] oldOffsets = offsets;
+        hashes = new int[capacity];
+        offsets = new int[capacity];
+        for (int i = 0; i < oldOffsets.length; i++) {
+            if (oldOffsets[i] != EMPTY) {
+                insert(oldHashes[i], oldOffsets[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.arqonz.employee.directory;
+
+// Open-addressing (linear probing) map from employee id to record offset on primitive arrays.
+// Ids are positive, so 0 marks an empty slot and no boxing or per-entry objects are needed.
+class IdIndex {
+
+    private static final long EMPTY = 0L;
+    private static final int NOT_FOUND = 0;
+
+    private long[] ids;
+    private int[] offsets;
+    private int size;
+
+    IdIndex(int expectedEntries) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedEntries * 2) - 1) << 1;
+        ids = new long[capacity];
+        offsets = new int[capacity];
+    }
+
+    int get(long id) {
+        int mask = ids.length - 1;
+        for (int slot = slotOf(id, mask); ids[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (ids[slot] == id) {
+                return offsets[slot];
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    // Returns the previous offset for this id, or 0
+    int put(long id, int offset) {
+        if ((size + 1) * 2 > ids.length) {
+            resize(ids.length * 2);
+        }
+        int mask = ids.length - 1;
+        int slot = slotOf(id, mask);
+        while (ids[slot] != EMPTY) {
+            if (ids[slot] == id) {
+                int previous = offsets[slot];
+                offsets[slot] = offset;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        ids[slot] = id;
+        offsets[slot] = offset;
+        size++;
+        return NOT_FOUND;
+    }
+
+    // Returns the removed offset, or 0
+    int remove(long id) {
+        int mask = ids.length - 1;
+        int slot = slotOf(id, mask);
+        while (ids[slot] != id) {
+            if (ids[slot] == EMPTY) {
+                return NOT_FOUND;
+            }
+            slot = (slot + 1) & mask;
+        }
+        int removed = offsets[slot];
+        ids[slot] = EMPTY;
+        size--;
+
+        // Backward-shift deletion keeps probe runs contiguous
+        int next = (slot + 1) & mask;
+        while (ids[next] != EMPTY) {
+            int home = slotOf(ids[next], mask);
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                ids[slot] = ids[next];
+                offsets[slot] = offsets[next];
+                ids[next] = EMPTY;
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        return removed;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static int slotOf(long id, int mask) {
+        long mixed = id * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & mask;
+    }
+
+    private void resize(int capacity) {
+        long[] oldIds = ids;
+        int[] oldOffsets = offsets;
+        ids = new long[capacity];
+        offsets = new int[capacity];
+        size = 0;
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldIds[i] != EMPTY) {
+                put(oldIds[i], oldOffsets[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.arqonz.employee.directory;
+
+import com.arqonz.employee.dto.EmployeeResponse;
+import com.arqonz.employee.model.Employee;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// Append-only employee records in a memory-mapped file.
+//
+// Header (64 bytes): magic, version, end offset, live record count, dead bytes, synced database
+//                    version (0 while the file is being written to), then reserved space.
+// Record: int length | byte live flag | long id | five strings (short byte length, -1 for null, then UTF-8)
+//         in the order firstName, lastName, email, phone, address.
+// Updates append a new record and clear the live flag of the old one; compact() rewrites live records.
+// Not thread-safe: DirectorySnapshot serializes writers and excludes them from readers.
+class OffHeapEmployeeStore implements Closeable {
+
+    static final int HEADER_SIZE = 64;
+
+    private static final int MAGIC = 0x45445331;
+    private static final int VERSION = 2;
+    private static final int END_OFFSET = 8;
+    private static final int LIVE_OFFSET = 16;
+    private static final int DEAD_OFFSET = 24;
+    private static final int SYNCED_OFFSET = 32;
+    private static final int FLAG_OFFSET = 4;
+    private static final int ID_OFFSET = 5;
+    private static final int STRINGS_OFFSET = 13;
+    private static final int EMAIL_FIELD = 2;
+    private static final byte LIVE = 1;
+    private static final byte DEAD = 0;
+
+    private final Path path;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int end;
+    private long liveRecords;
+    private long deadBytes;
+
+    private OffHeapEmployeeStore(Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    // Maps an existing store, or creates an empty one when the file is missing or not a store
+    static OffHeapEmployeeStore open(Path path, int initialCapacity) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        int capacity = (int) Math.max(initialCapacity, Math.min(channel.size(), Integer.MAX_VALUE));
+        OffHeapEmployeeStore store = new OffHeapEmployeeStore(path, channel,
+                channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+
+        if (store.buffer.getInt(0) == MAGIC && store.buffer.getInt(4) == VERSION) {
+            store.end = (int) store.buffer.getLong(END_OFFSET);
+            store.liveRecords = store.buffer.getLong(LIVE_OFFSET);
+            store.deadBytes = store.buffer.getLong(DEAD_OFFSET);
+        } else {
+            store.clear();
+        }
+        return store;
+    }
+
+    void clear() {
+        end = HEADER_SIZE;
+        liveRecords = 0;
+        deadBytes = 0;
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        writeHeader();
+        markSynced(0L);
+    }
+
+    // Database version the records matched when the file was last closed cleanly, 0 when unknown
+    long syncedVersion() {
+        return buffer.getLong(SYNCED_OFFSET);
+    }
+
+    void markSynced(long databaseVersion) {
+        buffer.putLong(SYNCED_OFFSET, databaseVersion);
+    }
+
+    int append(EmployeeResponse employee) throws IOException {
+        byte[][] fields = {
+                utf8(employee.getFirstName()),
+                utf8(employee.getLastName()),
+                utf8(employee.getEmail()),
+                utf8(employee.getPhone()),
+                utf8(employee.getAddress())
+        };
+        int length = STRINGS_OFFSET;
+        for (byte[] field : fields) {
+            length += Short.BYTES + (field == null ? 0 : field.length);
+        }
+        ensureCapacity(length);
+
+        int offset = end;
+        buffer.putInt(offset, length);
+        buffer.put(offset + FLAG_OFFSET, LIVE);
+        buffer.putLong(offset + ID_OFFSET, employee.getId());
+        int position = offset + STRINGS_OFFSET;
+        for (byte[] field : fields) {
+            if (field == null) {
+                buffer.putShort(position, (short) -1);
+                position += Short.BYTES;
+            } else {
+                buffer.putShort(position, (short) field.length);
+                buffer.put(position + Short.BYTES, field);
+                position += Short.BYTES + field.length;
+            }
+        }
+
+        end += length;
+        liveRecords++;
+        writeHeader();
+        return offset;
+    }
+
+    void markDeleted(int offset) {
+        if (buffer.get(offset + FLAG_OFFSET) == LIVE) {
+            buffer.put(offset + FLAG_OFFSET, DEAD);
+            liveRecords--;
+            deadBytes += buffer.getInt(offset);
+            writeHeader();
+        }
+    }
+
+    long idAt(int offset) {
+        return buffer.getLong(offset + ID_OFFSET);
+    }
+
+    EmployeeResponse read(int offset) {
+        int position = offset + STRINGS_OFFSET;
+        String[] fields = new String[5];
+        for (int i = 0; i < fields.length; i++) {
+            short length = buffer.getShort(position);
+            position += Short.BYTES;
+            if (length >= 0) {
+                byte[] bytes = new byte[length];
+                buffer.get(position, bytes);
+                fields[i] = new String(bytes, StandardCharsets.UTF_8);
+                position += length;
+            }
+        }
+        return new EmployeeResponse(idAt(offset), fields[0], fields[1], fields[2], fields[3], fields[4]);
+    }
+
+    // Compares the stored email, normalized as by Employee.normalizeEmail, with a normalized key.
+    // ASCII emails are lowercased and compared in place; a non-ASCII or whitespace byte falls back
+    // to decoding and normalizing the stored email.
+    boolean normalizedEmailEquals(int offset, byte[] normalizedEmail) {
+        int position = offset + STRINGS_OFFSET;
+        for (int i = 0; i < EMAIL_FIELD; i++) {
+            position += Short.BYTES + Math.max(0, buffer.getShort(position));
+        }
+        int length = buffer.getShort(position);
+        position += Short.BYTES;
+        for (int i = 0; i < length; i++) {
+            byte b = buffer.get(position + i);
+            if (b <= ' ') {
+                byte[] bytes = new byte[length];
+                buffer.get(position, bytes);
+                String normalized = Employee.normalizeEmail(new String(bytes, StandardCharsets.UTF_8));
+                return Arrays.equals(normalized.getBytes(StandardCharsets.UTF_8), normalizedEmail);
+            }
+            if (i >= normalizedEmail.length || toLowerAscii(b) != normalizedEmail[i]) {
+                return false;
+            }
+        }
+        return length == normalizedEmail.length;
+    }
+
+    void forEachLive(IntConsumer consumer) {
+        int offset = HEADER_SIZE;
+        while (offset < end) {
+            if (buffer.get(offset + FLAG_OFFSET) == LIVE) {
+                consumer.accept(offset);
+            }
+            offset += buffer.getInt(offset);
+        }
+    }
+
+    long liveRecords() {
+        return liveRecords;
+    }
+
+    boolean needsCompaction() {
+        return deadBytes > 1_048_576 && deadBytes > end - HEADER_SIZE - deadBytes;
+    }
+
+    // Rewrites live records into a fresh file and atomically replaces this one
+    OffHeapEmployeeStore compact() throws IOException {
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        Files.deleteIfExists(compacted);
+        OffHeapEmployeeStore target = open(compacted, Math.max(HEADER_SIZE * 2, end - (int) deadBytes));
+        IOException[] failure = new IOException[1];
+        forEachLive(offset -> {
+            try {
+                target.append(read(offset));
+            } catch (IOException ex) {
+                failure[0] = ex;
+            }
+        });
+        if (failure[0] != null) {
+            target.close();
+            throw failure[0];
+        }
+        target.close();
+        close();
+        Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return open(path, HEADER_SIZE * 2);
+    }
+
+    void flush() {
+        writeHeader();
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    private void ensureCapacity(int length) throws IOException {
+        if ((long) end + length <= buffer.capacity()) {
+            return;
+        }
+        long required = (long) end + length;
+        long capacity = Math.min(Integer.MAX_VALUE, Math.max(required, (long) buffer.capacity() * 2));
+        if (capacity < required) {
+            throw new IOException("Directory snapshot exceeds the 2 GB mapping limit");
+        }
+        buffer.force();
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    private void writeHeader() {
+        buffer.putLong(END_OFFSET, end);
+        buffer.putLong(LIVE_OFFSET, liveRecords);
+        buffer.putLong(DEAD_OFFSET, deadBytes);
+    }
+
+    private static byte toLowerAscii(byte b) {
+        return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+
+    private static byte[] utf8(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Field too long for the directory snapshot");
+        }
+        return bytes;
+    }
+}
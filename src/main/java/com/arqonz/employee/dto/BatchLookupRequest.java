@@ -0,0 +1,20 @@
+package com.arqonz.employee.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchLookupRequest {
+    
+    @Size(max = 50000, message = "At most 50000 emails per request")
+    private List<String> emails;
+    
+    @Size(max = 50000, message = "At most 50000 ids per request")
+    private List<Long> ids;
+}
@@ -0,0 +1,27 @@
+package com.arqonz.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchLookupResponse {
+    private List<LookupResult> results;
+    private int found;
+    private int notFound;
+    
+    // One entry per requested key, in request order; employee is null when found is false
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LookupResult {
+        private String email;
+        private Long id;
+        private boolean found;
+        private EmployeeResponse employee;
+    }
+}
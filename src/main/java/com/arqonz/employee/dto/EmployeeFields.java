@@ -0,0 +1,88 @@
+package com.arqonz.employee.dto;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Sparse fieldset of an EmployeeResponse, parsed from ?fields=email,phone.
+// Field names are the JSON property names, which are also the Employee attribute names, so a
+// selection maps directly onto the columns a projection query selects.
+public final class EmployeeFields {
+
+    public enum Field {
+        ID("id", EmployeeResponse::getId),
+        FIRST_NAME("firstName", EmployeeResponse::getFirstName),
+        LAST_NAME("lastName", EmployeeResponse::getLastName),
+        EMAIL("email", EmployeeResponse::getEmail),
+        PHONE("phone", EmployeeResponse::getPhone),
+        ADDRESS("address", EmployeeResponse::getAddress);
+
+        private final String property;
+        private final Function<EmployeeResponse, Object> getter;
+
+        Field(String property, Function<EmployeeResponse, Object> getter) {
+            this.property = property;
+            this.getter = getter;
+        }
+
+        public String property() {
+            return property;
+        }
+
+        Object get(EmployeeResponse employee) {
+            return getter.apply(employee);
+        }
+    }
+
+    public static final EmployeeFields ALL = new EmployeeFields(EnumSet.allOf(Field.class));
+
+    private static final String NAMES = Arrays.stream(Field.values()).map(Field::property)
+            .collect(Collectors.joining(", "));
+
+    private final Set<Field> fields;
+
+    private EmployeeFields(EnumSet<Field> fields) {
+        this.fields = Collections.unmodifiableSet(fields);
+    }
+
+    // Null or blank selects every field; unknown names are rejected
+    public static EmployeeFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        EnumSet<Field> selected = EnumSet.noneOf(Field.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            selected.add(Arrays.stream(Field.values())
+                    .filter(field -> field.property.equals(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            "Unknown field '" + trimmed + "', fields must be among " + NAMES)));
+        }
+        return selected.size() == Field.values().length || selected.isEmpty() ? ALL : new EmployeeFields(selected);
+    }
+
+    public boolean isAll() {
+        return fields.size() == Field.values().length;
+    }
+
+    // In declaration order, which is also the order they are serialized in
+    public Set<Field> fields() {
+        return fields;
+    }
+
+    // The employee itself when every field is selected, otherwise a copy that serializes only the
+    // selected ones
+    public EmployeeResponse apply(EmployeeResponse employee) {
+        if (employee == null || isAll()) {
+            return employee;
+        }
+        return new PartialEmployeeResponse(employee, this);
+    }
+}
@@ -0,0 +1,38 @@
+package com.arqonz.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeHistoryResponse {
+    private String email;
+    // Most recent first
+    private List<Entry> entries;
+
+    // operation is CREATED (also for a restore), UPDATED or DELETED; changes holds only the
+    // fields that differ, keyed by field name
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private long employeeId;
+        private LocalDateTime timestamp;
+        private String operation;
+        private Map<String, Change> changes;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Change {
+        private String from;
+        private String to;
+    }
+}
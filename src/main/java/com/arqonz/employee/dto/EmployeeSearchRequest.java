@@ -0,0 +1,22 @@
+package com.arqonz.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeSearchRequest {
+    private String lastName;
+    private String phonePrefix;
+    private String addressContains;
+    private String sort;
+    private String cursor;
+    private Integer limit;
+    
+    public boolean isEmpty() {
+        return lastName == null && phonePrefix == null && addressContains == null
+                && sort == null && cursor == null && limit == null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.arqonz.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeStatsResponse {
+    private long totalEmployees;
+    private long missingPhone;
+    private long missingAddress;
+    private Map<String, Long> byEmailDomain;
+    private Map<String, Long> byLastNameInitial;
+    private LocalDateTime lastReconciledAt;
+}
@@ -0,0 +1,28 @@
+package com.arqonz.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FullTextSearchResponse {
+    private List<Hit> hits;
+    // Exact up to the result window; beyond it totalHitsExact is false and totalHits is a lower bound
+    private long totalHits;
+    private boolean totalHitsExact;
+    private int page;
+    private int size;
+
+    // Best match first
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Hit {
+        private float score;
+        private EmployeeResponse employee;
+    }
+}
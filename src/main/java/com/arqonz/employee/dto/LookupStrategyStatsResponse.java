@@ -0,0 +1,36 @@
+package com.arqonz.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LookupStrategyStatsResponse {
+    private KindStats email;
+    private KindStats name;
+    
+    // preferred is the strategy routed to outside exploration, null until each has enough samples
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class KindStats {
+        private String preferred;
+        private Map<String, StrategyStats> strategies;
+    }
+    
+    // latencyMicros is the moving average of the query alone (cache hits are not sampled), null
+    // before the first sample; routed counts router choices, of which explored were exploration
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StrategyStats {
+        private Double latencyMicros;
+        private long samples;
+        private long routed;
+        private long explored;
+    }
+}
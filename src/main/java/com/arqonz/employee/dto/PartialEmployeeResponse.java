@@ -0,0 +1,45 @@
+package com.arqonz.employee.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.io.IOException;
+
+// EmployeeResponse limited to a sparse fieldset: only the selected fields are written, with their
+// value even when it is null, so a missing phone still reads "phone": null.
+// Serializes itself, so it works wherever an EmployeeResponse is nested (pages, batch results,
+// full-text hits) without per-request ObjectMapper configuration.
+@Getter
+@EqualsAndHashCode(callSuper = true)
+@JsonSerialize(using = PartialEmployeeResponse.Serializer.class)
+public class PartialEmployeeResponse extends EmployeeResponse {
+
+    private final EmployeeFields fields;
+
+    PartialEmployeeResponse(EmployeeResponse employee, EmployeeFields fields) {
+        super(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail(),
+                employee.getPhone(), employee.getAddress());
+        this.fields = fields;
+    }
+
+    static class Serializer extends StdSerializer<PartialEmployeeResponse> {
+
+        Serializer() {
+            super(PartialEmployeeResponse.class);
+        }
+
+        @Override
+        public void serialize(PartialEmployeeResponse employee, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeStartObject(employee);
+            for (EmployeeFields.Field field : employee.fields.fields()) {
+                provider.defaultSerializeField(field.property(), field.get(employee), generator);
+            }
+            generator.writeEndObject();
+        }
+    }
+}
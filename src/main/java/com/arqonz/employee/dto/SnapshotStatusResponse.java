@@ -0,0 +1,21 @@
+package com.arqonz.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SnapshotStatusResponse {
+    // NONE, RUNNING, COMPLETED or FAILED
+    private String state;
+    private String path;
+    private LocalDateTime startedAt;
+    private Long durationMillis;
+    private Long rows;
+    private Long bytes;
+    private String error;
+}
@@ -0,0 +1,9 @@
+package com.arqonz.employee.exception;
+
+// The request conflicts with the current state of a resource (mapped to 409 Conflict)
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,104 @@
+package com.arqonz.employee.filter;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// Adaptive in-flight request limit (AIMD).
+// Latencies are accumulated in striped LongAdders; once per window the average is compared with
+// the best average seen so far. While latency stays near that baseline the limit grows by one,
+// when it rises past `latencyTolerance` times the baseline the limit is cut multiplicatively,
+// so queueing in the database turns into fast 503s at the edge instead of piling up threads.
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double DECREASE_FACTOR = 0.9;
+    // Lets the baseline drift upward slowly so a permanently slower database is eventually accepted
+    private static final double BASELINE_DRIFT = 1.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final long windowNanos;
+    private final LongSupplier clock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder latencySumNanos = new LongAdder();
+    private final LongAdder samples = new LongAdder();
+    private final AtomicBoolean adjusting = new AtomicBoolean();
+
+    private volatile int limit;
+    private volatile long windowStart;
+    private volatile double baselineNanos = Double.MAX_VALUE;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double latencyTolerance, long windowMillis) {
+        this(initialLimit, minLimit, maxLimit, latencyTolerance, windowMillis, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                               double latencyTolerance, long windowMillis, LongSupplier clock) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.windowNanos = windowMillis * 1_000_000L;
+        this.clock = clock;
+        this.windowStart = clock.getAsLong();
+    }
+
+    public boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > limit) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public void release(long latencyNanos) {
+        inFlight.decrementAndGet();
+        latencySumNanos.add(latencyNanos);
+        samples.increment();
+
+        long now = clock.getAsLong();
+        if (now - windowStart >= windowNanos && adjusting.compareAndSet(false, true)) {
+            try {
+                adjustLimit(now);
+            } finally {
+                adjusting.set(false);
+            }
+        }
+    }
+
+    // Frees the slot without a latency sample, for requests whose duration reflects their size
+    // rather than load (streamed exports)
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void adjustLimit(long now) {
+        long count = samples.sumThenReset();
+        long sum = latencySumNanos.sumThenReset();
+        windowStart = now;
+        if (count == 0) {
+            return;
+        }
+
+        double average = (double) sum / count;
+        baselineNanos = Math.min(baselineNanos * BASELINE_DRIFT, average);
+        if (average > baselineNanos * latencyTolerance) {
+            limit = Math.max(minLimit, (int) (limit * DECREASE_FACTOR));
+        } else if (inFlight.get() * 2 >= limit) {
+            // Only probe upward when the current limit is actually being used
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+}
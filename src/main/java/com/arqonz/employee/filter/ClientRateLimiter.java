@@ -0,0 +1,137 @@
+package com.arqonz.employee.filter;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Per-client token bucket, kept lock-free in its GCRA form: each client owns one AtomicLong
+// holding the "theoretical arrival time" of its next request. Spending `cost` tokens pushes it
+// forward by cost * emission interval; a request is admitted while that stays within the burst
+// window. One CAS per request, no locks and no allocation on the hot path.
+// At most maxClients buckets are kept. A new client finding the table full evicts idle buckets
+// from a sample of the table, continuing where the last sample stopped, so a full pass is spread
+// over many inserts. If the sample has no idle bucket, the client shares one overflow bucket with
+// every other untracked client: rotating keys buys neither memory nor extra tokens.
+public class ClientRateLimiter {
+
+    private static final long NEW = Long.MIN_VALUE;
+    // Set on a bucket as it is evicted, so a request holding it looks the client up again
+    private static final long EVICTED = Long.MAX_VALUE;
+    private static final long RETRY = -1;
+    private static final int EVICTION_SAMPLE = 32;
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxClients;
+    private final LongSupplier clock;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicInteger trackedClients = new AtomicInteger();
+    private final AtomicLong overflow = new AtomicLong(NEW);
+    // Guarded by this
+    private Iterator<Map.Entry<String, AtomicLong>> evictionCursor = Collections.emptyIterator();
+
+    public ClientRateLimiter(double permitsPerSecond, int burst, int maxClients) {
+        this(permitsPerSecond, burst, maxClients, System::nanoTime);
+    }
+
+    ClientRateLimiter(double permitsPerSecond, int burst, int maxClients, LongSupplier clock) {
+        if (permitsPerSecond <= 0 || burst <= 0 || maxClients <= 0) {
+            throw new IllegalArgumentException("Rate limit permits, burst and max clients must be positive");
+        }
+        this.emissionIntervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+        this.maxClients = maxClients;
+        this.clock = clock;
+    }
+
+    // Returns 0 when the request is admitted, otherwise the nanoseconds until `cost` tokens are available
+    public long tryAcquire(String clientKey, int cost) {
+        while (true) {
+            long waitNanos = tryAcquire(bucketOf(clientKey), cost);
+            if (waitNanos != RETRY) {
+                return waitNanos;
+            }
+        }
+    }
+
+    int trackedClients() {
+        return trackedClients.get();
+    }
+
+    private long tryAcquire(AtomicLong tat, int cost) {
+        long increment = emissionIntervalNanos * cost;
+        while (true) {
+            long now = clock.getAsLong();
+            long current = tat.get();
+            if (current == EVICTED) {
+                return RETRY;
+            }
+            long next = Math.max(current == NEW ? now : current, now) + increment;
+            long waitNanos = next - now - burstToleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private AtomicLong bucketOf(String clientKey) {
+        AtomicLong tat = buckets.get(clientKey);
+        if (tat != null) {
+            return tat;
+        }
+        if (!reserveSlot()) {
+            return overflow;
+        }
+        AtomicLong created = new AtomicLong(NEW);
+        AtomicLong existing = buckets.putIfAbsent(clientKey, created);
+        if (existing != null) {
+            trackedClients.decrementAndGet();
+            return existing;
+        }
+        return created;
+    }
+
+    private boolean reserveSlot() {
+        while (true) {
+            int tracked = trackedClients.get();
+            if (tracked < maxClients) {
+                if (trackedClients.compareAndSet(tracked, tracked + 1)) {
+                    return true;
+                }
+            } else if (!evictIdleClients()) {
+                return false;
+            }
+        }
+    }
+
+    // A bucket whose arrival time is in the past is full again, so dropping it loses nothing.
+    // Looks at up to EVICTION_SAMPLE buckets and returns whether any was evicted.
+    private synchronized boolean evictIdleClients() {
+        long now = clock.getAsLong();
+        boolean evicted = false;
+        for (int i = 0; i < EVICTION_SAMPLE; i++) {
+            if (!evictionCursor.hasNext()) {
+                evictionCursor = buckets.entrySet().iterator();
+                if (!evictionCursor.hasNext()) {
+                    break;
+                }
+            }
+            Map.Entry<String, AtomicLong> entry = evictionCursor.next();
+            AtomicLong tat = entry.getValue();
+            long current = tat.get();
+            if (current != EVICTED && current <= now && tat.compareAndSet(current, EVICTED)
+                    && buckets.remove(entry.getKey(), tat)) {
+                trackedClients.decrementAndGet();
+                evicted = true;
+            }
+        }
+        return evicted;
+    }
+}
@@ -0,0 +1,60 @@
+package com.arqonz.employee.filter;
+
+import com.arqonz.employee.config.PersistenceReadiness;
+import com.arqonz.employee.dto.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+// Answers /api/** with 503 until the background JPA bootstrap has finished (fast-boot mode).
+// Other paths, such as the root info endpoint used for health checks, are served immediately.
+@Component
+@Lazy(false)
+@ConditionalOnProperty(name = "app.fast-boot.enabled", havingValue = "true")
+public class PersistenceReadinessFilter extends OncePerRequestFilter {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final PersistenceReadiness persistenceReadiness;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public PersistenceReadinessFilter(PersistenceReadiness persistenceReadiness, ObjectMapper objectMapper) {
+        this.persistenceReadiness = persistenceReadiness;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return persistenceReadiness.isReady() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                "Persistence layer is still starting",
+                request.getRequestURI()
+        );
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
@@ -0,0 +1,205 @@
+package com.arqonz.employee.filter;
+
+import com.arqonz.employee.dto.EmployeeSearchRequest;
+import com.arqonz.employee.dto.ErrorResponse;
+import com.arqonz.employee.tenant.TenantContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.ServletRequestDataBinder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+// Protects /api/** from misbehaving clients and from overload.
+// 1. Per-client token bucket keyed by X-API-Key (or remote address), where a full listing costs
+//    far more tokens than a point lookup -> 429 with Retry-After when a client overspends.
+// 2. Per-tenant token bucket with the same costs, so one tenant's clients together cannot use up
+//    the capacity the other tenants share -> 429.
+// 3. Adaptive concurrency limit across all clients that shrinks as latency rises -> 503.
+//    Exports hold a slot while they stream but their duration is not taken as a latency sample.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String API_KEY_HEADER = "X-API-Key";
+    private static final String EXPORT_URI = "/api/employees/export";
+
+    private final ClientRateLimiter clientRateLimiter;
+    private final ClientRateLimiter tenantRateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final ObjectMapper objectMapper;
+    private final int lookupCost;
+    private final int listingCost;
+    private final int searchCost;
+    private final int batchLookupCost;
+    private final int writeCost;
+
+    @Autowired
+    public RateLimitFilter(ObjectMapper objectMapper,
+                           @Value("${app.rate-limit.permits-per-second:200}") double permitsPerSecond,
+                           @Value("${app.rate-limit.burst:400}") int burst,
+                           @Value("${app.rate-limit.max-clients:10000}") int maxClients,
+                           @Value("${app.rate-limit.tenant.permits-per-second:1000}") double tenantPermitsPerSecond,
+                           @Value("${app.rate-limit.tenant.burst:2000}") int tenantBurst,
+                           @Value("${app.rate-limit.tenant.max-tenants:1000}") int maxTenants,
+                           @Value("${app.rate-limit.cost.lookup:1}") int lookupCost,
+                           @Value("${app.rate-limit.cost.listing:50}") int listingCost,
+                           @Value("${app.rate-limit.cost.search:5}") int searchCost,
+                           @Value("${app.rate-limit.cost.batch-lookup:20}") int batchLookupCost,
+                           @Value("${app.rate-limit.cost.write:2}") int writeCost,
+                           @Value("${app.rate-limit.concurrency.initial:100}") int initialConcurrency,
+                           @Value("${app.rate-limit.concurrency.min:10}") int minConcurrency,
+                           @Value("${app.rate-limit.concurrency.max:400}") int maxConcurrency,
+                           @Value("${app.rate-limit.concurrency.latency-tolerance:2.0}") double latencyTolerance,
+                           @Value("${app.rate-limit.concurrency.window-ms:1000}") long windowMillis) {
+        this.objectMapper = objectMapper;
+        this.clientRateLimiter = new ClientRateLimiter(permitsPerSecond, burst, maxClients);
+        this.tenantRateLimiter = new ClientRateLimiter(tenantPermitsPerSecond, tenantBurst, maxTenants);
+        this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(
+                initialConcurrency, minConcurrency, maxConcurrency, latencyTolerance, windowMillis);
+        this.lookupCost = lookupCost;
+        this.listingCost = listingCost;
+        this.searchCost = searchCost;
+        this.batchLookupCost = batchLookupCost;
+        this.writeCost = writeCost;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        int cost = costOf(request);
+        long waitNanos = clientRateLimiter.tryAcquire(clientKey(request), cost);
+        if (waitNanos > 0) {
+            reject(request, response, HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds(waitNanos),
+                    "Rate limit exceeded for this client");
+            return;
+        }
+        waitNanos = tenantRateLimiter.tryAcquire(TenantContext.current(), cost);
+        if (waitNanos > 0) {
+            reject(request, response, HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds(waitNanos),
+                    "Request quota exceeded for this tenant");
+            return;
+        }
+
+        if (!concurrencyLimiter.tryAcquire()) {
+            reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, 1,
+                    "Server is shedding load, please retry");
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Reactive endpoints finish on another thread; keep the slot until the response completes
+                request.getAsyncContext().addListener(new ReleaseOnComplete(start));
+            } else if (request.getRequestURI().equals(EXPORT_URI)) {
+                concurrencyLimiter.release();
+            } else {
+                concurrencyLimiter.release(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        return apiKey != null && !apiKey.isBlank() ? apiKey : request.getRemoteAddr();
+    }
+
+    private int costOf(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri.equals("/api/employees/lookup")) {
+            return batchLookupCost;
+        }
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return writeCost;
+        }
+        if (uri.equals("/api/employees")) {
+            // Only search criteria turn the listing into a bounded, paginated search
+            return isSearch(request) ? searchCost : listingCost;
+        }
+        if (uri.equals("/api/reactive/employees") || uri.equals(EXPORT_URI)) {
+            return listingCost;
+        }
+        return lookupCost;
+    }
+
+    // Binds the parameters the way EmployeeController's @ModelAttribute does, so unrelated ones
+    // (e.g. fields) leave the request a full listing. Unconvertible values bind as absent.
+    private static boolean isSearch(HttpServletRequest request) {
+        if (request.getQueryString() == null) {
+            return false;
+        }
+        EmployeeSearchRequest criteria = new EmployeeSearchRequest();
+        new ServletRequestDataBinder(criteria).bind(request);
+        return !criteria.isEmpty();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                        long retryAfterSeconds, String message) throws IOException {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                status.value(),
+                status.getReasonPhrase(),
+                message,
+                request.getRequestURI()
+        );
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private class ReleaseOnComplete implements AsyncListener {
+
+        private final long start;
+
+        ReleaseOnComplete(long start) {
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            concurrencyLimiter.release(System.nanoTime() - start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,398 @@
+package com.arqonz.employee.fulltext;
+
+import com.arqonz.employee.dto.EmployeeResponse;
+import com.arqonz.employee.dto.FullTextSearchResponse;
+import com.arqonz.employee.model.Employee;
+import com.arqonz.employee.repository.EmployeeRepository;
+import com.arqonz.employee.service.EmployeeChangedEvent;
+import com.arqonz.employee.tenant.TenantContext;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopScoreDocCollector;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Embedded Lucene index over first name, last name, email and address (app.fulltext.enabled),
+// for ranked word and prefix search that exact-match lookups and LIKE scans cannot serve.
+// Documents store the whole row, so searches never touch the database. The index follows
+// committed mutations via EmployeeChangedEvent and is near-real-time: writes become searchable
+// at the next refresh (app.fulltext.refresh-interval-ms). A clean shutdown records the database
+// fingerprint in the index commit; on restart the on-disk index is reused as-is only when the
+// database still has that fingerprint, else rebuilt. Changes committed while the index is
+// loading are queued and applied once it is built.
+// One index serves all tenants: every document carries its tenant and every search is filtered
+// to the current one.
+@Component
+public class EmployeeFullTextIndex {
+
+    // Hits a query can page through (page * size + size)
+    public static final int MAX_RESULT_WINDOW = 10_000;
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeFullTextIndex.class);
+    private static final int LOAD_PAGE_SIZE = 1000;
+    private static final int MAX_QUERY_TERMS = 16;
+    // Last query word also matches as a prefix ("spring" finds "Springfield"), scored below exact words
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final float PREFIX_BOOST = 0.5f;
+
+    private static final String ID = "id";
+    private static final String TENANT = "tenant";
+    private static final String FIRST_NAME = "firstName";
+    private static final String LAST_NAME = "lastName";
+    private static final String EMAIL = "email";
+    private static final String PHONE = "phone";
+    private static final String ADDRESS = "address";
+    private static final Map<String, Float> FIELD_BOOSTS = new LinkedHashMap<>();
+    // Commit user data key for the database fingerprint the index was closed in sync with
+    private static final String FINGERPRINT = "fingerprint";
+
+    static {
+        FIELD_BOOSTS.put(FIRST_NAME, 3f);
+        FIELD_BOOSTS.put(LAST_NAME, 3f);
+        FIELD_BOOSTS.put(EMAIL, 1.5f);
+        FIELD_BOOSTS.put(ADDRESS, 1f);
+    }
+
+    private final EmployeeRepository employeeRepository;
+    private final boolean enabled;
+    private final Path path;
+    private final boolean reloadOnStartup;
+    private final Analyzer analyzer = new StandardAnalyzer();
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private volatile boolean ready;
+    // Non-null while load() runs; guarded by itself
+    private final Object changesLock = new Object();
+    private List<EmployeeChangedEvent> pendingChanges;
+
+    @Autowired
+    public EmployeeFullTextIndex(EmployeeRepository employeeRepository,
+                                 @Value("${app.fulltext.enabled:true}") boolean enabled,
+                                 @Value("${app.fulltext.path:./data/fulltext}") String path,
+                                 @Value("${app.fulltext.reload-on-startup:true}") boolean reloadOnStartup) {
+        this.employeeRepository = employeeRepository;
+        this.enabled = enabled;
+        this.path = Path.of(path);
+        this.reloadOnStartup = reloadOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        // Queue from before the database is read, so every change is either in the rows read or
+        // applied afterwards (applying one twice is harmless: documents are keyed by id)
+        synchronized (changesLock) {
+            pendingChanges = new ArrayList<>();
+        }
+        try {
+            open(start);
+        } finally {
+            synchronized (changesLock) {
+                pendingChanges = null;
+            }
+        }
+    }
+
+    private void open(long start) throws IOException {
+        directory = FSDirectory.open(path);
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        // Cleared until the next clean close, so a crash or a change made while the index was
+        // down forces a rebuild. Indexes written without a fingerprint are rebuilt too.
+        String syncedFingerprint = committedFingerprint();
+        writer.setLiveCommitData(Map.<String, String>of().entrySet());
+        writer.commit();
+        if (reloadOnStartup && databaseFingerprint().equals(syncedFingerprint)) {
+            log.info("Full-text index reopened with {} employees from {} in {} ms",
+                    writer.getDocStats().numDocs, path, (System.nanoTime() - start) / 1_000_000);
+        } else {
+            writer.deleteAll();
+            loadFromDatabase();
+            writer.commit();
+            log.info("Full-text index built for {} employees in {} ms",
+                    writer.getDocStats().numDocs, (System.nanoTime() - start) / 1_000_000);
+        }
+        searcherManager = new SearcherManager(writer, null);
+        int applied = 0;
+        while (true) {
+            List<EmployeeChangedEvent> changes;
+            synchronized (changesLock) {
+                if (pendingChanges.isEmpty()) {
+                    // Later changes see ready and apply directly
+                    pendingChanges = null;
+                    ready = true;
+                    break;
+                }
+                changes = pendingChanges;
+                pendingChanges = new ArrayList<>();
+            }
+            for (EmployeeChangedEvent change : changes) {
+                apply(change);
+            }
+            applied += changes.size();
+        }
+        if (applied > 0) {
+            searcherManager.maybeRefresh();
+            log.info("Full-text index applied {} changes committed while it was loading", applied);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public FullTextSearchResponse search(String tenantId, String text, int page, int size) throws IOException {
+        if (!ready) {
+            throw new IllegalStateException("Full-text index is not available");
+        }
+        Query query = new BooleanQuery.Builder()
+                .add(buildQuery(text), BooleanClause.Occur.MUST)
+                .add(new TermQuery(new Term(TENANT, tenantId)), BooleanClause.Occur.FILTER)
+                .build();
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopScoreDocCollector collector = TopScoreDocCollector.create((page + 1) * size, MAX_RESULT_WINDOW);
+            searcher.search(query, collector);
+            TopDocs top = collector.topDocs(page * size, size);
+            StoredFields storedFields = searcher.storedFields();
+            List<FullTextSearchResponse.Hit> hits = new ArrayList<>(top.scoreDocs.length);
+            for (ScoreDoc scoreDoc : top.scoreDocs) {
+                hits.add(new FullTextSearchResponse.Hit(scoreDoc.score, toResponse(storedFields.document(scoreDoc.doc))));
+            }
+            return new FullTextSearchResponse(hits, top.totalHits.value,
+                    top.totalHits.relation == TotalHits.Relation.EQUAL_TO, page, size);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (changesLock) {
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+                return;
+            }
+        }
+        if (!ready) {
+            return;
+        }
+        try {
+            apply(event);
+        } catch (IOException ex) {
+            // Missing updates would make results silently wrong; searches fail until the next restart
+            ready = false;
+            log.error("Full-text index disabled after a write failure", ex);
+        }
+    }
+
+    private void apply(EmployeeChangedEvent event) throws IOException {
+        if (event.isDelete()) {
+            writer.deleteDocuments(new Term(ID, String.valueOf(event.getBefore().getId())));
+        } else {
+            writer.updateDocument(new Term(ID, String.valueOf(event.getAfter().getId())),
+                    toDocument(event.getTenantId(), event.getAfter()));
+        }
+    }
+
+    // Makes writes since the last refresh visible to searches
+    @Scheduled(fixedDelayString = "${app.fulltext.refresh-interval-ms:1000}")
+    public void refresh() throws IOException {
+        if (ready) {
+            searcherManager.maybeRefresh();
+        }
+    }
+
+    // Durability point for the on-disk index between restarts; commits carry no fingerprint, so
+    // the index is only reused after a clean close
+    @Scheduled(fixedDelayString = "${app.fulltext.commit-interval-ms:60000}")
+    public void commit() throws IOException {
+        if (ready && writer.hasUncommittedChanges()) {
+            writer.commit();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        // An index that lost a write must not be reused
+        boolean intact = ready;
+        ready = false;
+        if (searcherManager != null) {
+            searcherManager.close();
+            searcherManager = null;
+        }
+        if (writer != null) {
+            if (intact) {
+                try {
+                    writer.setLiveCommitData(Map.of(FINGERPRINT, databaseFingerprint()).entrySet());
+                } catch (RuntimeException ex) {
+                    log.warn("Full-text index closed without a database fingerprint; it will be rebuilt on the next start", ex);
+                }
+            }
+            writer.close();
+            writer = null;
+        }
+        if (directory != null) {
+            directory.close();
+            directory = null;
+        }
+    }
+
+    // Every word must match in some field; names weigh more than email and address
+    Query buildQuery(String text) throws IOException {
+        List<String> words = analyze(text == null ? "" : splitEmail(text));
+        if (words.isEmpty()) {
+            throw new IllegalArgumentException("q must contain at least one word");
+        }
+        if (words.size() > MAX_QUERY_TERMS) {
+            throw new IllegalArgumentException("q must contain at most " + MAX_QUERY_TERMS + " words");
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (int i = 0; i < words.size(); i++) {
+            String word = words.get(i);
+            boolean prefix = i == words.size() - 1 && word.length() >= MIN_PREFIX_LENGTH;
+            BooleanQuery.Builder anyField = new BooleanQuery.Builder();
+            for (Map.Entry<String, Float> field : FIELD_BOOSTS.entrySet()) {
+                Term term = new Term(field.getKey(), word);
+                anyField.add(new BoostQuery(new TermQuery(term), field.getValue()), BooleanClause.Occur.SHOULD);
+                if (prefix) {
+                    anyField.add(new BoostQuery(new PrefixQuery(term), field.getValue() * PREFIX_BOOST),
+                            BooleanClause.Occur.SHOULD);
+                }
+            }
+            query.add(anyField.build(), BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+
+    private List<String> analyze(String text) throws IOException {
+        List<String> words = new ArrayList<>();
+        try (TokenStream tokens = analyzer.tokenStream(ADDRESS, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                words.add(term.toString());
+            }
+            tokens.end();
+        }
+        return words;
+    }
+
+    private String committedFingerprint() {
+        Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) {
+                if (FINGERPRINT.equals(entry.getKey())) {
+                    return entry.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    // The (count, max id, row hash sum) fingerprint over every tenant's rows
+    private String databaseFingerprint() {
+        return Arrays.stream(employeeRepository.fingerprint(TenantContext.ALL_TENANTS).get(0))
+                .map(String::valueOf)
+                .collect(Collectors.joining(":"));
+    }
+
+    private void loadFromDatabase() throws IOException {
+        long afterId = 0L;
+        List<Employee> page;
+        do {
+            try (TenantContext.Scope ignored = TenantContext.enter(TenantContext.ALL_TENANTS)) {
+                page = employeeRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            }
+            for (Employee employee : page) {
+                writer.addDocument(toDocument(employee.getTenantId(), new EmployeeResponse(employee.getId(),
+                        employee.getFirstName(), employee.getLastName(), employee.getEmail(), employee.getPhone(),
+                        employee.getAddress())));
+                afterId = employee.getId();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+    }
+
+    private static Document toDocument(String tenantId, EmployeeResponse employee) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(employee.getId()), Field.Store.YES));
+        document.add(new StringField(TENANT, tenantId, Field.Store.NO));
+        addText(document, FIRST_NAME, employee.getFirstName());
+        addText(document, LAST_NAME, employee.getLastName());
+        addText(document, ADDRESS, employee.getAddress());
+        if (employee.getEmail() != null) {
+            document.add(new TextField(EMAIL, splitEmail(employee.getEmail()), Field.Store.NO));
+            document.add(new StoredField(EMAIL, employee.getEmail()));
+        }
+        if (employee.getPhone() != null) {
+            document.add(new StoredField(PHONE, employee.getPhone()));
+        }
+        return document;
+    }
+
+    private static void addText(Document document, String field, String value) {
+        if (value != null) {
+            document.add(new TextField(field, value, Field.Store.YES));
+        }
+    }
+
+    private static EmployeeResponse toResponse(Document document) {
+        return new EmployeeResponse(Long.parseLong(document.get(ID)), document.get(FIRST_NAME),
+                document.get(LAST_NAME), document.get(EMAIL), document.get(PHONE), document.get(ADDRESS));
+    }
+
+    // "john.doe@example.com" -> "john doe example com"; applied to queries too, so both sides agree
+    private static String splitEmail(String text) {
+        return text.replace('.', ' ').replace('@', ' ').replace('_', ' ').replace('+', ' ');
+    }
+}
@@ -1,23 +1,52 @@
 package com.arqonz.employee.model;
 
+import com.arqonz.employee.tenant.TenantContext;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
 
 @Entity
-@Table(name = "employees")
+// Every query runs within one tenant, so the lookup and search indexes lead with tenant_id and
+// emails are unique among a tenant's live (not soft-deleted) employees
+@Table(name = "employees", indexes = {
+        @Index(name = "idx_employees_tenant_email_normalized", columnList = "tenant_id, email_normalized"),
+        @Index(name = "idx_employees_tenant_email", columnList = "tenant_id, email"),
+        @Index(name = "idx_employees_tenant_first_name", columnList = "tenant_id, first_name"),
+        @Index(name = "idx_employees_tenant_last_name", columnList = "tenant_id, last_name"),
+        @Index(name = "idx_employees_tenant_phone", columnList = "tenant_id, phone"),
+        @Index(name = "idx_employees_tenant_id", columnList = "tenant_id, id"),
+        @Index(name = "idx_employees_deleted_at", columnList = "deleted_at")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_employees_tenant_live_email", columnNames = {"tenant_id", "live_email_normalized"})
+})
+// Soft-deleted rows (deleted_at set) are hidden from every HQL, criteria and derived query;
+// native queries must filter on deleted_at themselves
+@SQLRestriction("deleted_at IS NULL")
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class Employee {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Set from TenantContext on insert and never changed; rows inserted over plain JDBC without
+    // it belong to the default tenant
+    @TenantId
+    @ColumnDefault("'" + TenantContext.DEFAULT_TENANT + "'")
+    @Column(name = "tenant_id", nullable = false, updatable = false, length = TenantContext.MAX_LENGTH)
+    private String tenantId;
+
     @NotBlank(message = "First name is required")
     @Column(name = "first_name", nullable = false)
     private String firstName;
@@ -27,14 +56,46 @@ public class Employee {
 
     @NotBlank(message = "Email is required")
     @Email(message = "Email should be valid")
-    @Column(name = "email", nullable = false, unique = true)
+    @Column(name = "email", nullable = false)
     private String email;
 
+    // Lookup key for every email query: trimmed and lowercased, kept in step with email by setEmail
+    @Setter(AccessLevel.NONE)
+    @Column(name = "email_normalized", nullable = false)
+    private String emailNormalized;
+
     @Column(name = "phone")
     private String phone;
 
     @Column(name = "address")
     private String address;
-}
 
+    // Set by a soft delete; the row is hard-deleted later by SoftDeletePurger
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
 
+    // Computed by the database: email_normalized while the row is live, NULL once soft-deleted.
+    // The unique key on it ignores NULLs, so a deleted employee's email is free to be reused.
+    @Setter(AccessLevel.NONE)
+    @Column(name = "live_email_normalized", insertable = false, updatable = false, columnDefinition =
+            "VARCHAR(255) GENERATED ALWAYS AS (CASE WHEN deleted_at IS NULL THEN email_normalized END)")
+    private String liveEmailNormalized;
+
+    public Employee(Long id, String firstName, String lastName, String email, String phone, String address) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        setEmail(email);
+        this.phone = phone;
+        this.address = address;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+        this.emailNormalized = normalizeEmail(email);
+    }
+
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
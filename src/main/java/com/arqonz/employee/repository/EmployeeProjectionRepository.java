@@ -0,0 +1,18 @@
+package com.arqonz.employee.repository;
+
+import com.arqonz.employee.model.Employee;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+
+// Dynamic projections for sparse fieldsets, mixed into EmployeeRepository.
+// FluentQuery.project() only sets a fetch graph, which still selects every column of Employee,
+// so this builds a criteria tuple query over just the requested attributes.
+public interface EmployeeProjectionRepository {
+
+    // Employees matching spec with only the given attributes (Employee field names) set; the
+    // returned objects are detached and every other attribute is null. A limit of 0 means no limit.
+    List<Employee> findProjected(Specification<Employee> spec, Collection<String> attributes, Sort sort, int limit);
+}
@@ -0,0 +1,80 @@
+package com.arqonz.employee.repository;
+
+import com.arqonz.employee.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+class EmployeeProjectionRepositoryImpl implements EmployeeProjectionRepository {
+
+    private static final Set<String> ATTRIBUTES = Set.of("id", "firstName", "lastName", "email", "phone", "address");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Employee> findProjected(Specification<Employee> spec, Collection<String> attributes, Sort sort, int limit) {
+        if (attributes.isEmpty() || !ATTRIBUTES.containsAll(attributes)) {
+            throw new IllegalArgumentException("Cannot project " + attributes + ", attributes must be among " + ATTRIBUTES);
+        }
+        List<String> selected = List.copyOf(attributes);
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Employee> root = query.from(Employee.class);
+        List<Selection<?>> selections = new ArrayList<>(selected.size());
+        for (String attribute : selected) {
+            selections.add(root.get(attribute));
+        }
+        query.multiselect(selections);
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        }
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (limit > 0) {
+            typedQuery.setMaxResults(limit);
+        }
+
+        List<Tuple> rows = typedQuery.getResultList();
+        List<Employee> employees = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Employee employee = new Employee();
+            for (int i = 0; i < selected.size(); i++) {
+                set(employee, selected.get(i), row.get(i));
+            }
+            employees.add(employee);
+        }
+        return employees;
+    }
+
+    private static void set(Employee employee, String attribute, Object value) {
+        switch (attribute) {
+            case "id" -> employee.setId((Long) value);
+            case "firstName" -> employee.setFirstName((String) value);
+            case "lastName" -> employee.setLastName((String) value);
+            case "email" -> employee.setEmail((String) value);
+            case "phone" -> employee.setPhone((String) value);
+            case "address" -> employee.setAddress((String) value);
+            default -> throw new IllegalStateException("Unexpected attribute " + attribute);
+        }
+    }
+}
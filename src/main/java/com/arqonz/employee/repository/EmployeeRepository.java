@@ -1,19 +1,35 @@
 package com.arqonz.employee.repository;
 
 import com.arqonz.employee.model.Employee;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee>,
+        EmployeeProjectionRepository {
+    
+    // Soft-deleted rows are filtered out by @SQLRestriction on Employee, except in native queries,
+    // which add "deleted_at IS NULL" themselves
+    
+    // Queries are restricted to the current tenant by @TenantId on Employee, except native queries,
+    // which take the tenant (TenantContext.current()) as a parameter
+    
+    // Email lookups take the normalized key (Employee.normalizeEmail) and use the (tenant_id,
+    // email_normalized) index; only live rows are unique on it
     
     // HQL Query - Find by Email
-    @Query("SELECT e FROM Employee e WHERE e.email = :email")
+    @Query("SELECT e FROM Employee e WHERE e.emailNormalized = :email")
     Optional<Employee> findByEmailUsingHQL(@Param("email") String email);
     
     // HQL Query - Find by Name (first name)
@@ -21,14 +37,64 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSp
     Optional<Employee> findByNameUsingHQL(@Param("name") String name);
     
     // Native SQL Query - Find by Email
-    @Query(value = "SELECT * FROM employees WHERE email = :email", nativeQuery = true)
-    Optional<Employee> findByEmailUsingNativeSQL(@Param("email") String email);
+    @Query(value = "SELECT * FROM employees WHERE tenant_id = :tenantId AND email_normalized = :email "
+            + "AND deleted_at IS NULL", nativeQuery = true)
+    Optional<Employee> findByEmailUsingNativeSQL(@Param("tenantId") String tenantId, @Param("email") String email);
     
     // Native SQL Query - Find by Name (first name)
-    @Query(value = "SELECT * FROM employees WHERE first_name = :name", nativeQuery = true)
-    Optional<Employee> findByNameUsingNativeSQL(@Param("name") String name);
+    @Query(value = "SELECT * FROM employees WHERE tenant_id = :tenantId AND first_name = :name "
+            + "AND deleted_at IS NULL", nativeQuery = true)
+    Optional<Employee> findByNameUsingNativeSQL(@Param("tenantId") String tenantId, @Param("name") String name);
+    
+    // Batch lookup - Find all by a chunk of normalized emails
+    List<Employee> findByEmailNormalizedIn(Collection<String> emails);
+    
+    // Aggregates for statistics reconciliation, per tenant: rows of (tenantId, [key,] count)
+    @Query("SELECT e.tenantId, COUNT(e) FROM Employee e GROUP BY e.tenantId")
+    List<Object[]> countByTenant();
+    
+    @Query("SELECT e.tenantId, COUNT(e) FROM Employee e WHERE e.phone IS NULL OR e.phone = '' GROUP BY e.tenantId")
+    List<Object[]> countMissingPhone();
+    
+    @Query("SELECT e.tenantId, COUNT(e) FROM Employee e WHERE e.address IS NULL OR e.address = '' GROUP BY e.tenantId")
+    List<Object[]> countMissingAddress();
     
-    // Standard JPA method for checking existence
-    boolean existsByEmail(String email);
+    // Domain as EmployeeStatistics.domainOf splits it: after the last '@', empty when there is none
+    @Query("SELECT e.tenantId, LOWER(FUNCTION('REGEXP_REPLACE', e.email, '^[^@]*$|^.*@', '')), COUNT(e) "
+            + "FROM Employee e "
+            + "GROUP BY e.tenantId, LOWER(FUNCTION('REGEXP_REPLACE', e.email, '^[^@]*$|^.*@', ''))")
+    List<Object[]> countByEmailDomain();
+    
+    @Query("SELECT e.tenantId, UPPER(SUBSTRING(e.lastName, 1, 1)), COUNT(e) FROM Employee e "
+            + "GROUP BY e.tenantId, UPPER(SUBSTRING(e.lastName, 1, 1))")
+    List<Object[]> countByLastNameInitial();
+    
+    // Keyset page - next rows after the given id, in id order
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
+    // Keyset page of ids only, for cutting full scans into ranges of equal row counts
+    @Query("SELECT e.id FROM Employee e WHERE e.id > :afterId ORDER BY e.id")
+    List<Long> findIdsAfter(@Param("afterId") long afterId, Pageable pageable);
+    
+    // Fingerprint of a tenant's rows, or of every tenant's for TenantContext.ALL_TENANTS: a single
+    // row of (count, max id, sum of per-row hashes). Any insert, update or delete of a row changes
+    // it; nulls hash apart from empty strings.
+    @Query(value = "SELECT COUNT(*), COALESCE(MAX(id), 0), COALESCE(SUM(ORA_HASH(CONCAT_WS(CHAR(31), id, "
+            + "COALESCE(first_name, CHAR(0)), COALESCE(last_name, CHAR(0)), email, "
+            + "COALESCE(phone, CHAR(0)), COALESCE(address, CHAR(0))))), 0) FROM employees "
+            + "WHERE (:tenantId = '*' OR tenant_id = :tenantId) AND deleted_at IS NULL", nativeQuery = true)
+    List<Object[]> fingerprint(@Param("tenantId") String tenantId);
+    
+    // Most recently soft-deleted employee by normalized email, for restore (an email reused after a
+    // delete can have several)
+    @Query(value = "SELECT * FROM employees WHERE tenant_id = :tenantId AND email_normalized = :email "
+            + "AND deleted_at IS NOT NULL ORDER BY deleted_at DESC, id DESC LIMIT 1", nativeQuery = true)
+    Optional<Employee> findDeletedByEmail(@Param("tenantId") String tenantId, @Param("email") String email);
+    
+    // Hard-deletes, across all tenants, up to :limit rows soft-deleted before :cutoff, in one short transaction
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM employees WHERE id IN (SELECT id FROM employees "
+            + "WHERE deleted_at < :cutoff ORDER BY deleted_at LIMIT :limit)", nativeQuery = true)
+    int purgeDeletedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
 }
-
@@ -1,18 +1,84 @@
 package com.arqonz.employee.repository;
 
 import com.arqonz.employee.model.Employee;
+import jakarta.persistence.criteria.Path;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Collection;
+
 public class EmployeeSpecifications {
     
+    private static final char LIKE_ESCAPE = '\\';
+    
+    // Case-insensitive, served by the index on the normalized email
     public static Specification<Employee> hasEmail(String email) {
+        String normalized = Employee.normalizeEmail(email);
         return (root, query, criteriaBuilder) -> 
-            criteriaBuilder.equal(root.get("email"), email);
+            criteriaBuilder.equal(root.get("emailNormalized"), normalized);
+    }
+    
+    // Batch lookups: a chunk of normalized emails or of ids
+    public static Specification<Employee> emailIn(Collection<String> normalizedEmails) {
+        return (root, query, criteriaBuilder) -> root.get("emailNormalized").in(normalizedEmails);
+    }
+    
+    public static Specification<Employee> idIn(Collection<Long> ids) {
+        return (root, query, criteriaBuilder) -> root.get("id").in(ids);
     }
     
     public static Specification<Employee> hasName(String name) {
         return (root, query, criteriaBuilder) -> 
             criteriaBuilder.equal(root.get("firstName"), name);
     }
+    
+    public static Specification<Employee> hasLastName(String lastName) {
+        return (root, query, criteriaBuilder) -> 
+            criteriaBuilder.equal(root.get("lastName"), lastName);
+    }
+    
+    // Prefix match, which the phone index can serve as a range scan
+    public static Specification<Employee> phoneStartsWith(String prefix) {
+        return (root, query, criteriaBuilder) -> 
+            criteriaBuilder.like(root.get("phone"), escapeLike(prefix) + "%", LIKE_ESCAPE);
+    }
+    
+    // Case-insensitive substring match; cannot use an index, so only applied next to an indexed predicate
+    public static Specification<Employee> addressContains(String fragment) {
+        return (root, query, criteriaBuilder) -> 
+            criteriaBuilder.like(criteriaBuilder.lower(root.get("address")),
+                    "%" + escapeLike(fragment.toLowerCase()) + "%", LIKE_ESCAPE);
+    }
+    
+    // Inclusive id range, served by the primary key
+    public static Specification<Employee> idBetween(long from, long to) {
+        return (root, query, criteriaBuilder) -> 
+            criteriaBuilder.between(root.get("id"), from, to);
+    }
+    
+    // Keyset continuation: rows strictly after (value, id) in the given sort order
+    public static Specification<Employee> after(String field, Comparable<?> value, Long id, boolean descending) {
+        return (root, query, criteriaBuilder) -> {
+            if ("id".equals(field)) {
+                return descending
+                        ? criteriaBuilder.lessThan(root.get("id"), id)
+                        : criteriaBuilder.greaterThan(root.get("id"), id);
+            }
+            Path<Comparable<Object>> sortPath = root.get(field);
+            @SuppressWarnings("unchecked")
+            Comparable<Object> sortValue = (Comparable<Object>) value;
+            return descending
+                    ? criteriaBuilder.or(
+                            criteriaBuilder.lessThan(sortPath, sortValue),
+                            criteriaBuilder.and(criteriaBuilder.equal(sortPath, sortValue),
+                                    criteriaBuilder.lessThan(root.get("id"), id)))
+                    : criteriaBuilder.or(
+                            criteriaBuilder.greaterThan(sortPath, sortValue),
+                            criteriaBuilder.and(criteriaBuilder.equal(sortPath, sortValue),
+                                    criteriaBuilder.greaterThan(root.get("id"), id)));
+        };
+    }
+    
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
 }
-
@@ -0,0 +1,72 @@
+package com.arqonz.employee.seed;
+
+import com.arqonz.employee.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Locale;
+
+// Seeds the database with generated employees at startup (seed profile).
+// Runs right after the snapshot restore and before the other ApplicationRunners (such as the prod
+// warm-up) and ApplicationReadyEvent, so the directory snapshot and statistics see the seeded rows.
+@Component
+@Profile("seed")
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class DatasetSeeder implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetSeeder.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeDataLoader loader;
+    private final long count;
+    private final long randomSeed;
+    private final double skew;
+    private final int uniqueNameEvery;
+    private final EmployeeDataLoader.Mode mode;
+    private final int batchSize;
+    private final boolean skipIfPresent;
+
+    @Autowired
+    public DatasetSeeder(EmployeeRepository employeeRepository,
+                         DataSource dataSource,
+                         @Value("${app.seed.count:1000000}") long count,
+                         @Value("${app.seed.random-seed:42}") long randomSeed,
+                         @Value("${app.seed.skew:1.1}") double skew,
+                         @Value("${app.seed.unique-name-every:10}") int uniqueNameEvery,
+                         @Value("${app.seed.mode:csv}") String mode,
+                         @Value("${app.seed.batch-size:5000}") int batchSize,
+                         @Value("${app.seed.skip-if-present:true}") boolean skipIfPresent) {
+        this.employeeRepository = employeeRepository;
+        this.loader = new EmployeeDataLoader(dataSource);
+        this.count = count;
+        this.randomSeed = randomSeed;
+        this.skew = skew;
+        this.uniqueNameEvery = uniqueNameEvery;
+        this.mode = EmployeeDataLoader.Mode.valueOf(mode.toUpperCase(Locale.ROOT));
+        this.batchSize = batchSize;
+        this.skipIfPresent = skipIfPresent;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long existing = employeeRepository.count();
+        if (skipIfPresent && existing > 0) {
+            log.info("Seeding skipped, {} employees already present", existing);
+            return;
+        }
+        long start = System.nanoTime();
+        EmployeeDataGenerator generator = new EmployeeDataGenerator(randomSeed, skew, uniqueNameEvery);
+        long inserted = loader.load(generator, existing + 1, count, mode, batchSize);
+        log.info("Seeded {} employees ({} mode) in {} ms", inserted, mode.name().toLowerCase(Locale.ROOT),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+}
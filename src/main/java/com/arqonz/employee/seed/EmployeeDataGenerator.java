@@ -0,0 +1,144 @@
+package com.arqonz.employee.seed;
+
+import com.arqonz.employee.model.Employee;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+// Deterministic synthetic employees. Row n depends only on the seed and n, so rows can be
+// generated in any order (or in parallel) and a test can recompute the email of row n without
+// keeping the dataset in memory.
+//
+// First names, last names and email domains follow a Zipf distribution, so a few common names
+// cover a large share of rows, as in a real directory. Every `uniqueNameEvery`-th row instead gets a
+// synthesized first name that no other row has, giving name lookups unambiguous targets.
+// Emails and phone numbers are unique per row; some rows have no phone or address.
+public final class EmployeeDataGenerator {
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "William", "Elizabeth",
+            "David", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+            "Christopher", "Nancy", "Daniel", "Lisa", "Matthew", "Betty", "Anthony", "Margaret", "Mark", "Sandra",
+            "Donald", "Ashley", "Steven", "Kimberly", "Paul", "Emily", "Andrew", "Donna", "Joshua", "Michelle",
+            "Kenneth", "Dorothy", "Kevin", "Carol", "Brian", "Amanda", "George", "Melissa", "Edward", "Deborah",
+            "Ronald", "Stephanie", "Timothy", "Rebecca", "Jason", "Sharon", "Jeffrey", "Laura", "Ryan", "Cynthia",
+            "Jacob", "Kathleen", "Gary", "Amy", "Nicholas", "Shirley", "Eric", "Angela", "Jonathan", "Helen",
+            "Stephen", "Anna", "Larry", "Brenda", "Justin", "Pamela", "Scott", "Nicole", "Brandon", "Emma",
+            "Priya", "Arjun", "Wei", "Mei", "Hiroshi", "Yuki", "Mohammed", "Fatima", "Carlos", "Sofia",
+            "Luca", "Giulia", "Lukas", "Hannah", "Olga", "Dmitri", "Aisha", "Kwame", "Ingrid", "Mateo"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+            "Walker", "Young", "Allen", "King", "Wright", "Scott", "Torres", "Nguyen", "Hill", "Flores",
+            "Green", "Adams", "Nelson", "Baker", "Hall", "Rivera", "Campbell", "Mitchell", "Carter", "Roberts",
+            "Patel", "Shah", "Kumar", "Singh", "Wang", "Li", "Zhang", "Chen", "Tanaka", "Sato",
+            "Kim", "Park", "Muller", "Schmidt", "Rossi", "Russo", "Silva", "Santos", "Ivanov", "Novak",
+            "O'Brien", "Murphy", "Kelly", "Dubois", "Moreau", "Jensen", "Hansen", "Larsen", "Okafor", "Mensah"
+    };
+
+    private static final String[] DOMAINS = {
+            "example.com", "corp.example.com", "mail.example.org", "example.net", "staff.example.io",
+            "partners.example.com", "contractors.example.org", "emea.example.com"
+    };
+
+    private static final String[] STREETS = {
+            "Main", "Oak", "Pine", "Maple", "Cedar", "Elm", "Washington", "Lake", "Hill", "Park",
+            "View", "Sunset", "Highland", "River", "Church", "Mill", "Forest", "Spring", "Meadow", "Ridge"
+    };
+
+    private static final String[] STREET_SUFFIXES = {"St", "Ave", "Rd", "Blvd", "Ln", "Dr", "Ct", "Way"};
+
+    private static final String[] CITIES = {
+            "Springfield", "Riverside", "Franklin", "Greenville", "Bristol", "Clinton", "Fairview", "Salem",
+            "Madison", "Georgetown", "Arlington", "Ashland", "Dover", "Oxford", "Jackson", "Burlington"
+    };
+
+    private static final String[] SYLLABLES = {
+            "ka", "lo", "ri", "ne", "ta", "vi", "so", "mu", "da", "re", "zi", "po", "la", "be", "qu", "xo"
+    };
+
+    private static final double MISSING_PHONE_RATE = 0.05;
+    private static final double MISSING_ADDRESS_RATE = 0.10;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final long seed;
+    private final int uniqueNameEvery;
+    private final ZipfSampler firstNames;
+    private final ZipfSampler lastNames;
+    private final ZipfSampler domains;
+
+    public EmployeeDataGenerator(long seed, double skew, int uniqueNameEvery) {
+        if (uniqueNameEvery < 1) {
+            throw new IllegalArgumentException("uniqueNameEvery must be at least 1");
+        }
+        this.seed = seed;
+        this.uniqueNameEvery = uniqueNameEvery;
+        this.firstNames = new ZipfSampler(FIRST_NAMES.length, skew);
+        this.lastNames = new ZipfSampler(LAST_NAMES.length, skew);
+        this.domains = new ZipfSampler(DOMAINS.length, skew);
+    }
+
+    public EmployeeDataGenerator(long seed) {
+        this(seed, 1.1, 10);
+    }
+
+    // Row n (1-based); the same generator always returns the same row for the same n
+    public Employee row(long n) {
+        SplittableRandom random = new SplittableRandom(seed + n * GOLDEN_GAMMA);
+
+        String firstName = hasUniqueFirstName(n) ? syllableName(n / uniqueNameEvery) : FIRST_NAMES[firstNames.sample(random)];
+        String lastName = LAST_NAMES[lastNames.sample(random)];
+        String email = (firstName + "." + lastName.replace("'", "")).toLowerCase(Locale.ROOT)
+                + "." + n + "@" + DOMAINS[domains.sample(random)];
+
+        String phone = random.nextDouble() < MISSING_PHONE_RATE ? null
+                : String.format("%03d%07d", 200 + (n / 10_000_000) % 800, n % 10_000_000);
+        String address = random.nextDouble() < MISSING_ADDRESS_RATE ? null
+                : (1 + random.nextInt(9999)) + " " + STREETS[random.nextInt(STREETS.length)] + " "
+                + STREET_SUFFIXES[random.nextInt(STREET_SUFFIXES.length)] + ", " + CITIES[random.nextInt(CITIES.length)];
+
+        return new Employee(null, firstName, lastName, email, phone, address);
+    }
+
+    public boolean hasUniqueFirstName(long n) {
+        return n % uniqueNameEvery == 0;
+    }
+
+    // Three or more syllables, one per base-16 digit of k; distinct k give distinct names
+    static String syllableName(long k) {
+        StringBuilder name = new StringBuilder();
+        do {
+            name.append(SYLLABLES[(int) (k & 15)]);
+            k >>>= 4;
+        } while (k > 0 || name.length() < 6);
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+
+    // Rank sampler for P(k) proportional to 1 / k^skew over a fixed number of values
+    static final class ZipfSampler {
+
+        private final double[] cumulative;
+
+        ZipfSampler(int size, double skew) {
+            cumulative = new double[size];
+            double total = 0;
+            for (int k = 0; k < size; k++) {
+                total += 1.0 / Math.pow(k + 1, skew);
+                cumulative[k] = total;
+            }
+            for (int k = 0; k < size; k++) {
+                cumulative[k] /= total;
+            }
+        }
+
+        int sample(SplittableRandom random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(cumulative.length - 1, index >= 0 ? index : -index - 1);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.arqonz.employee.seed;
+
+import com.arqonz.employee.model.Employee;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Bulk-loads generated employees over plain JDBC, bypassing JPA.
+//   batched: one prepared INSERT with addBatch/executeBatch, committed per batch
+//   csv:     rows are written to a temporary CSV file and inserted with a single
+//            INSERT ... SELECT FROM CSVREAD(...), which H2 executes without a round trip per row
+public class EmployeeDataLoader {
+
+    public enum Mode { BATCHED, CSV }
+
+    private static final String INSERT_SQL =
+            "INSERT INTO employees (first_name, last_name, email, email_normalized, phone, address) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String CSV_INSERT_SQL =
+            "INSERT INTO employees (first_name, last_name, email, email_normalized, phone, address) "
+                    + "SELECT first_name, last_name, email, LOWER(TRIM(email)), NULLIF(phone, ''), NULLIF(address, '') "
+                    + "FROM CSVREAD('%s', NULL, 'charset=UTF-8')";
+    private static final String CSV_HEADER = "first_name,last_name,email,phone,address";
+
+    private final DataSource dataSource;
+
+    public EmployeeDataLoader(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    // Inserts rows first..first+count-1 and returns the number of rows inserted
+    public long load(EmployeeDataGenerator generator, long first, long count, Mode mode, int batchSize)
+            throws SQLException, IOException {
+        return mode == Mode.CSV ? loadCsv(generator, first, count) : loadBatched(generator, first, count, batchSize);
+    }
+
+    public long loadBatched(EmployeeDataGenerator generator, long first, long count, int batchSize) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                for (long n = first; n < first + count; n++) {
+                    Employee employee = generator.row(n);
+                    statement.setString(1, employee.getFirstName());
+                    statement.setString(2, employee.getLastName());
+                    statement.setString(3, employee.getEmail());
+                    statement.setString(4, employee.getEmailNormalized());
+                    statement.setString(5, employee.getPhone());
+                    statement.setString(6, employee.getAddress());
+                    statement.addBatch();
+                    if ((n - first + 1) % batchSize == 0) {
+                        statement.executeBatch();
+                        connection.commit();
+                    }
+                }
+                statement.executeBatch();
+                connection.commit();
+            } catch (SQLException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+        return count;
+    }
+
+    public long loadCsv(EmployeeDataGenerator generator, long first, long count) throws SQLException, IOException {
+        Path csv = Files.createTempFile("employees-", ".csv");
+        try {
+            try (Writer writer = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+                writeCsv(generator, first, count, writer);
+            }
+            // CSVREAD needs the file name when the statement is prepared, so it cannot be a parameter
+            String sql = String.format(CSV_INSERT_SQL, csv.toAbsolutePath().toString().replace("'", "''"));
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                long inserted = statement.executeUpdate(sql);
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+                return inserted;
+            }
+        } finally {
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    // CSV with a header row; missing values are empty fields
+    public static void writeCsv(EmployeeDataGenerator generator, long first, long count, Writer out) throws IOException {
+        BufferedWriter writer = out instanceof BufferedWriter buffered ? buffered : new BufferedWriter(out);
+        writer.write(CSV_HEADER);
+        writer.newLine();
+        for (long n = first; n < first + count; n++) {
+            Employee employee = generator.row(n);
+            writer.write(field(employee.getFirstName()));
+            writer.write(',');
+            writer.write(field(employee.getLastName()));
+            writer.write(',');
+            writer.write(field(employee.getEmail()));
+            writer.write(',');
+            writer.write(field(employee.getPhone()));
+            writer.write(',');
+            writer.write(field(employee.getAddress()));
+            writer.newLine();
+        }
+        writer.flush();
+    }
+
+    private static String field(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.indexOf(',') >= 0 || value.indexOf('"') >= 0 ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+}
@@ -0,0 +1,75 @@
+package com.arqonz.employee.seed;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Command-line dataset generator, without starting the application:
+//
+//   java -cp target/employee-management-api-1.0.0.jar -Dloader.main=com.arqonz.employee.seed.SeedCommand \
+//        org.springframework.boot.loader.launch.PropertiesLauncher --count=1000000 [options]
+//
+//   --out=FILE             write CSV to FILE ("-" for stdout) instead of loading a database
+//   --jdbc-url=URL         database to load (default: the prod database, jdbc:h2:file:./data/employeedb)
+//   --user=, --password=   credentials (default sa / empty)
+//   --mode=csv|batched     load through H2 CSVREAD (default) or batched INSERTs
+//   --batch-size=N         rows per batch in batched mode (default 5000)
+//   --seed=N, --skew=S, --unique-name-every=N   generator settings (defaults 42, 1.1, 10)
+//
+// When loading, Flyway migrations are applied first, so an empty file database gets the prod schema.
+public final class SeedCommand {
+
+    private SeedCommand() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        long count = Long.parseLong(options.getOrDefault("count", "1000000"));
+        EmployeeDataGenerator generator = new EmployeeDataGenerator(
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                Double.parseDouble(options.getOrDefault("skew", "1.1")),
+                Integer.parseInt(options.getOrDefault("unique-name-every", "10")));
+
+        long start = System.nanoTime();
+        String out = options.get("out");
+        if (out != null) {
+            try (Writer writer = "-".equals(out)
+                    ? new OutputStreamWriter(System.out, StandardCharsets.UTF_8)
+                    : Files.newBufferedWriter(Path.of(out), StandardCharsets.UTF_8)) {
+                EmployeeDataLoader.writeCsv(generator, 1, count, writer);
+            }
+        } else {
+            DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                    options.getOrDefault("jdbc-url", "jdbc:h2:file:./data/employeedb"),
+                    options.getOrDefault("user", "sa"),
+                    options.getOrDefault("password", ""));
+            Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+            EmployeeDataLoader.Mode mode = EmployeeDataLoader.Mode.valueOf(
+                    options.getOrDefault("mode", "csv").toUpperCase(Locale.ROOT));
+            new EmployeeDataLoader(dataSource).load(generator, 1, count, mode,
+                    Integer.parseInt(options.getOrDefault("batch-size", "5000")));
+        }
+        if (!"-".equals(out)) {
+            System.out.printf("Generated %d employees in %d ms%n", count, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+}
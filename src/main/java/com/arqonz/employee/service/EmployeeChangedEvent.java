@@ -0,0 +1,34 @@
+package com.arqonz.employee.service;
+
+import com.arqonz.employee.dto.EmployeeResponse;
+import com.arqonz.employee.tenant.TenantContext;
+import lombok.Getter;
+
+// Published by EmployeeService for every committed mutation.
+// `before` is null for a create, `after` is null for a delete. The tenant is the one current
+// when the event was published.
+@Getter
+public class EmployeeChangedEvent {
+
+    private final String tenantId;
+    private final EmployeeResponse before;
+    private final EmployeeResponse after;
+
+    public EmployeeChangedEvent(EmployeeResponse before, EmployeeResponse after) {
+        this(TenantContext.current(), before, after);
+    }
+
+    public EmployeeChangedEvent(String tenantId, EmployeeResponse before, EmployeeResponse after) {
+        this.tenantId = tenantId;
+        this.before = before;
+        this.after = after;
+    }
+
+    public boolean isCreate() {
+        return before == null;
+    }
+
+    public boolean isDelete() {
+        return after == null;
+    }
+}
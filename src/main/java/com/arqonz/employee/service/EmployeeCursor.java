@@ -0,0 +1,61 @@
+package com.arqonz.employee.service;
+
+import com.arqonz.employee.model.Employee;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Opaque keyset cursor for paginated searches: the sort it belongs to plus the
+// sort value and id of the last row returned, encoded as URL-safe Base64.
+final class EmployeeCursor {
+
+    private static final String SEPARATOR = "\u0000";
+
+    private final String field;
+    private final boolean descending;
+    private final long id;
+    private final String value;
+
+    EmployeeCursor(String field, boolean descending, long id, String value) {
+        this.field = field;
+        this.descending = descending;
+        this.id = id;
+        this.value = value;
+    }
+
+    static EmployeeCursor after(Employee employee, String field, boolean descending) {
+        String value = switch (field) {
+            case "firstName" -> employee.getFirstName();
+            case "email" -> employee.getEmail();
+            default -> String.valueOf(employee.getId());
+        };
+        return new EmployeeCursor(field, descending, employee.getId(), value);
+    }
+
+    static EmployeeCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR, 4);
+            return new EmployeeCursor(parts[0], "desc".equals(parts[1]), Long.parseLong(parts[2]), parts[3]);
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    String encode() {
+        String raw = String.join(SEPARATOR, field, descending ? "desc" : "asc", String.valueOf(id), value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    boolean matches(String field, boolean descending) {
+        return this.field.equals(field) && this.descending == descending;
+    }
+
+    long getId() {
+        return id;
+    }
+
+    Comparable<?> getValue() {
+        return "id".equals(field) ? Long.valueOf(id) : value;
+    }
+}
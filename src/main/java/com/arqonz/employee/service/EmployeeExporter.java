@@ -0,0 +1,196 @@
+package com.arqonz.employee.service;
+
+import com.arqonz.employee.dto.EmployeeFields;
+import com.arqonz.employee.dto.EmployeeResponse;
+import com.arqonz.employee.model.Employee;
+import com.arqonz.employee.repository.EmployeeRepository;
+import com.arqonz.employee.repository.EmployeeSpecifications;
+import com.arqonz.employee.tenant.TenantContext;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Full-table export (GET /api/employees/export) as scatter-gather over id ranges.
+// The tenant's own ids are cut into ranges of app.export.chunk-size rows: the writer reads the
+// next chunk-size ids (ids only, from the (tenant_id, id) index) and the range ends at the last
+// of them. Ids are global, so a range of fixed id width would mostly cover other tenants' and
+// purged rows; these ranges hold a full chunk however sparse the tenant's ids are. Each range is
+// read and mapped by a worker on its own connection, up to app.export.chunks-in-flight ranges
+// ahead of the writer per export. The caller writes finished ranges in range order, so the output
+// is in id order and memory stays bounded by the in-flight ranges, however large the table.
+// Workers come from one pool of app.export.parallelism threads shared by all exports, capped at
+// half the connection pool so exports can never take every connection from request traffic.
+// Ranges are separate queries rather than one snapshot: a row changed mid-export shows up as it
+// was when its range was read, and no row is written twice.
+@Component
+public class EmployeeExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeExporter.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int chunksInFlight;
+    private final ExecutorService executor;
+
+    @Autowired
+    public EmployeeExporter(EmployeeRepository employeeRepository,
+                            ObjectMapper objectMapper,
+                            @Value("${app.export.parallelism:4}") int parallelism,
+                            @Value("${app.export.chunk-size:5000}") int chunkSize,
+                            @Value("${app.export.chunks-in-flight:8}") int chunksInFlight,
+                            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        if (parallelism < 1 || chunkSize < 1 || chunksInFlight < 1) {
+            throw new IllegalArgumentException("app.export parallelism, chunk-size and chunks-in-flight must be positive");
+        }
+        this.employeeRepository = employeeRepository;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.chunksInFlight = chunksInFlight;
+        int threads = Math.min(parallelism, Math.max(1, poolSize / 2));
+        if (threads < parallelism) {
+            log.warn("Export parallelism {} reduced to {}, half of the {} pooled connections", parallelism, threads, poolSize);
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "employee-export-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = pool;
+    }
+
+    // Writes every employee of the tenant to out as a JSON array in id order and returns how many
+    public long export(String tenantId, EmployeeFields fields, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        IdRanges ranges = new IdRanges(tenantId);
+        long exported = 0;
+        Deque<Future<List<EmployeeResponse>>> pending = new ArrayDeque<>();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // On failure the array stays unterminated, so a client cannot mistake a partial export
+            // for a complete one; the servlet container owns the stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            while (pending.size() < chunksInFlight && ranges.hasNext()) {
+                pending.add(submit(tenantId, fields, ranges.next()));
+            }
+            while (!pending.isEmpty()) {
+                List<EmployeeResponse> chunk = await(pending.poll());
+                // Keep the window full while this range is written
+                if (ranges.hasNext()) {
+                    pending.add(submit(tenantId, fields, ranges.next()));
+                }
+                for (EmployeeResponse employee : chunk) {
+                    generator.writeObject(employee);
+                }
+                exported += chunk.size();
+                generator.flush();
+            }
+            generator.writeEndArray();
+        } finally {
+            // A failed or abandoned export stops reading ahead. Workers are not interrupted: an
+            // interrupt during file I/O would make H2 close the database file.
+            for (Future<List<EmployeeResponse>> future : pending) {
+                future.cancel(false);
+            }
+        }
+        log.debug("Exported {} employees of tenant {} in {} ms", exported, tenantId,
+                (System.nanoTime() - start) / 1_000_000);
+        return exported;
+    }
+
+    private Future<List<EmployeeResponse>> submit(String tenantId, EmployeeFields fields, long[] range) {
+        return executor.submit(() -> {
+            try (TenantContext.Scope ignored = TenantContext.enter(tenantId)) {
+                List<Employee> rows = employeeRepository.findProjected(EmployeeSpecifications.idBetween(range[0], range[1]),
+                        EmployeeService.attributes(fields, "id"), Sort.by("id"), 0);
+                List<EmployeeResponse> employees = new ArrayList<>(rows.size());
+                for (Employee row : rows) {
+                    employees.add(fields.apply(EmployeeService.toResponse(row)));
+                }
+                return employees;
+            }
+        });
+    }
+
+    private static List<EmployeeResponse> await(Future<List<EmployeeResponse>> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Export interrupted");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    // Consecutive inclusive id ranges of up to chunk-size of the tenant's rows, found by keyset
+    // pages of ids. A range starts right after the previous one ends, so rows inserted into a
+    // gap are still exported once.
+    private final class IdRanges {
+
+        private final String tenantId;
+        private long afterId = Long.MIN_VALUE;
+        private long[] next;
+        private boolean exhausted;
+
+        private IdRanges(String tenantId) {
+            this.tenantId = tenantId;
+        }
+
+        boolean hasNext() {
+            if (next == null && !exhausted) {
+                List<Long> ids;
+                try (TenantContext.Scope ignored = TenantContext.enter(tenantId)) {
+                    ids = employeeRepository.findIdsAfter(afterId, PageRequest.of(0, chunkSize));
+                }
+                exhausted = ids.size() < chunkSize;
+                if (!ids.isEmpty()) {
+                    long last = ids.get(ids.size() - 1);
+                    next = new long[] {afterId + 1, last};
+                    afterId = last;
+                }
+            }
+            return next != null;
+        }
+
+        long[] next() {
+            long[] range = next;
+            next = null;
+            return range;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -1,96 +1,225 @@
 package com.arqonz.employee.service;
 
+import com.arqonz.employee.dto.BatchLookupRequest;
+import com.arqonz.employee.dto.BatchLookupResponse;
 import com.arqonz.employee.dto.CreateEmployeeRequest;
+import com.arqonz.employee.dto.EmployeeFields;
+import com.arqonz.employee.dto.EmployeePageResponse;
 import com.arqonz.employee.dto.EmployeeResponse;
+import com.arqonz.employee.dto.EmployeeSearchRequest;
+import com.arqonz.employee.dto.EmployeeHistoryResponse;
+import com.arqonz.employee.dto.EmployeeStatsResponse;
+import com.arqonz.employee.dto.FullTextSearchResponse;
 import com.arqonz.employee.dto.UpdateEmployeeRequest;
 import com.arqonz.employee.dto.UpdatePhoneRequest;
 import com.arqonz.employee.model.Employee;
 import com.arqonz.employee.repository.EmployeeRepository;
 import com.arqonz.employee.repository.EmployeeSpecifications;
+import com.arqonz.employee.tenant.TenantContext;
+import com.arqonz.employee.tracing.Span;
+import com.arqonz.employee.tracing.Tracer;
+import com.arqonz.employee.audit.AuditLog;
+import com.arqonz.employee.exception.ConflictException;
+import com.arqonz.employee.fulltext.EmployeeFullTextIndex;
 import jakarta.persistence.EntityNotFoundException;
+import com.arqonz.employee.cache.EmployeeCache;
+import com.arqonz.employee.cache.HotKeyTracker;
+import com.arqonz.employee.directory.DirectorySnapshot;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class EmployeeService {
     
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MIN_PHONE_PREFIX_LENGTH = 3;
+    // Only columns backed by an index (primary key, first_name, email) can drive a keyset sort;
+    // the id tie-break keeps pages stable
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "firstName", "email");
+    // Keys per IN (...) query in batch lookups
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+    // SQL standard "unique violation"; a live employee's normalized email (per tenant) is the only unique key besides the id
+    private static final String UNIQUE_VIOLATION_SQLSTATE = "23505";
+    
     private final EmployeeRepository employeeRepository;
+    private final DirectorySnapshot directorySnapshot;
+    private final EmployeeCache employeeCache;
+    private final HotKeyTracker hotKeyTracker;
+    private final LookupStrategyRouter lookupRouter;
+    private final EmployeeStatistics employeeStatistics;
+    private final EmployeeFullTextIndex fullTextIndex;
+    private final AuditLog auditLog;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean softDelete;
     
     @Autowired
-    public EmployeeService(EmployeeRepository employeeRepository) {
+    public EmployeeService(EmployeeRepository employeeRepository,
+                           DirectorySnapshot directorySnapshot,
+                           EmployeeCache employeeCache,
+                           HotKeyTracker hotKeyTracker,
+                           LookupStrategyRouter lookupRouter,
+                           EmployeeStatistics employeeStatistics,
+                           EmployeeFullTextIndex fullTextIndex,
+                           AuditLog auditLog,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${app.soft-delete.enabled:true}") boolean softDelete) {
         this.employeeRepository = employeeRepository;
+        this.directorySnapshot = directorySnapshot;
+        this.employeeCache = employeeCache;
+        this.hotKeyTracker = hotKeyTracker;
+        this.lookupRouter = lookupRouter;
+        this.employeeStatistics = employeeStatistics;
+        this.fullTextIndex = fullTextIndex;
+        this.auditLog = auditLog;
+        this.eventPublisher = eventPublisher;
+        this.softDelete = softDelete;
+    }
+    
+    // Fetch Employee by Email - strategy chosen by the caller (LookupStrategyRouter for the
+    // strategy-neutral endpoint)
+    public EmployeeResponse getEmployeeByEmail(String email, LookupStrategy strategy, EmployeeFields fields) {
+        return switch (strategy) {
+            case SPECIFICATIONS -> getEmployeeByEmailUsingSpecifications(email, fields);
+            case HQL -> getEmployeeByEmailUsingHQL(email, fields);
+            case NATIVE_SQL -> getEmployeeByEmailUsingNativeSQL(email, fields);
+        };
     }
     
     // Fetch Employee by Email - Using JPA Specifications
     public EmployeeResponse getEmployeeByEmailUsingSpecifications(String email) {
-        Specification<Employee> spec = EmployeeSpecifications.hasEmail(email);
-        Optional<Employee> employee = employeeRepository.findOne(spec);
-        return employee.map(this::mapToResponse)
-                .orElseThrow(() -> new EntityNotFoundException("Employee not found with email: " + email));
+        return getEmployeeByEmailUsingSpecifications(email, EmployeeFields.ALL);
+    }
+    
+    public EmployeeResponse getEmployeeByEmailUsingSpecifications(String email, EmployeeFields fields) {
+        return findByEmail(email, fields, () -> lookupRouter.timed(LookupStrategyRouter.Kind.EMAIL,
+                LookupStrategy.SPECIFICATIONS, () -> employeeRepository.findOne(EmployeeSpecifications.hasEmail(email))));
     }
     
     // Fetch Employee by Email - Using HQL
     public EmployeeResponse getEmployeeByEmailUsingHQL(String email) {
-        Employee employee = employeeRepository.findByEmailUsingHQL(email)
-                .orElseThrow(() -> new EntityNotFoundException("Employee not found with email: " + email));
-        return mapToResponse(employee);
+        return getEmployeeByEmailUsingHQL(email, EmployeeFields.ALL);
+    }
+    
+    public EmployeeResponse getEmployeeByEmailUsingHQL(String email, EmployeeFields fields) {
+        return findByEmail(email, fields, () -> lookupRouter.timed(LookupStrategyRouter.Kind.EMAIL,
+                LookupStrategy.HQL, () -> employeeRepository.findByEmailUsingHQL(Employee.normalizeEmail(email))));
     }
     
     // Fetch Employee by Email - Using Native SQL
     public EmployeeResponse getEmployeeByEmailUsingNativeSQL(String email) {
-        Employee employee = employeeRepository.findByEmailUsingNativeSQL(email)
-                .orElseThrow(() -> new EntityNotFoundException("Employee not found with email: " + email));
-        return mapToResponse(employee);
+        return getEmployeeByEmailUsingNativeSQL(email, EmployeeFields.ALL);
+    }
+    
+    public EmployeeResponse getEmployeeByEmailUsingNativeSQL(String email, EmployeeFields fields) {
+        return findByEmail(email, fields, () -> lookupRouter.timed(LookupStrategyRouter.Kind.EMAIL,
+                LookupStrategy.NATIVE_SQL,
+                () -> employeeRepository.findByEmailUsingNativeSQL(TenantContext.current(), Employee.normalizeEmail(email))));
+    }
+    
+    // Fetch Employee by Name - strategy chosen by the caller
+    public EmployeeResponse getEmployeeByName(String name, LookupStrategy strategy, EmployeeFields fields) {
+        return switch (strategy) {
+            case SPECIFICATIONS -> getEmployeeByNameUsingSpecifications(name, fields);
+            case HQL -> getEmployeeByNameUsingHQL(name, fields);
+            case NATIVE_SQL -> getEmployeeByNameUsingNativeSQL(name, fields);
+        };
     }
     
     // Fetch Employee by Name - Using JPA Specifications
     public EmployeeResponse getEmployeeByNameUsingSpecifications(String name) {
+        return getEmployeeByNameUsingSpecifications(name, EmployeeFields.ALL);
+    }
+    
+    public EmployeeResponse getEmployeeByNameUsingSpecifications(String name, EmployeeFields fields) {
         Specification<Employee> spec = EmployeeSpecifications.hasName(name);
-        Optional<Employee> employee = employeeRepository.findOne(spec);
-        return employee.map(this::mapToResponse)
+        Optional<Employee> employee = fields.isAll()
+                ? lookupRouter.timed(LookupStrategyRouter.Kind.NAME, LookupStrategy.SPECIFICATIONS,
+                        () -> employeeRepository.findOne(spec))
+                : findOneProjected(spec, fields);
+        return employee.map(found -> fields.apply(mapToResponse(found)))
                 .orElseThrow(() -> new EntityNotFoundException("Employee not found with name: " + name));
     }
     
     // Fetch Employee by Name - Using HQL
     public EmployeeResponse getEmployeeByNameUsingHQL(String name) {
-        Employee employee = employeeRepository.findByNameUsingHQL(name)
+        return getEmployeeByNameUsingHQL(name, EmployeeFields.ALL);
+    }
+    
+    public EmployeeResponse getEmployeeByNameUsingHQL(String name, EmployeeFields fields) {
+        Employee employee = (fields.isAll()
+                ? lookupRouter.timed(LookupStrategyRouter.Kind.NAME, LookupStrategy.HQL,
+                        () -> employeeRepository.findByNameUsingHQL(name))
+                : findOneProjected(EmployeeSpecifications.hasName(name), fields))
                 .orElseThrow(() -> new EntityNotFoundException("Employee not found with name: " + name));
-        return mapToResponse(employee);
+        return fields.apply(mapToResponse(employee));
     }
     
     // Fetch Employee by Name - Using Native SQL
     public EmployeeResponse getEmployeeByNameUsingNativeSQL(String name) {
-        Employee employee = employeeRepository.findByNameUsingNativeSQL(name)
+        return getEmployeeByNameUsingNativeSQL(name, EmployeeFields.ALL);
+    }
+    
+    public EmployeeResponse getEmployeeByNameUsingNativeSQL(String name, EmployeeFields fields) {
+        Employee employee = (fields.isAll()
+                ? lookupRouter.timed(LookupStrategyRouter.Kind.NAME, LookupStrategy.NATIVE_SQL,
+                        () -> employeeRepository.findByNameUsingNativeSQL(TenantContext.current(), name))
+                : findOneProjected(EmployeeSpecifications.hasName(name), fields))
                 .orElseThrow(() -> new EntityNotFoundException("Employee not found with name: " + name));
-        return mapToResponse(employee);
+        return fields.apply(mapToResponse(employee));
     }
     
     // Create Employee (Name and Email)
+    // A single INSERT: the unique constraint on email detects duplicates, including concurrent ones
     public EmployeeResponse createEmployee(CreateEmployeeRequest request) {
-        if (employeeRepository.existsByEmail(request.getEmail())) {
-            throw new IllegalArgumentException("Employee with email " + request.getEmail() + " already exists");
-        }
-        
         Employee employee = new Employee();
         employee.setFirstName(request.getName());
         employee.setEmail(request.getEmail());
         employee.setPhone(request.getPhone());
         
-        Employee savedEmployee = employeeRepository.save(employee);
-        return mapToResponse(savedEmployee);
+        Employee savedEmployee;
+        try {
+            savedEmployee = employeeRepository.saveAndFlush(employee);
+        } catch (DataIntegrityViolationException ex) {
+            if (isUniqueViolation(ex)) {
+                throw new ConflictException("Employee with email " + request.getEmail() + " already exists");
+            }
+            throw ex;
+        }
+        EmployeeResponse response = mapToResponse(savedEmployee);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(null, response));
+        return response;
     }
     
     // Update Employee Details (Last Name, Phone, and Address)
     public EmployeeResponse updateEmployee(String email, UpdateEmployeeRequest request) {
-        Employee employee = employeeRepository.findByEmailUsingHQL(email)
+        Employee employee = employeeRepository.findByEmailUsingHQL(Employee.normalizeEmail(email))
                 .orElseThrow(() -> new EntityNotFoundException("Employee not found with email: " + email));
+        EmployeeResponse before = mapToResponse(employee);
         
         if (request.getLastName() != null) {
             employee.setLastName(request.getLastName());
@@ -103,34 +232,356 @@ public class EmployeeService {
         }
         
         Employee updatedEmployee = employeeRepository.save(employee);
-        return mapToResponse(updatedEmployee);
+        EmployeeResponse response = mapToResponse(updatedEmployee);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(before, response));
+        return response;
     }
     
     // Update Employee Phone Only
     public EmployeeResponse updateEmployeePhone(String email, UpdatePhoneRequest request) {
-        Employee employee = employeeRepository.findByEmailUsingHQL(email)
+        Employee employee = employeeRepository.findByEmailUsingHQL(Employee.normalizeEmail(email))
                 .orElseThrow(() -> new EntityNotFoundException("Employee not found with email: " + email));
+        EmployeeResponse before = mapToResponse(employee);
         
         employee.setPhone(request.getPhone());
         Employee updatedEmployee = employeeRepository.save(employee);
-        return mapToResponse(updatedEmployee);
+        EmployeeResponse response = mapToResponse(updatedEmployee);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(before, response));
+        return response;
     }
     
     // Delete Employee by Email
+    // Soft delete (app.soft-delete.enabled) is a single-row UPDATE; SoftDeletePurger removes the row later
     public void deleteEmployeeByEmail(String email) {
-        Employee employee = employeeRepository.findByEmailUsingHQL(email)
+        Employee employee = employeeRepository.findByEmailUsingHQL(Employee.normalizeEmail(email))
                 .orElseThrow(() -> new EntityNotFoundException("Employee not found with email: " + email));
-        employeeRepository.delete(employee);
+        if (softDelete) {
+            // Flushed now: within a larger transaction a later insert reusing the email would
+            // otherwise be flushed first, while this row still holds the email
+            employee.setDeletedAt(LocalDateTime.now());
+            employeeRepository.saveAndFlush(employee);
+        } else {
+            employeeRepository.delete(employee);
+        }
+        eventPublisher.publishEvent(new EmployeeChangedEvent(mapToResponse(employee), null));
+    }
+    
+    // Restore a soft-deleted Employee that has not been purged yet
+    // Conflicts when the email has been given to a new employee since the delete
+    public EmployeeResponse restoreEmployee(String email) {
+        Employee employee = employeeRepository.findDeletedByEmail(TenantContext.current(), Employee.normalizeEmail(email))
+                .orElseThrow(() -> new EntityNotFoundException("No deleted employee with email: " + email));
+        employee.setDeletedAt(null);
+        Employee restoredEmployee;
+        try {
+            restoredEmployee = employeeRepository.saveAndFlush(employee);
+        } catch (DataIntegrityViolationException ex) {
+            if (isUniqueViolation(ex)) {
+                throw new ConflictException("Employee with email " + email + " already exists");
+            }
+            throw ex;
+        }
+        EmployeeResponse response = mapToResponse(restoredEmployee);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(null, response));
+        return response;
     }
     
     // Get all employees
     public List<EmployeeResponse> getAllEmployees() {
-        return employeeRepository.findAll().stream()
+        return getAllEmployees(EmployeeFields.ALL);
+    }
+    
+    public List<EmployeeResponse> getAllEmployees(EmployeeFields fields) {
+        List<Employee> employees = fields.isAll()
+                ? employeeRepository.findAll()
+                : employeeRepository.findProjected(null, attributes(fields), Sort.unsorted(), 0);
+        return employees.stream()
+                .map(employee -> fields.apply(mapToResponse(employee)))
+                .collect(Collectors.toList());
+    }
+    
+    // Batch lookup by emails and/or ids - cache hits first, misses in chunked IN (...) queries
+    @Transactional(readOnly = true)
+    public BatchLookupResponse lookupEmployees(BatchLookupRequest request) {
+        return lookupEmployees(request, EmployeeFields.ALL);
+    }
+    
+    // Sparse misses select only their columns, except email misses while the lookup cache is on,
+    // which load full rows to cache them (as single email lookups do)
+    @Transactional(readOnly = true)
+    public BatchLookupResponse lookupEmployees(BatchLookupRequest request, EmployeeFields fields) {
+        List<String> emails = request.getEmails() != null ? request.getEmails() : List.of();
+        List<Long> ids = request.getIds() != null ? request.getIds() : List.of();
+        
+        // Keyed by normalized email, so differently-cased duplicates in the request cost one lookup
+        Map<String, EmployeeResponse> byEmail = new HashMap<>();
+        List<String> missingEmails = new ArrayList<>();
+        Set<String> normalizedEmails = new LinkedHashSet<>();
+        for (String email : emails) {
+            if (email != null) {
+                normalizedEmails.add(Employee.normalizeEmail(email));
+                hotKeyTracker.record(email);
+            }
+        }
+        for (String email : normalizedEmails) {
+            Optional<EmployeeResponse> local = findLocal(email);
+            if (local.isPresent()) {
+                byEmail.put(email, local.get());
+            } else if (!employeeCache.isTombstoned(email)) {
+                missingEmails.add(email);
+            }
+        }
+        long generation = employeeCache.generation();
+        boolean fullRows = fields.isAll() || employeeCache.isEnabled();
+        for (int from = 0; from < missingEmails.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = missingEmails.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, missingEmails.size()));
+            if (fullRows) {
+                for (Employee employee : employeeRepository.findByEmailNormalizedIn(chunk)) {
+                    byEmail.put(employee.getEmailNormalized(), cacheLoaded(employee, generation));
+                }
+            } else {
+                for (Employee employee : employeeRepository.findProjected(EmployeeSpecifications.emailIn(chunk),
+                        attributes(fields, "email"), Sort.unsorted(), 0)) {
+                    byEmail.put(employee.getEmailNormalized(), mapToResponse(employee));
+                }
+            }
+        }
+        
+        Map<Long, EmployeeResponse> byId = new HashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            if (id == null) {
+                continue;
+            }
+            Optional<EmployeeResponse> local = directorySnapshot.findById(id);
+            if (local.isPresent()) {
+                byId.put(id, local.get());
+            } else {
+                missingIds.add(id);
+            }
+        }
+        for (int from = 0; from < missingIds.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = missingIds.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, missingIds.size()));
+            List<Employee> found = fields.isAll()
+                    ? employeeRepository.findAllById(chunk)
+                    : employeeRepository.findProjected(EmployeeSpecifications.idIn(chunk), attributes(fields, "id"),
+                            Sort.unsorted(), 0);
+            for (Employee employee : found) {
+                byId.put(employee.getId(), mapToResponse(employee));
+            }
+        }
+        
+        List<BatchLookupResponse.LookupResult> results = new ArrayList<>(emails.size() + ids.size());
+        for (String email : emails) {
+            EmployeeResponse employee = email != null ? byEmail.get(Employee.normalizeEmail(email)) : null;
+            results.add(new BatchLookupResponse.LookupResult(email, null, employee != null, fields.apply(employee)));
+        }
+        for (Long id : ids) {
+            EmployeeResponse employee = id != null ? byId.get(id) : null;
+            results.add(new BatchLookupResponse.LookupResult(null, id, employee != null, fields.apply(employee)));
+        }
+        int found = (int) results.stream().filter(BatchLookupResponse.LookupResult::isFound).count();
+        return new BatchLookupResponse(results, found, results.size() - found);
+    }
+    
+    // Search employees by optional criteria - paginated with a keyset cursor
+    @Transactional(readOnly = true)
+    public EmployeePageResponse searchEmployees(EmployeeSearchRequest request) {
+        return searchEmployees(request, EmployeeFields.ALL);
+    }
+    
+    @Transactional(readOnly = true)
+    public EmployeePageResponse searchEmployees(EmployeeSearchRequest request, EmployeeFields fields) {
+        int limit = request.getLimit() != null ? request.getLimit() : DEFAULT_PAGE_SIZE;
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        
+        // Query guard: every search is bounded by limit, and a predicate that cannot use an index
+        // is only accepted when an indexed predicate narrows the rows it has to look at
+        if (request.getPhonePrefix() != null && request.getPhonePrefix().length() < MIN_PHONE_PREFIX_LENGTH) {
+            throw new IllegalArgumentException(
+                    "phonePrefix must have at least " + MIN_PHONE_PREFIX_LENGTH + " characters");
+        }
+        boolean indexedFilter = request.getLastName() != null || request.getPhonePrefix() != null;
+        if (request.getAddressContains() != null && !indexedFilter) {
+            throw new IllegalArgumentException("addressContains must be combined with lastName or phonePrefix");
+        }
+        
+        String sortField = "id";
+        boolean descending = false;
+        if (request.getSort() != null) {
+            String[] sortParts = request.getSort().split(",");
+            sortField = sortParts[0].trim();
+            descending = sortParts.length > 1 && "desc".equalsIgnoreCase(sortParts[1].trim());
+            if (!SORTABLE_FIELDS.contains(sortField)) {
+                throw new IllegalArgumentException("sort must be one of " + SORTABLE_FIELDS);
+            }
+        }
+        
+        Specification<Employee> spec = Specification.where(null);
+        if (request.getLastName() != null) {
+            spec = spec.and(EmployeeSpecifications.hasLastName(request.getLastName()));
+        }
+        if (request.getPhonePrefix() != null) {
+            spec = spec.and(EmployeeSpecifications.phoneStartsWith(request.getPhonePrefix()));
+        }
+        if (request.getAddressContains() != null) {
+            spec = spec.and(EmployeeSpecifications.addressContains(request.getAddressContains()));
+        }
+        if (request.getCursor() != null) {
+            EmployeeCursor cursor = EmployeeCursor.decode(request.getCursor());
+            if (!cursor.matches(sortField, descending)) {
+                throw new IllegalArgumentException("cursor does not belong to this sort order");
+            }
+            spec = spec.and(EmployeeSpecifications.after(sortField, cursor.getValue(), cursor.getId(), descending));
+        }
+        
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort sort = "id".equals(sortField)
+                ? Sort.by(direction, "id")
+                : Sort.by(direction, sortField).and(Sort.by(direction, "id"));
+        
+        // One extra row tells whether another page exists without a count query. A sparse page
+        // also selects the id and sort column, which the next cursor is built from.
+        List<Employee> rows = fields.isAll()
+                ? employeeRepository.findBy(spec, query -> query.sortBy(sort).limit(limit + 1).all())
+                : employeeRepository.findProjected(spec, attributes(fields, "id", sortField), sort, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<Employee> page = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore
+                ? EmployeeCursor.after(page.get(page.size() - 1), sortField, descending).encode()
+                : null;
+        
+        return new EmployeePageResponse(
+                page.stream().map(employee -> fields.apply(mapToResponse(employee))).collect(Collectors.toList()),
+                nextCursor);
+    }
+    
+    // Aggregate statistics - maintained incrementally, no query
+    public EmployeeStatsResponse getEmployeeStats() {
+        return employeeStatistics.snapshot(TenantContext.current());
+    }
+    
+    // Ranked full-text search over names, email and address - served by the embedded index, no query
+    public FullTextSearchResponse fullTextSearch(String q, int page, int size) {
+        return fullTextSearch(q, page, size, EmployeeFields.ALL);
+    }
+    
+    // Hits come from stored index fields, so a sparse fieldset only trims the response
+    public FullTextSearchResponse fullTextSearch(String q, int page, int size, EmployeeFields fields) {
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if ((long) (page + 1) * size > EmployeeFullTextIndex.MAX_RESULT_WINDOW) {
+            throw new IllegalArgumentException("page and size must stay within the first "
+                    + EmployeeFullTextIndex.MAX_RESULT_WINDOW + " hits");
+        }
+        FullTextSearchResponse response;
+        try {
+            response = fullTextIndex.search(TenantContext.current(), q, page, size);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        response.getHits().forEach(hit -> hit.setEmployee(fields.apply(hit.getEmployee())));
+        return response;
+    }
+    
+    // Change history from the audit log, most recent first - includes deleted employees
+    public EmployeeHistoryResponse getEmployeeHistory(String email, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<EmployeeHistoryResponse.Entry> entries;
+        try {
+            entries = auditLog.history(TenantContext.current(), email, limit);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        if (entries.isEmpty()) {
+            throw new EntityNotFoundException("No history for employee with email: " + email);
+        }
+        return new EmployeeHistoryResponse(email, entries);
+    }
+    
+    // Get the next page of employees after the given id (keyset pagination)
+    @Transactional(readOnly = true)
+    public List<EmployeeResponse> getEmployeesAfter(long afterId, int limit) {
+        return employeeRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, limit)).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
     
+    // Point read by email: directory snapshot or lookup cache, tombstone, then the endpoint's own
+    // query. A sparse read that misses selects only its columns, unless the lookup cache is on:
+    // then the full row is loaded and cached, since one indexed row costs about the same either way
+    // and the next lookup of any fieldset is served from memory.
+    private EmployeeResponse findByEmail(String email, EmployeeFields fields, Supplier<Optional<Employee>> query) {
+        hotKeyTracker.record(email);
+        Optional<EmployeeResponse> local = findLocal(email);
+        if (local.isPresent()) {
+            return fields.apply(local.get());
+        }
+        if (employeeCache.isTombstoned(email)) {
+            throw new EntityNotFoundException("Employee not found with email: " + email);
+        }
+        if (fields.isAll() || employeeCache.isEnabled()) {
+            long generation = employeeCache.generation();
+            Employee employee = query.get()
+                    .orElseThrow(() -> new EntityNotFoundException("Employee not found with email: " + email));
+            return fields.apply(cacheLoaded(employee, generation));
+        }
+        Employee employee = findOneProjected(EmployeeSpecifications.hasEmail(email), fields)
+                .orElseThrow(() -> new EntityNotFoundException("Employee not found with email: " + email));
+        return fields.apply(mapToResponse(employee));
+    }
+    
+    // Same contract as findOne: more than one match is an error
+    private Optional<Employee> findOneProjected(Specification<Employee> spec, EmployeeFields fields) {
+        List<Employee> rows = employeeRepository.findProjected(spec, attributes(fields), Sort.unsorted(), 2);
+        if (rows.size() > 1) {
+            throw new IncorrectResultSizeDataAccessException(1);
+        }
+        return rows.stream().findFirst();
+    }
+    
+    // Columns a sparse read selects: the requested fields plus those the caller needs itself
+    static List<String> attributes(EmployeeFields fields, String... required) {
+        Set<String> attributes = new LinkedHashSet<>(Arrays.asList(required));
+        for (EmployeeFields.Field field : fields.fields()) {
+            attributes.add(field.property());
+        }
+        return new ArrayList<>(attributes);
+    }
+    
+    // Point reads by email are answered from the directory snapshot, then the lookup cache
+    private Optional<EmployeeResponse> findLocal(String email) {
+        Optional<EmployeeResponse> snapshot = directorySnapshot.findByEmail(email);
+        return snapshot.isPresent() ? snapshot : employeeCache.get(email);
+    }
+    
+    private EmployeeResponse cacheLoaded(Employee employee, long generation) {
+        EmployeeResponse response = mapToResponse(employee);
+        employeeCache.put(response, generation);
+        return response;
+    }
+    
+    private static boolean isUniqueViolation(DataIntegrityViolationException ex) {
+        return ex.getMostSpecificCause() instanceof SQLException sqlException
+                && UNIQUE_VIOLATION_SQLSTATE.equals(sqlException.getSQLState());
+    }
+    
     private EmployeeResponse mapToResponse(Employee employee) {
+        try (Span span = Tracer.span("map", "EmployeeService.mapToResponse")) {
+            return toResponse(employee);
+        }
+    }
+    
+    // Untraced mapping, for background jobs and bulk reads outside a request span
+    static EmployeeResponse toResponse(Employee employee) {
         return new EmployeeResponse(
                 employee.getId(),
                 employee.getFirstName(),
@@ -0,0 +1,161 @@
+package com.arqonz.employee.service;
+
+import com.arqonz.employee.dto.EmployeeResponse;
+import com.arqonz.employee.dto.EmployeeStatsResponse;
+import com.arqonz.employee.repository.EmployeeRepository;
+import com.arqonz.employee.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Directory aggregates maintained incrementally from EmployeeChangedEvent.
+// Each mutation removes the `before` row's contribution and adds the `after` row's, on striped
+// LongAdders, so writers never contend and reading the stats costs the same at any table size.
+// A periodic reconcile recomputes everything with GROUP BY queries and swaps the counters in.
+// Counters are kept per tenant; the reconcile queries run across all tenants at once.
+@Component
+public class EmployeeStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeStatistics.class);
+    static final String NO_LAST_NAME = "-";
+    static final String OTHER_INITIAL = "#";
+
+    private final EmployeeRepository employeeRepository;
+    private volatile Map<String, Counters> counters = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastReconciledAt;
+
+    @Autowired
+    public EmployeeStatistics(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    public EmployeeStatsResponse snapshot(String tenantId) {
+        Counters current = counters.getOrDefault(tenantId, EMPTY);
+        return new EmployeeStatsResponse(
+                current.total.sum(),
+                current.missingPhone.sum(),
+                current.missingAddress.sum(),
+                nonZero(current.byDomain),
+                nonZero(current.byInitial),
+                lastReconciledAt
+        );
+    }
+
+    @TransactionalEventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        Counters current = counters.computeIfAbsent(event.getTenantId(), tenantId -> new Counters());
+        if (event.getBefore() != null) {
+            current.apply(event.getBefore(), -1);
+        }
+        if (event.getAfter() != null) {
+            current.apply(event.getAfter(), 1);
+        }
+    }
+
+    // Mutations committed while the queries run may be counted twice or not at all in the
+    // new counters; the next reconcile corrects them
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        long start = System.nanoTime();
+        Map<String, Counters> fresh = new ConcurrentHashMap<>();
+        try (TenantContext.Scope ignored = TenantContext.enter(TenantContext.ALL_TENANTS)) {
+            for (Object[] row : employeeRepository.countByTenant()) {
+                countersOf(fresh, row).total.add((Long) row[1]);
+            }
+            for (Object[] row : employeeRepository.countMissingPhone()) {
+                countersOf(fresh, row).missingPhone.add((Long) row[1]);
+            }
+            for (Object[] row : employeeRepository.countMissingAddress()) {
+                countersOf(fresh, row).missingAddress.add((Long) row[1]);
+            }
+            for (Object[] row : employeeRepository.countByEmailDomain()) {
+                countersOf(fresh, row).byDomain.computeIfAbsent(domainKey((String) row[1]), key -> new LongAdder())
+                        .add((Long) row[2]);
+            }
+            for (Object[] row : employeeRepository.countByLastNameInitial()) {
+                countersOf(fresh, row).byInitial.computeIfAbsent(initialKey((String) row[1]), key -> new LongAdder())
+                        .add((Long) row[2]);
+            }
+        }
+        counters = fresh;
+        lastReconciledAt = LocalDateTime.now();
+        log.debug("Employee statistics reconciled for {} tenants in {} ms", fresh.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static Counters countersOf(Map<String, Counters> byTenant, Object[] row) {
+        return byTenant.computeIfAbsent((String) row[0], tenantId -> new Counters());
+    }
+
+    static String domainOf(String email) {
+        int at = email.lastIndexOf('@');
+        return domainKey(at >= 0 ? email.substring(at + 1) : "");
+    }
+
+    static String initialOf(String lastName) {
+        return initialKey(lastName == null || lastName.isEmpty() ? null : lastName.substring(0, 1));
+    }
+
+    private static String domainKey(String domain) {
+        return domain == null ? "" : domain.toLowerCase(Locale.ROOT);
+    }
+
+    private static String initialKey(String initial) {
+        if (initial == null || initial.isEmpty()) {
+            return NO_LAST_NAME;
+        }
+        char c = Character.toUpperCase(initial.charAt(0));
+        return c >= 'A' && c <= 'Z' ? String.valueOf(c) : OTHER_INITIAL;
+    }
+
+    private static Map<String, Long> nonZero(Map<String, LongAdder> adders) {
+        Map<String, Long> result = new TreeMap<>();
+        adders.forEach((key, adder) -> {
+            long value = adder.sum();
+            if (value != 0) {
+                result.put(key, value);
+            }
+        });
+        return result;
+    }
+
+    private static boolean isMissing(String value) {
+        return value == null || value.isEmpty();
+    }
+
+    private static final Counters EMPTY = new Counters();
+
+    private static final class Counters {
+        private final LongAdder total = new LongAdder();
+        private final LongAdder missingPhone = new LongAdder();
+        private final LongAdder missingAddress = new LongAdder();
+        private final Map<String, LongAdder> byDomain = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> byInitial = new ConcurrentHashMap<>();
+
+        private void apply(EmployeeResponse employee, int delta) {
+            total.add(delta);
+            if (isMissing(employee.getPhone())) {
+                missingPhone.add(delta);
+            }
+            if (isMissing(employee.getAddress())) {
+                missingAddress.add(delta);
+            }
+            byDomain.computeIfAbsent(domainOf(employee.getEmail()), key -> new LongAdder()).add(delta);
+            byInitial.computeIfAbsent(initialOf(employee.getLastName()), key -> new LongAdder()).add(delta);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.arqonz.employee.service;
+
+import com.arqonz.employee.cache.EmployeeCache;
+import com.arqonz.employee.cache.HotKeyTracker;
+import com.arqonz.employee.model.Employee;
+import com.arqonz.employee.repository.EmployeeRepository;
+import com.arqonz.employee.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Keeps the hottest emails (HotKeyTracker) in the lookup cache so they never miss: preloads the
+// top-K saved at the last shutdown once the application is ready, then every
+// app.cache.refresh-ahead.interval-ms reloads those whose entry is missing or expires within
+// app.cache.refresh-ahead.window-seconds, before a request would have to.
+// Keys seen fewer than app.cache.refresh-ahead.min-hits times since the last halving of the
+// sketch are left to expire. Loads go by tenant in IN (...) chunks and use the cache generation
+// like any other load, so a change committed meanwhile is never overwritten with the old row.
+@Component
+public class HotKeyCacheWarmer {
+
+    private static final Logger log = LoggerFactory.getLogger(HotKeyCacheWarmer.class);
+    private static final int LOAD_CHUNK_SIZE = 500;
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeCache employeeCache;
+    private final HotKeyTracker hotKeyTracker;
+    private final long windowNanos;
+    private final int minHits;
+
+    @Autowired
+    public HotKeyCacheWarmer(EmployeeRepository employeeRepository,
+                             EmployeeCache employeeCache,
+                             HotKeyTracker hotKeyTracker,
+                             @Value("${app.cache.refresh-ahead.window-seconds:60}") long windowSeconds,
+                             @Value("${app.cache.refresh-ahead.min-hits:2}") int minHits) {
+        this.employeeRepository = employeeRepository;
+        this.employeeCache = employeeCache;
+        this.hotKeyTracker = hotKeyTracker;
+        this.windowNanos = windowSeconds * 1_000_000_000L;
+        this.minHits = minHits;
+    }
+
+    // Returns the number of entries loaded
+    @EventListener(ApplicationReadyEvent.class)
+    public int preload() {
+        if (!hotKeyTracker.isEnabled()) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        int loaded = load(hotKeyTracker.hotKeys(), 1);
+        if (loaded > 0) {
+            log.info("Preloaded {} hot employees into the lookup cache in {} ms", loaded,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+        return loaded;
+    }
+
+    // Returns the number of entries reloaded
+    @Scheduled(fixedDelayString = "${app.cache.refresh-ahead.interval-ms:15000}",
+            initialDelayString = "${app.cache.refresh-ahead.interval-ms:15000}")
+    public int refreshAhead() {
+        if (!hotKeyTracker.isEnabled()) {
+            return 0;
+        }
+        int refreshed = load(hotKeyTracker.hotKeys(), minHits);
+        if (refreshed > 0) {
+            log.debug("Refreshed {} hot employees ahead of expiry", refreshed);
+        }
+        return refreshed;
+    }
+
+    private int load(List<HotKeyTracker.HotKey> hotKeys, int minHits) {
+        Map<String, List<String>> emailsByTenant = new LinkedHashMap<>();
+        for (HotKeyTracker.HotKey key : hotKeys) {
+            if (key.getHits() >= minHits) {
+                emailsByTenant.computeIfAbsent(key.getTenantId(), tenant -> new ArrayList<>()).add(key.getEmail());
+            }
+        }
+        int loaded = 0;
+        for (Map.Entry<String, List<String>> tenant : emailsByTenant.entrySet()) {
+            try (TenantContext.Scope ignored = TenantContext.enter(tenant.getKey())) {
+                loaded += load(tenant.getValue());
+            } catch (RuntimeException ex) {
+                // A failed refresh only means those keys are loaded on their next miss
+                log.warn("Could not load hot employees of tenant {}: {}", tenant.getKey(), ex.getMessage());
+            }
+        }
+        return loaded;
+    }
+
+    // Emails of the current tenant
+    private int load(List<String> emails) {
+        List<String> due = new ArrayList<>();
+        for (String email : emails) {
+            if (employeeCache.needsRefresh(email, windowNanos)) {
+                due.add(email);
+            }
+        }
+        int loaded = 0;
+        for (int from = 0; from < due.size(); from += LOAD_CHUNK_SIZE) {
+            List<String> chunk = due.subList(from, Math.min(from + LOAD_CHUNK_SIZE, due.size()));
+            long generation = employeeCache.generation();
+            for (Employee employee : employeeRepository.findByEmailNormalizedIn(chunk)) {
+                employeeCache.put(EmployeeService.toResponse(employee), generation);
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+}
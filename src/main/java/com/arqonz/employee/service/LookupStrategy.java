@@ -0,0 +1,18 @@
+package com.arqonz.employee.service;
+
+// The interchangeable ways EmployeeService runs a point lookup, named by their endpoint suffix
+public enum LookupStrategy {
+    SPECIFICATIONS("specifications"),
+    HQL("hql"),
+    NATIVE_SQL("native");
+
+    private final String path;
+
+    LookupStrategy(String path) {
+        this.path = path;
+    }
+
+    public String path() {
+        return path;
+    }
+}
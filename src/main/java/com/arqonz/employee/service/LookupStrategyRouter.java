@@ -0,0 +1,153 @@
+package com.arqonz.employee.service;
+
+import com.arqonz.employee.dto.LookupStrategyStatsResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Picks the lookup strategy for GET /api/employees/email/{email} and /name/{name} from measured
+// latency (app.lookup-router.*).
+// EmployeeService times every strategy query, whichever endpoint issued it, into an exponentially
+// weighted moving average per lookup kind and strategy. Cache and snapshot hits run no query and
+// are not sampled. Until each strategy has min-samples samples the least sampled one is chosen;
+// after that the one with the lowest average, except that a share of lookups (exploration-rate)
+// goes to one of the others, so a strategy that got faster (warmer plan cache, new index) is
+// noticed. Shared by all tenants, since they share the same queries and database.
+@Component
+public class LookupStrategyRouter {
+
+    public enum Kind {
+        EMAIL,
+        NAME
+    }
+
+    private static final LookupStrategy[] STRATEGIES = LookupStrategy.values();
+
+    private final double alpha;
+    private final double explorationRate;
+    private final long minSamples;
+    private final Map<Kind, Stats[]> stats = new EnumMap<>(Kind.class);
+
+    @Autowired
+    public LookupStrategyRouter(@Value("${app.lookup-router.ewma-alpha:0.1}") double alpha,
+                                @Value("${app.lookup-router.exploration-rate:0.05}") double explorationRate,
+                                @Value("${app.lookup-router.min-samples:20}") long minSamples) {
+        if (alpha <= 0 || alpha > 1 || explorationRate < 0 || explorationRate > 1) {
+            throw new IllegalArgumentException("app.lookup-router ewma-alpha must be in (0, 1] and exploration-rate in [0, 1]");
+        }
+        this.alpha = alpha;
+        this.explorationRate = explorationRate;
+        this.minSamples = minSamples;
+        for (Kind kind : Kind.values()) {
+            Stats[] kindStats = new Stats[STRATEGIES.length];
+            for (int i = 0; i < kindStats.length; i++) {
+                kindStats[i] = new Stats();
+            }
+            stats.put(kind, kindStats);
+        }
+    }
+
+    public LookupStrategy choose(Kind kind) {
+        Stats[] kindStats = stats.get(kind);
+        LookupStrategy least = leastSampled(kindStats);
+        if (kindStats[least.ordinal()].samples.sum() < minSamples) {
+            kindStats[least.ordinal()].explored.increment();
+            kindStats[least.ordinal()].routed.increment();
+            return least;
+        }
+        LookupStrategy chosen = fastest(kindStats);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (explorationRate > 0 && random.nextDouble() < explorationRate) {
+            // Any strategy but the fastest
+            chosen = STRATEGIES[(chosen.ordinal() + 1 + random.nextInt(STRATEGIES.length - 1)) % STRATEGIES.length];
+            kindStats[chosen.ordinal()].explored.increment();
+        }
+        kindStats[chosen.ordinal()].routed.increment();
+        return chosen;
+    }
+
+    // Runs a strategy's query and samples its latency; a query that throws is not sampled
+    public <T> T timed(Kind kind, LookupStrategy strategy, Supplier<T> query) {
+        long start = System.nanoTime();
+        T result = query.get();
+        record(kind, strategy, System.nanoTime() - start);
+        return result;
+    }
+
+    public void record(Kind kind, LookupStrategy strategy, long latencyNanos) {
+        stats.get(kind)[strategy.ordinal()].record(latencyNanos, alpha);
+    }
+
+    public LookupStrategyStatsResponse getStats() {
+        return new LookupStrategyStatsResponse(kindStats(Kind.EMAIL), kindStats(Kind.NAME));
+    }
+
+    private LookupStrategyStatsResponse.KindStats kindStats(Kind kind) {
+        Stats[] kindStats = stats.get(kind);
+        Map<String, LookupStrategyStatsResponse.StrategyStats> strategies = new LinkedHashMap<>();
+        for (LookupStrategy strategy : STRATEGIES) {
+            Stats strategyStats = kindStats[strategy.ordinal()];
+            double average = strategyStats.average();
+            strategies.put(strategy.path(), new LookupStrategyStatsResponse.StrategyStats(
+                    Double.isNaN(average) ? null : average / 1_000.0,
+                    strategyStats.samples.sum(),
+                    strategyStats.routed.sum(),
+                    strategyStats.explored.sum()));
+        }
+        boolean warm = kindStats[leastSampled(kindStats).ordinal()].samples.sum() >= minSamples;
+        return new LookupStrategyStatsResponse.KindStats(warm ? fastest(kindStats).path() : null, strategies);
+    }
+
+    private static LookupStrategy leastSampled(Stats[] kindStats) {
+        LookupStrategy least = STRATEGIES[0];
+        for (LookupStrategy strategy : STRATEGIES) {
+            if (kindStats[strategy.ordinal()].samples.sum() < kindStats[least.ordinal()].samples.sum()) {
+                least = strategy;
+            }
+        }
+        return least;
+    }
+
+    // Strategies without a sample yet are never the fastest
+    private static LookupStrategy fastest(Stats[] kindStats) {
+        LookupStrategy fastest = STRATEGIES[0];
+        double best = Double.MAX_VALUE;
+        for (LookupStrategy strategy : STRATEGIES) {
+            double average = kindStats[strategy.ordinal()].average();
+            if (!Double.isNaN(average) && average < best) {
+                best = average;
+                fastest = strategy;
+            }
+        }
+        return fastest;
+    }
+
+    private static final class Stats {
+        // Double bits of the average in nanoseconds, NaN before the first sample
+        private final AtomicLong average = new AtomicLong(Double.doubleToLongBits(Double.NaN));
+        private final LongAdder samples = new LongAdder();
+        private final LongAdder routed = new LongAdder();
+        private final LongAdder explored = new LongAdder();
+
+        private void record(long latencyNanos, double alpha) {
+            average.updateAndGet(bits -> {
+                double previous = Double.longBitsToDouble(bits);
+                double next = Double.isNaN(previous) ? latencyNanos : previous + alpha * (latencyNanos - previous);
+                return Double.doubleToLongBits(next);
+            });
+            samples.increment();
+        }
+
+        private double average() {
+            return Double.longBitsToDouble(average.get());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.arqonz.employee.service;
+
+import com.arqonz.employee.dto.CreateEmployeeRequest;
+import com.arqonz.employee.dto.EmployeeResponse;
+import com.arqonz.employee.dto.UpdateEmployeeRequest;
+import com.arqonz.employee.dto.UpdatePhoneRequest;
+import com.arqonz.employee.tenant.TenantContext;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+// Non-blocking facade over EmployeeService.
+// JPA calls are offloaded to a bounded scheduler sized to the connection pool,
+// so request threads are never parked on JDBC and at most one worker per connection is busy.
+// The tenant of the calling request is carried over to the worker thread.
+@Service
+public class ReactiveEmployeeService {
+
+    private final EmployeeService employeeService;
+    private final Scheduler jdbcScheduler;
+    private final int streamPageSize;
+
+    @Autowired
+    public ReactiveEmployeeService(EmployeeService employeeService,
+                                   @Value("${app.reactive.jdbc-threads:10}") int jdbcThreads,
+                                   @Value("${app.reactive.queued-tasks:10000}") int queuedTasks,
+                                   @Value("${app.reactive.stream-page-size:200}") int streamPageSize) {
+        this.employeeService = employeeService;
+        this.jdbcScheduler = Schedulers.newBoundedElastic(jdbcThreads, queuedTasks, "employee-jdbc");
+        this.streamPageSize = streamPageSize;
+    }
+
+    public Mono<EmployeeResponse> getEmployeeByEmailUsingSpecifications(String email) {
+        return offload(() -> employeeService.getEmployeeByEmailUsingSpecifications(email));
+    }
+
+    public Mono<EmployeeResponse> getEmployeeByEmailUsingHQL(String email) {
+        return offload(() -> employeeService.getEmployeeByEmailUsingHQL(email));
+    }
+
+    public Mono<EmployeeResponse> getEmployeeByEmailUsingNativeSQL(String email) {
+        return offload(() -> employeeService.getEmployeeByEmailUsingNativeSQL(email));
+    }
+
+    public Mono<EmployeeResponse> getEmployeeByNameUsingSpecifications(String name) {
+        return offload(() -> employeeService.getEmployeeByNameUsingSpecifications(name));
+    }
+
+    public Mono<EmployeeResponse> getEmployeeByNameUsingHQL(String name) {
+        return offload(() -> employeeService.getEmployeeByNameUsingHQL(name));
+    }
+
+    public Mono<EmployeeResponse> getEmployeeByNameUsingNativeSQL(String name) {
+        return offload(() -> employeeService.getEmployeeByNameUsingNativeSQL(name));
+    }
+
+    public Mono<EmployeeResponse> createEmployee(CreateEmployeeRequest request) {
+        return offload(() -> employeeService.createEmployee(request));
+    }
+
+    public Mono<EmployeeResponse> updateEmployee(String email, UpdateEmployeeRequest request) {
+        return offload(() -> employeeService.updateEmployee(email, request));
+    }
+
+    public Mono<EmployeeResponse> updateEmployeePhone(String email, UpdatePhoneRequest request) {
+        return offload(() -> employeeService.updateEmployeePhone(email, request));
+    }
+
+    public Mono<Void> deleteEmployeeByEmail(String email) {
+        return offload(() -> {
+            employeeService.deleteEmployeeByEmail(email);
+            return null;
+        }).then();
+    }
+
+    // Streams all employees page by page; the next page is only fetched when
+    // the subscriber has drained the previous one, so a slow client holds no more than one page.
+    public Flux<EmployeeResponse> streamAllEmployees() {
+        String tenantId = TenantContext.current();
+        return fetchPageAfter(tenantId, 0L)
+                .expand(page -> page.size() < streamPageSize
+                        ? Mono.empty()
+                        : fetchPageAfter(tenantId, page.get(page.size() - 1).getId()))
+                .concatMapIterable(page -> page);
+    }
+
+    private Mono<List<EmployeeResponse>> fetchPageAfter(String tenantId, long afterId) {
+        return offload(tenantId, () -> employeeService.getEmployeesAfter(afterId, streamPageSize));
+    }
+
+    private <T> Mono<T> offload(Callable<T> call) {
+        return offload(TenantContext.current(), call);
+    }
+
+    private <T> Mono<T> offload(String tenantId, Callable<T> call) {
+        return Mono.fromCallable(() -> {
+            try (TenantContext.Scope ignored = TenantContext.enter(tenantId)) {
+                return call.call();
+            }
+        }).subscribeOn(jdbcScheduler);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jdbcScheduler.dispose();
+    }
+}
@@ -0,0 +1,75 @@
+package com.arqonz.employee.service;
+
+import com.arqonz.employee.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+// Hard-deletes soft-deleted employees (app.soft-delete.*) once they are older than the retention
+// period, which is how long a delete can still be restored. Runs on the purge cron, by default
+// every 10 minutes between 01:00 and 05:59, in batches of batch-size rows that each commit on
+// their own, with a pause in between so index maintenance and row locks stay short.
+@Component
+public class SoftDeletePurger {
+
+    private static final Logger log = LoggerFactory.getLogger(SoftDeletePurger.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final boolean enabled;
+    private final long retentionHours;
+    private final int batchSize;
+    private final long batchPauseMillis;
+    private final int maxBatchesPerRun;
+
+    @Autowired
+    public SoftDeletePurger(EmployeeRepository employeeRepository,
+                            @Value("${app.soft-delete.enabled:true}") boolean enabled,
+                            @Value("${app.soft-delete.retention-hours:24}") long retentionHours,
+                            @Value("${app.soft-delete.purge-batch-size:500}") int batchSize,
+                            @Value("${app.soft-delete.purge-batch-pause-ms:200}") long batchPauseMillis,
+                            @Value("${app.soft-delete.purge-max-batches-per-run:200}") int maxBatchesPerRun) {
+        this.employeeRepository = employeeRepository;
+        this.enabled = enabled;
+        this.retentionHours = retentionHours;
+        this.batchSize = batchSize;
+        this.batchPauseMillis = batchPauseMillis;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    // Returns the number of rows purged; a backlog larger than one run continues at the next tick
+    @Scheduled(cron = "${app.soft-delete.purge-cron:0 */10 1-5 * * *}")
+    public int purge() {
+        if (!enabled) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int purged = employeeRepository.purgeDeletedBefore(cutoff, batchSize);
+            total += purged;
+            if (purged < batchSize || !pause()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Purged {} soft-deleted employees in {} ms", total, (System.nanoTime() - start) / 1_000_000);
+        }
+        return total;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(batchPauseMillis);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
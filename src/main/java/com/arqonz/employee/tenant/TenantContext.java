@@ -0,0 +1,48 @@
+package com.arqonz.employee.tenant;
+
+import java.util.regex.Pattern;
+
+// Tenant of the work on the current thread. TenantFilter sets it for each /api request from the
+// X-Tenant-Id header; code outside a request (startup loads, scheduled jobs) runs as the default
+// tenant unless it enters another scope explicitly. ALL_TENANTS lifts the tenant restriction on
+// JPA queries, for jobs that maintain state for every tenant at once.
+public final class TenantContext {
+
+    public static final String HEADER = "X-Tenant-Id";
+    public static final String DEFAULT_TENANT = "default";
+    public static final String ALL_TENANTS = "*";
+    public static final int MAX_LENGTH = 64;
+
+    private static final Pattern VALID_TENANT = Pattern.compile("[a-z0-9][a-z0-9_-]{0," + (MAX_LENGTH - 1) + "}");
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static String current() {
+        String tenant = CURRENT.get();
+        return tenant != null ? tenant : DEFAULT_TENANT;
+    }
+
+    public static boolean isValid(String tenant) {
+        return tenant != null && VALID_TENANT.matcher(tenant).matches();
+    }
+
+    // Makes tenant current until the returned scope is closed, then restores the previous one
+    public static Scope enter(String tenant) {
+        String previous = CURRENT.get();
+        CURRENT.set(tenant);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
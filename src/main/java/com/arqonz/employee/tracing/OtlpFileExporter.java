@@ -0,0 +1,156 @@
+package com.arqonz.employee.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Writes finished traces as OTLP/JSON, one ExportTraceServiceRequest per line, which is the
+// format of the OpenTelemetry Collector's file exporter (readable by its otlpjsonfile receiver).
+// Requests only enqueue; a background thread serializes and writes, and drops traces when the
+// queue is full rather than slowing requests down.
+class OtlpFileExporter implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(OtlpFileExporter.class);
+    private static final int SPAN_KIND_INTERNAL = 1;
+    private static final int SPAN_KIND_SERVER = 2;
+    private static final int STATUS_ERROR = 2;
+
+    private final Path path;
+    private final String serviceName;
+    private final BlockingQueue<Trace> queue;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    OtlpFileExporter(Path path, String serviceName, int queueSize) {
+        this.path = path;
+        this.serviceName = serviceName;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.writerThread = new Thread(this::writeLoop, "trace-exporter");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    void export(Trace trace) {
+        if (!queue.offer(trace)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    long droppedTraces() {
+        return dropped.get();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        writerThread.interrupt();
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        List<Trace> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                Trace first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException ex) {
+                // close(): drain what is queued, then stop
+            }
+            queue.drainTo(batch);
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<Trace> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (Trace trace : batch) {
+                    writer.write(objectMapper.writeValueAsString(toOtlp(trace)));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("Failed to export {} traces to {}: {}", batch.size(), path, ex.getMessage());
+        }
+    }
+
+    private Map<String, Object> toOtlp(Trace trace) {
+        List<Map<String, Object>> spans = new ArrayList<>();
+        for (Span span : trace.spans()) {
+            boolean root = span == trace.root();
+            List<Map<String, Object>> attributes = new ArrayList<>();
+            attributes.add(attribute("stage", span.stage()));
+            if (root) {
+                attributes.add(Map.of("key", "http.response.status_code",
+                        "value", Map.of("intValue", String.valueOf(trace.httpStatus()))));
+                if (trace.droppedSpans() > 0) {
+                    attributes.add(Map.of("key", "tracing.dropped_spans",
+                            "value", Map.of("intValue", String.valueOf(trace.droppedSpans()))));
+                }
+            }
+
+            Map<String, Object> otlpSpan = new LinkedHashMap<>();
+            otlpSpan.put("traceId", trace.traceId());
+            otlpSpan.put("spanId", hex(span.spanId()));
+            if (span.parentSpanId() != 0) {
+                otlpSpan.put("parentSpanId", hex(span.parentSpanId()));
+            }
+            otlpSpan.put("name", span.name());
+            otlpSpan.put("kind", root ? SPAN_KIND_SERVER : SPAN_KIND_INTERNAL);
+            otlpSpan.put("startTimeUnixNano", String.valueOf(trace.epochNanos(span.startNanos())));
+            otlpSpan.put("endTimeUnixNano", String.valueOf(trace.epochNanos(span.endNanos())));
+            otlpSpan.put("attributes", attributes);
+            if (span.status() != null || (root && trace.httpStatus() >= 500)) {
+                otlpSpan.put("status", Map.of("code", STATUS_ERROR,
+                        "message", span.status() != null ? span.status() : "HTTP " + trace.httpStatus()));
+            }
+            spans.add(otlpSpan);
+        }
+        return Map.of("resourceSpans", List.of(Map.of(
+                "resource", Map.of("attributes", List.of(attribute("service.name", serviceName))),
+                "scopeSpans", List.of(Map.of(
+                        "scope", Map.of("name", "com.arqonz.employee.tracing"),
+                        "spans", spans)))));
+    }
+
+    private static Map<String, Object> attribute(String key, String value) {
+        return Map.of("key", key, "value", Map.of("stringValue", value));
+    }
+
+    private static String hex(long id) {
+        return String.format("%016x", id);
+    }
+}
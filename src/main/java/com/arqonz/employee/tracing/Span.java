@@ -0,0 +1,73 @@
+package com.arqonz.employee.tracing;
+
+// A timed stage of a traced request. Obtained from Tracer.span(...) and closed with
+// try-with-resources; outside a sampled request Tracer hands out NOOP, which records nothing.
+public final class Span implements AutoCloseable {
+
+    static final Span NOOP = new Span(null, null, null, 0, 0, 0);
+
+    private final Trace trace;
+    private final String stage;
+    private final String name;
+    private final long spanId;
+    private final long parentSpanId;
+    private final long startNanos;
+    private long endNanos;
+    private String status;
+
+    Span(Trace trace, String stage, String name, long spanId, long parentSpanId, long startNanos) {
+        this.trace = trace;
+        this.stage = stage;
+        this.name = name;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.startNanos = startNanos;
+    }
+
+    // Marks the span as failed; exported as an error status
+    public void error(Throwable ex) {
+        if (trace != null) {
+            status = ex.getClass().getSimpleName();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (trace != null && endNanos == 0) {
+            endNanos = System.nanoTime();
+            trace.closed(this);
+        }
+    }
+
+    String stage() {
+        return stage;
+    }
+
+    String name() {
+        return name;
+    }
+
+    long spanId() {
+        return spanId;
+    }
+
+    long parentSpanId() {
+        return parentSpanId;
+    }
+
+    long startNanos() {
+        return startNanos;
+    }
+
+    long endNanos() {
+        return endNanos;
+    }
+
+    long durationNanos() {
+        return endNanos - startNanos;
+    }
+
+    String status() {
+        return status;
+    }
+}
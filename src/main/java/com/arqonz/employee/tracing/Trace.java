@@ -0,0 +1,103 @@
+package com.arqonz.employee.tracing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// The spans of one sampled request. Confined to the request thread: spans nest strictly,
+// so the innermost open span is the parent of the next one.
+final class Trace {
+
+    static final int MAX_SPANS = 512;
+
+    private final String traceId;
+    private final long epochStartNanos;
+    private final long startNanos;
+    private final List<Span> spans = new ArrayList<>();
+    private final Deque<Span> open = new ArrayDeque<>();
+    private final Span root;
+    private int droppedSpans;
+    private int httpStatus;
+
+    Trace(String traceId, long remoteParentSpanId, String rootName) {
+        this.traceId = traceId;
+        this.startNanos = System.nanoTime();
+        this.epochStartNanos = System.currentTimeMillis() * 1_000_000L;
+        this.root = new Span(this, "total", rootName, newSpanId(), remoteParentSpanId, startNanos);
+        open.push(root);
+    }
+
+    Span start(String stage, String name) {
+        if (spans.size() >= MAX_SPANS) {
+            droppedSpans++;
+            return Span.NOOP;
+        }
+        Span span = new Span(this, stage, name, newSpanId(), open.isEmpty() ? 0 : open.peek().spanId(), System.nanoTime());
+        open.push(span);
+        return span;
+    }
+
+    void closed(Span span) {
+        open.remove(span);
+        spans.add(span);
+    }
+
+    void finish(int httpStatus) {
+        this.httpStatus = httpStatus;
+        root.close();
+    }
+
+    // Server-Timing header value: total duration per stage, stages in the order they were first
+    // entered. Nested stages overlap (controller includes service includes repository includes db).
+    String serverTiming() {
+        List<Span> byStart = new ArrayList<>(spans);
+        byStart.sort(Comparator.comparingLong(Span::startNanos));
+        Map<String, Long> byStage = new LinkedHashMap<>();
+        for (Span span : byStart) {
+            byStage.merge(span.stage(), span.durationNanos(), Long::sum);
+        }
+        StringBuilder header = new StringBuilder();
+        byStage.forEach((stage, nanos) -> header.append(header.length() == 0 ? "" : ", ")
+                .append(stage).append(";dur=").append(String.format(Locale.ROOT, "%.3f", nanos / 1e6)));
+        return header.append(", trace;desc=\"").append(traceId).append('"').toString();
+    }
+
+    String traceId() {
+        return traceId;
+    }
+
+    long epochNanos(long nanoTime) {
+        return epochStartNanos + (nanoTime - startNanos);
+    }
+
+    List<Span> spans() {
+        return spans;
+    }
+
+    Span root() {
+        return root;
+    }
+
+    int droppedSpans() {
+        return droppedSpans;
+    }
+
+    int httpStatus() {
+        return httpStatus;
+    }
+
+    static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return String.format("%016x%016x", random.nextLong(), random.nextLong() | 1);
+    }
+
+    private static long newSpanId() {
+        return ThreadLocalRandom.current().nextLong() | 1;
+    }
+}
@@ -0,0 +1,30 @@
+package com.arqonz.employee.tracing;
+
+// Entry point for instrumentation. The current trace lives in a ThreadLocal that is only set
+// for sampled requests, so on the unsampled path span() costs one ThreadLocal read.
+public final class Tracer {
+
+    private static final ThreadLocal<Trace> CURRENT = new ThreadLocal<>();
+
+    private Tracer() {
+    }
+
+    public static Span span(String stage, String name) {
+        Trace trace = CURRENT.get();
+        return trace == null ? Span.NOOP : trace.start(stage, name);
+    }
+
+    public static boolean isTracing() {
+        return CURRENT.get() != null;
+    }
+
+    static Trace begin(String traceId, long remoteParentSpanId, String rootName) {
+        Trace trace = new Trace(traceId, remoteParentSpanId, rootName);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,49 @@
+package com.arqonz.employee.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+// Spans around controller, service and repository calls. With tracing enabled but the request
+// not sampled, each advised call pays one ThreadLocal read; app.tracing.enabled=false removes
+// the proxies altogether. Created eagerly even in fast-boot mode, so the first advised call (a
+// health check on GET /) never has to create it while a bean that needs JPA is being built.
+@Aspect
+@Component
+@Lazy(false)
+@ConditionalOnProperty(name = "app.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingAspect {
+
+    @Around("within(com.arqonz.employee.controller..*) && execution(public * *(..))")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace("controller", joinPoint);
+    }
+
+    @Around("within(com.arqonz.employee.service..*) && execution(public * *(..))")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace("service", joinPoint);
+    }
+
+    @Around("this(com.arqonz.employee.repository.EmployeeRepository)")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace("repository", joinPoint);
+    }
+
+    private static Object trace(String stage, ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!Tracer.isTracing()) {
+            return joinPoint.proceed();
+        }
+        String name = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        try (Span span = Tracer.span(stage, name)) {
+            try {
+                return joinPoint.proceed();
+            } catch (Throwable ex) {
+                span.error(ex);
+                throw ex;
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.arqonz.employee.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Samples /api/** requests (app.tracing.sample-rate, or a W3C traceparent header with the
+// sampled flag) and traces them end to end. A sampled response is buffered so the Server-Timing
+// header can include serialization, then the trace is handed to the OTLP file exporter.
+// Unsampled requests pass straight through. Reactive endpoints complete on other threads and
+// are not traced.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@ConditionalOnProperty(name = "app.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingFilter extends OncePerRequestFilter implements DisposableBean {
+
+    static final String TRACEPARENT_HEADER = "traceparent";
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final double sampleRate;
+    private final OtlpFileExporter exporter;
+
+    @Autowired
+    public TracingFilter(@Value("${app.tracing.sample-rate:0.0}") double sampleRate,
+                         @Value("${app.tracing.export.enabled:true}") boolean exportEnabled,
+                         @Value("${app.tracing.export.path:./data/traces.otlp.jsonl}") String exportPath,
+                         @Value("${app.tracing.export.queue-size:1024}") int queueSize,
+                         @Value("${spring.application.name:employee-management-api}") String serviceName) {
+        this.sampleRate = sampleRate;
+        this.exporter = exportEnabled ? new OtlpFileExporter(Path.of(exportPath), serviceName, queueSize) : null;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !uri.startsWith("/api/") || uri.startsWith("/api/reactive/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String traceparent = request.getHeader(TRACEPARENT_HEADER);
+        boolean remoteSampled = isSampled(traceparent);
+        if (!remoteSampled && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Trace trace = remoteSampled
+                ? Tracer.begin(traceparent.substring(3, 35), Long.parseUnsignedLong(traceparent.substring(36, 52), 16),
+                        request.getMethod() + " " + request.getRequestURI())
+                : Tracer.begin(Trace.newTraceId(), 0, request.getMethod() + " " + request.getRequestURI());
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            Tracer.end();
+            trace.finish(wrapper.getStatus());
+            wrapper.setHeader(SERVER_TIMING_HEADER, trace.serverTiming());
+            wrapper.copyBodyToResponse();
+            if (exporter != null) {
+                exporter.export(trace);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (exporter != null) {
+            exporter.close();
+        }
+    }
+
+    // traceparent: 00-<32 hex trace id>-<16 hex parent id>-<2 hex flags>, bit 0 of flags = sampled
+    static boolean isSampled(String traceparent) {
+        if (traceparent == null || traceparent.length() != 55 || !traceparent.startsWith("00-")
+                || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-') {
+            return false;
+        }
+        for (int i = 3; i < 55; i++) {
+            if (i != 35 && i != 52 && Character.digit(traceparent.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return (Character.digit(traceparent.charAt(54), 16) & 1) == 1;
+    }
+}
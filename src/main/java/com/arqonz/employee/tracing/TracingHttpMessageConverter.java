@@ -0,0 +1,25 @@
+package com.arqonz.employee.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+// Jackson converter with a "serialize" span around writing the response body
+public class TracingHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public TracingHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        try (Span span = Tracer.span("serialize", "jackson.write")) {
+            super.writeInternal(object, type, outputMessage);
+        }
+    }
+}
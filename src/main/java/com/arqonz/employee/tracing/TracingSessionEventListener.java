@@ -0,0 +1,65 @@
+package com.arqonz.employee.tracing;
+
+import org.hibernate.BaseSessionEventListener;
+
+// Hibernate session events as spans, registered through hibernate.session.events.auto.
+// Hibernate creates one listener per session and reports JDBC work sequentially, so each kind of
+// event needs at most one open span. "db" covers preparing and executing statements only;
+// repository time minus db time is spent building the query and hydrating entities.
+public class TracingSessionEventListener extends BaseSessionEventListener {
+
+    private transient Span connection = Span.NOOP;
+    private transient Span prepare = Span.NOOP;
+    private transient Span execute = Span.NOOP;
+    private transient Span flush = Span.NOOP;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        connection = Tracer.span("pool", "jdbc.acquire-connection");
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        connection.close();
+    }
+
+    @Override
+    public void jdbcPrepareStatementStart() {
+        prepare = Tracer.span("db", "jdbc.prepare");
+    }
+
+    @Override
+    public void jdbcPrepareStatementEnd() {
+        prepare.close();
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        execute = Tracer.span("db", "jdbc.execute");
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        execute.close();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        execute = Tracer.span("db", "jdbc.execute-batch");
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        execute.close();
+    }
+
+    @Override
+    public void flushStart() {
+        flush = Tracer.span("flush", "hibernate.flush");
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        flush.close();
+    }
+}
@@ -0,0 +1,9 @@
+CREATE TABLE employees (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name VARCHAR(255) NOT NULL,
+    last_name  VARCHAR(255),
+    email      VARCHAR(255) NOT NULL,
+    phone      VARCHAR(255),
+    address    VARCHAR(255),
+    CONSTRAINT uk_employees_email UNIQUE (email)
+);
@@ -0,0 +1,3 @@
+CREATE INDEX idx_employees_first_name ON employees (first_name);
+CREATE INDEX idx_employees_last_name ON employees (last_name);
+CREATE INDEX idx_employees_phone ON employees (phone);
@@ -0,0 +1,16 @@
+-- Emails that differ only by case or surrounding spaces cannot share the unique normalized column.
+-- Fail before changing anything, naming each colliding address and its row ids; merge or rename
+-- those rows, then rerun. (H2 has no RAISE: the failing cast carries the message.)
+SELECT CAST('Cannot add uk_employees_email_normalized, emails that collide once lowercased and trimmed: '
+            || LISTAGG(normalized || ' (ids ' || ids || ')', '; ') WITHIN GROUP (ORDER BY normalized) AS INT)
+FROM (SELECT LOWER(TRIM(email)) AS normalized,
+             LISTAGG(CAST(id AS VARCHAR), ', ') WITHIN GROUP (ORDER BY id) AS ids
+      FROM employees
+      GROUP BY LOWER(TRIM(email))
+      HAVING COUNT(*) > 1) duplicates
+HAVING COUNT(*) > 0;
+
+ALTER TABLE employees ADD COLUMN email_normalized VARCHAR(255);
+UPDATE employees SET email_normalized = LOWER(TRIM(email));
+ALTER TABLE employees ALTER COLUMN email_normalized SET NOT NULL;
+ALTER TABLE employees ADD CONSTRAINT uk_employees_email_normalized UNIQUE (email_normalized);
@@ -0,0 +1,2 @@
+ALTER TABLE employees ADD COLUMN deleted_at TIMESTAMP;
+CREATE INDEX idx_employees_deleted_at ON employees (deleted_at);
@@ -0,0 +1,11 @@
+ALTER TABLE employees ADD COLUMN tenant_id VARCHAR(64) DEFAULT 'default' NOT NULL;
+ALTER TABLE employees DROP CONSTRAINT uk_employees_email;
+ALTER TABLE employees DROP CONSTRAINT uk_employees_email_normalized;
+ALTER TABLE employees ADD CONSTRAINT uk_employees_tenant_email UNIQUE (tenant_id, email);
+ALTER TABLE employees ADD CONSTRAINT uk_employees_tenant_email_normalized UNIQUE (tenant_id, email_normalized);
+DROP INDEX idx_employees_first_name;
+DROP INDEX idx_employees_last_name;
+DROP INDEX idx_employees_phone;
+CREATE INDEX idx_employees_tenant_first_name ON employees (tenant_id, first_name);
+CREATE INDEX idx_employees_tenant_last_name ON employees (tenant_id, last_name);
+CREATE INDEX idx_employees_tenant_phone ON employees (tenant_id, phone);
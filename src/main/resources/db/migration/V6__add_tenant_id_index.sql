@@ -0,0 +1,3 @@
+-- Per-tenant id order, for keyset pages and the id ranges of parallel exports. Without it H2 plans
+-- "tenant_id = ? AND id BETWEEN ? AND ?" through idx_employees_deleted_at and reads every row.
+CREATE INDEX idx_employees_tenant_id ON employees (tenant_id, id);
@@ -0,0 +1,11 @@
+-- Soft-deleted rows keep their email until purged; uniqueness now covers live rows only, so an
+-- employee can be re-created right after a delete. live_email_normalized is NULL for deleted rows
+-- and unique constraints ignore NULLs. Exact-email uniqueness is implied by the normalized key,
+-- but its index is not: plain indexes take over for lookups and for keyset sorts by email.
+ALTER TABLE employees ADD COLUMN live_email_normalized VARCHAR(255)
+    GENERATED ALWAYS AS (CASE WHEN deleted_at IS NULL THEN email_normalized END);
+ALTER TABLE employees DROP CONSTRAINT uk_employees_tenant_email;
+ALTER TABLE employees DROP CONSTRAINT uk_employees_tenant_email_normalized;
+ALTER TABLE employees ADD CONSTRAINT uk_employees_tenant_live_email UNIQUE (tenant_id, live_email_normalized);
+CREATE INDEX idx_employees_tenant_email_normalized ON employees (tenant_id, email_normalized);
+CREATE INDEX idx_employees_tenant_email ON employees (tenant_id, email);
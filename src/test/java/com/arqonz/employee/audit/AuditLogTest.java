@@ -0,0 +1,101 @@
+package com.arqonz.employee.audit;
+
+import com.arqonz.employee.dto.EmployeeHistoryResponse;
+import com.arqonz.employee.dto.EmployeeResponse;
+import com.arqonz.employee.service.EmployeeChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    private AuditLog auditLog;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        auditLog.close();
+    }
+
+    @Test
+    void testRecordsOnlyChangedFieldsMostRecentFirst() throws Exception {
+        auditLog = open(DataSize.ofMegabytes(1));
+        EmployeeResponse created = new EmployeeResponse(1L, "John", null, "John.Doe@example.com", null, null);
+        EmployeeResponse updated = new EmployeeResponse(1L, "John", "Doe", "John.Doe@example.com", "555", null);
+
+        auditLog.onEmployeeChanged(new EmployeeChangedEvent(null, created));
+        auditLog.onEmployeeChanged(new EmployeeChangedEvent(created, updated));
+        auditLog.onEmployeeChanged(new EmployeeChangedEvent(updated, null));
+        assertTrue(auditLog.awaitWritten(5000));
+
+        List<EmployeeHistoryResponse.Entry> history = auditLog.history("default", "john.doe@example.com", 10);
+        assertEquals(List.of("DELETED", "UPDATED", "CREATED"),
+                history.stream().map(EmployeeHistoryResponse.Entry::getOperation).toList());
+        assertEquals(List.of("lastName", "phone"), List.copyOf(history.get(1).getChanges().keySet()));
+        assertEquals(new EmployeeHistoryResponse.Change(null, "555"), history.get(1).getChanges().get("phone"));
+        assertEquals("Doe", history.get(0).getChanges().get("lastName").getFrom());
+        assertNull(history.get(0).getChanges().get("lastName").getTo());
+        assertEquals(1, auditLog.history("default", "john.doe@example.com", 1).size());
+        assertTrue(auditLog.history("default", "jane@example.com", 10).isEmpty());
+    }
+
+    @Test
+    void testReopensRotatedSegmentsFromIndexFiles() throws Exception {
+        auditLog = open(DataSize.ofBytes(256));
+        for (int i = 0; i < 40; i++) {
+            auditLog.onEmployeeChanged(new EmployeeChangedEvent(
+                    new EmployeeResponse(7L, "Jane", null, "jane@example.com", String.valueOf(i), null),
+                    new EmployeeResponse(7L, "Jane", null, "jane@example.com", String.valueOf(i + 1), null)));
+            assertTrue(auditLog.awaitWritten(5000));
+        }
+        auditLog.close();
+        assertTrue(countFiles(".idx") > 1);
+
+        auditLog = open(DataSize.ofBytes(256));
+
+        List<EmployeeHistoryResponse.Entry> history = auditLog.history("default", "jane@example.com", 100);
+        assertEquals(40, history.size());
+        assertEquals("40", history.get(0).getChanges().get("phone").getTo());
+        assertEquals("0", history.get(39).getChanges().get("phone").getFrom());
+    }
+
+    @Test
+    void testTruncatesTornRecordAtEndOfActiveSegment() throws Exception {
+        auditLog = open(DataSize.ofMegabytes(1));
+        EmployeeResponse john = new EmployeeResponse(1L, "John", null, "john@example.com", null, null);
+        auditLog.onEmployeeChanged(new EmployeeChangedEvent(null, john));
+        assertTrue(auditLog.awaitWritten(5000));
+        auditLog.close();
+        Files.write(tempDir.resolve("audit-00000001.log"), new byte[] {0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        auditLog = open(DataSize.ofMegabytes(1));
+        auditLog.onEmployeeChanged(new EmployeeChangedEvent(john, null));
+        assertTrue(auditLog.awaitWritten(5000));
+
+        assertEquals(List.of("DELETED", "CREATED"), auditLog.history("default", "john@example.com", 10).stream()
+                .map(EmployeeHistoryResponse.Entry::getOperation).toList());
+    }
+
+    private AuditLog open(DataSize segmentSize) throws Exception {
+        AuditLog log = new AuditLog(true, tempDir.toString(), segmentSize, 16, 1024, false);
+        log.start();
+        return log;
+    }
+
+    private long countFiles(String suffix) throws Exception {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.filter(file -> file.toString().endsWith(suffix)).count();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.arqonz.employee.backup;
+
+import com.arqonz.employee.dto.SnapshotStatusResponse;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.channels.FileChannel;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeStoreSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    private JdbcDataSource dataSource;
+    private Connection keepAlive;
+    private EmployeeStoreSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:snapshot-" + UUID.randomUUID());
+        keepAlive = dataSource.getConnection();
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("CREATE TABLE employees (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                    + "tenant_id VARCHAR(64) DEFAULT 'default' NOT NULL, first_name VARCHAR(255) NOT NULL, "
+                    + "last_name VARCHAR(255), email VARCHAR(255) NOT NULL, email_normalized VARCHAR(255) NOT NULL, "
+                    + "phone VARCHAR(255), address VARCHAR(255), deleted_at TIMESTAMP(6), "
+                    + "UNIQUE (tenant_id, email_normalized))");
+        }
+        snapshot = new EmployeeStoreSnapshot(dataSource, tempDir.resolve("employees.snapshot").toString(), true, 1000);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        snapshot.close();
+        keepAlive.close();
+    }
+
+    @Test
+    void testRestoresRowsIdsAndSoftDeletesFromSnapshot() throws Exception {
+        insertRows(20_000);
+        execute("UPDATE employees SET deleted_at = TIMESTAMP '2026-01-02 03:04:05.123456', phone = NULL WHERE id = 7");
+        execute("UPDATE employees SET tenant_id = 'acme' WHERE id = 8");
+
+        SnapshotStatusResponse status = snapshot.snapshot();
+        assertEquals("COMPLETED", status.getState());
+        assertEquals(20_000L, status.getRows());
+        execute("TRUNCATE TABLE employees RESTART IDENTITY");
+
+        assertEquals(20_000L, snapshot.restore());
+        assertEquals("20000", query("SELECT COUNT(*) FROM employees"));
+        assertEquals("Name 12345|employee12345@example.com|employee12345@example.com|555-12345",
+                query("SELECT first_name || '|' || email || '|' || email_normalized || '|' || phone FROM employees WHERE id = 12345"));
+        assertEquals("2026-01-02 03:04:05.123456", query("SELECT CAST(deleted_at AS VARCHAR) FROM employees WHERE id = 7 AND phone IS NULL"));
+        assertEquals("acme|default", query("SELECT MIN(tenant_id) || '|' || MAX(tenant_id) FROM employees WHERE id IN (8, 9)"));
+        execute("INSERT INTO employees (first_name, email, email_normalized) VALUES ('New', 'new@example.com', 'new@example.com')");
+        assertEquals("20001", query("SELECT id FROM employees WHERE email = 'new@example.com'"));
+    }
+
+    @Test
+    void testRejectsDamagedSnapshotAndLeavesTableEmpty() throws Exception {
+        insertRows(3_000);
+        snapshot.snapshot();
+        execute("TRUNCATE TABLE employees RESTART IDENTITY");
+        try (FileChannel channel = FileChannel.open(tempDir.resolve("employees.snapshot"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {1, 2, 3, 4}), SnapshotFile.HEADER_SIZE + 40);
+        }
+
+        assertThrows(SnapshotFile.SnapshotCorruptException.class, () -> snapshot.restore());
+        assertEquals("0", query("SELECT COUNT(*) FROM employees"));
+    }
+
+    @Test
+    void testStartSnapshotRunsInBackground() throws Exception {
+        insertRows(10);
+
+        SnapshotStatusResponse started = snapshot.startSnapshot();
+        assertEquals("RUNNING", started.getState());
+        for (int i = 0; i < 500 && "RUNNING".equals(snapshot.getStatus().getState()); i++) {
+            Thread.sleep(10);
+        }
+
+        assertEquals("COMPLETED", snapshot.getStatus().getState());
+        assertEquals(10L, snapshot.getStatus().getRows());
+        assertEquals(started.getStartedAt(), snapshot.getStatus().getStartedAt());
+    }
+
+    private void insertRows(int count) throws Exception {
+        try (PreparedStatement statement = keepAlive.prepareStatement(
+                "INSERT INTO employees (first_name, email, email_normalized, phone) VALUES (?, ?, ?, ?)")) {
+            for (int i = 1; i <= count; i++) {
+                statement.setString(1, "Name " + i);
+                statement.setString(2, "employee" + i + "@example.com");
+                statement.setString(3, "employee" + i + "@example.com");
+                statement.setString(4, "555-" + i);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void execute(String sql) throws Exception {
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private String query(String sql) throws Exception {
+        try (Statement statement = keepAlive.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            assertTrue(rs.next());
+            return rs.getString(1);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.arqonz.employee.cache;
+
+import com.arqonz.employee.dto.EmployeeResponse;
+import com.arqonz.employee.service.EmployeeChangedEvent;
+import com.arqonz.employee.tenant.TenantContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CyclicBarrier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeCacheTest {
+
+    private final EmployeeCache cache = new EmployeeCache(true, 300, 100, 2);
+
+    @Test
+    void testDeleteLeavesTombstoneUntilRecreated() {
+        EmployeeResponse john = new EmployeeResponse(1L, "John", "Doe", "John.Doe@example.com", null, null);
+        cache.put(john, cache.generation());
+        assertTrue(cache.get("john.doe@example.com").isPresent());
+
+        cache.onEmployeeChanged(new EmployeeChangedEvent(john, null));
+
+        assertTrue(cache.get("john.doe@example.com").isEmpty());
+        assertTrue(cache.isTombstoned("JOHN.DOE@example.com"));
+
+        cache.onEmployeeChanged(new EmployeeChangedEvent(null, john));
+
+        assertFalse(cache.isTombstoned("john.doe@example.com"));
+        assertTrue(cache.get("john.doe@example.com").isEmpty());
+    }
+
+    @Test
+    void testLoadStartedBeforeDeleteIsNotCached() {
+        EmployeeResponse john = new EmployeeResponse(1L, "John", "Doe", "john.doe@example.com", null, null);
+        long generation = cache.generation();
+
+        cache.onEmployeeChanged(new EmployeeChangedEvent(john, null));
+        cache.put(john, generation);
+
+        assertTrue(cache.get("john.doe@example.com").isEmpty());
+        assertTrue(cache.isTombstoned("john.doe@example.com"));
+    }
+
+    @Test
+    void testLoadRacingAnInvalidationIsNeverCached() throws Exception {
+        EmployeeResponse stale = new EmployeeResponse(1L, "John", "Doe", "john.doe@example.com", null, null);
+        for (int i = 0; i < 2_000; i++) {
+            long generation = cache.generation();
+            CyclicBarrier start = new CyclicBarrier(2);
+            Thread loader = new Thread(() -> {
+                await(start);
+                cache.put(stale, generation);
+            });
+            loader.start();
+            await(start);
+            cache.invalidate("john.doe@example.com");
+            loader.join();
+
+            assertTrue(cache.get("john.doe@example.com").isEmpty(), "stale load cached in round " + i);
+        }
+    }
+
+    @Test
+    void testTenantsHaveSeparatePartitions() {
+        EmployeeResponse john = new EmployeeResponse(1L, "John", "Doe", "john.doe@example.com", null, null);
+        cache.put(john, cache.generation());
+
+        try (TenantContext.Scope ignored = TenantContext.enter("acme")) {
+            assertTrue(cache.get("john.doe@example.com").isEmpty());
+            long generation = cache.generation();
+            cache.onEmployeeChanged(new EmployeeChangedEvent("default", john, null));
+            cache.put(new EmployeeResponse(7L, "John", "Roe", "john.doe@example.com", null, null), generation);
+            assertEquals(7L, cache.get("john.doe@example.com").orElseThrow().getId());
+        }
+
+        assertTrue(cache.isTombstoned("john.doe@example.com"));
+        try (TenantContext.Scope ignored = TenantContext.enter("third")) {
+            cache.put(john, cache.generation());
+            assertTrue(cache.get("john.doe@example.com").isEmpty());
+        }
+        assertEquals(0, cache.size("third"));
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
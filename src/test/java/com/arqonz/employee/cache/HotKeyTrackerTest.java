@@ -0,0 +1,103 @@
+package com.arqonz.employee.cache;
+
+import com.arqonz.employee.tenant.TenantContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotKeyTrackerTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testSketchNeverUndercounts() {
+        CountMinSketch sketch = new CountMinSketch(1000, Long.MAX_VALUE);
+        assertEquals(1024, sketch.width());
+        for (int i = 0; i < 5000; i++) {
+            sketch.add("user" + (i % 500) + "@example.com", 1);
+        }
+        for (int i = 0; i < 500; i++) {
+            assertTrue(sketch.estimate("user" + i + "@example.com") >= 10);
+        }
+        assertTrue(sketch.estimate("nobody@example.com") < 100);
+    }
+
+    @Test
+    void testSketchHalvesAfterSampleSize() {
+        CountMinSketch sketch = new CountMinSketch(64, 100);
+        sketch.add("john.doe@example.com", 99);
+        assertEquals(99, sketch.estimate("john.doe@example.com"));
+
+        sketch.add("john.doe@example.com", 1);
+
+        assertEquals(50, sketch.estimate("john.doe@example.com"));
+        assertEquals(1, sketch.halvings());
+    }
+
+    @Test
+    void testKeepsHottestKeysPerTenant() {
+        HotKeyTracker tracker = new HotKeyTracker(true, true, dir.resolve("hot-keys.tsv").toString(), 3, 4096);
+        for (int i = 0; i < 50; i++) {
+            tracker.record("cold" + i + "@example.com");
+        }
+        for (int i = 0; i < 20; i++) {
+            tracker.record("Hot@Example.com");
+            if (i % 2 == 0) {
+                tracker.record("warm@example.com");
+            }
+        }
+        try (TenantContext.Scope ignored = TenantContext.enter("acme")) {
+            for (int i = 0; i < 15; i++) {
+                tracker.record("hot@example.com");
+            }
+        }
+
+        List<HotKeyTracker.HotKey> hotKeys = tracker.hotKeys();
+
+        assertEquals(3, hotKeys.size());
+        assertEquals("default", hotKeys.get(0).getTenantId());
+        assertEquals("hot@example.com", hotKeys.get(0).getEmail());
+        assertEquals(20, hotKeys.get(0).getHits());
+        assertEquals("acme", hotKeys.get(1).getTenantId());
+        assertEquals(15, hotKeys.get(1).getHits());
+        assertEquals("warm@example.com", hotKeys.get(2).getEmail());
+    }
+
+    @Test
+    void testHotKeysSurviveRestart() {
+        String path = dir.resolve("hot-keys.tsv").toString();
+        HotKeyTracker tracker = new HotKeyTracker(true, true, path, 10, 4096);
+        for (int i = 0; i < 5; i++) {
+            tracker.record("john.doe@example.com");
+        }
+        try (TenantContext.Scope ignored = TenantContext.enter("acme")) {
+            tracker.record("jane@example.com");
+        }
+        tracker.save();
+
+        HotKeyTracker restarted = new HotKeyTracker(true, true, path, 10, 4096);
+        restarted.load();
+
+        List<HotKeyTracker.HotKey> hotKeys = restarted.hotKeys();
+        assertEquals(2, hotKeys.size());
+        assertEquals("john.doe@example.com", hotKeys.get(0).getEmail());
+        assertEquals(5, restarted.estimate("default", "John.Doe@example.com"));
+        assertEquals(1, restarted.estimate("acme", "jane@example.com"));
+    }
+
+    @Test
+    void testDisabledWithCache() {
+        HotKeyTracker tracker = new HotKeyTracker(false, true, dir.resolve("hot-keys.tsv").toString(), 10, 4096);
+        tracker.record("john.doe@example.com");
+        tracker.save();
+
+        assertFalse(tracker.isEnabled());
+        assertTrue(tracker.hotKeys().isEmpty());
+        assertFalse(dir.resolve("hot-keys.tsv").toFile().exists());
+    }
+}
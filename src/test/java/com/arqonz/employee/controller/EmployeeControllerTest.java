@@ -1,24 +1,35 @@
 package com.arqonz.employee.controller;
 
+import com.arqonz.employee.cache.IdempotencyStore;
 import com.arqonz.employee.dto.CreateEmployeeRequest;
+import com.arqonz.employee.dto.EmployeeFields;
 import com.arqonz.employee.dto.EmployeeResponse;
+import com.arqonz.employee.dto.FullTextSearchResponse;
 import com.arqonz.employee.dto.UpdateEmployeeRequest;
 import com.arqonz.employee.dto.UpdatePhoneRequest;
+import com.arqonz.employee.exception.ConflictException;
+import com.arqonz.employee.service.EmployeeExporter;
 import com.arqonz.employee.service.EmployeeService;
+import com.arqonz.employee.service.LookupStrategy;
+import com.arqonz.employee.service.LookupStrategyRouter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(EmployeeController.class)
+@Import(IdempotencyStore.class)
 class EmployeeControllerTest {
     
     @Autowired
@@ -27,6 +38,12 @@ class EmployeeControllerTest {
     @MockBean
     private EmployeeService employeeService;
     
+    @MockBean
+    private EmployeeExporter employeeExporter;
+    
+    @MockBean
+    private LookupStrategyRouter lookupStrategyRouter;
+    
     @Autowired
     private ObjectMapper objectMapper;
     
@@ -36,7 +53,7 @@ class EmployeeControllerTest {
         String email = "john.doe@example.com";
         EmployeeResponse response = new EmployeeResponse(1L, "John", "Doe", email, "1234567890", "123 Main St");
         
-        when(employeeService.getEmployeeByEmailUsingSpecifications(email)).thenReturn(response);
+        when(employeeService.getEmployeeByEmailUsingSpecifications(email, EmployeeFields.ALL)).thenReturn(response);
         
         // When & Then
         mockMvc.perform(get("/api/employees/email/{email}/specifications", email))
@@ -44,7 +61,25 @@ class EmployeeControllerTest {
                 .andExpect(jsonPath("$.email").value(email))
                 .andExpect(jsonPath("$.firstName").value("John"));
         
-        verify(employeeService, times(1)).getEmployeeByEmailUsingSpecifications(email);
+        verify(employeeService, times(1)).getEmployeeByEmailUsingSpecifications(email, EmployeeFields.ALL);
+    }
+    
+    @Test
+    void testGetEmployeeByEmail_RoutedStrategy() throws Exception {
+        // Given
+        String email = "john.doe@example.com";
+        EmployeeResponse response = new EmployeeResponse(1L, "John", "Doe", email, "1234567890", "123 Main St");
+        
+        when(lookupStrategyRouter.choose(LookupStrategyRouter.Kind.EMAIL)).thenReturn(LookupStrategy.NATIVE_SQL);
+        when(employeeService.getEmployeeByEmail(email, LookupStrategy.NATIVE_SQL, EmployeeFields.ALL)).thenReturn(response);
+        
+        // When & Then
+        mockMvc.perform(get("/api/employees/email/{email}", email))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Lookup-Strategy", "native"))
+                .andExpect(jsonPath("$.email").value(email));
+        
+        verify(employeeService, times(1)).getEmployeeByEmail(email, LookupStrategy.NATIVE_SQL, EmployeeFields.ALL);
     }
     
     @Test
@@ -53,14 +88,14 @@ class EmployeeControllerTest {
         String email = "john.doe@example.com";
         EmployeeResponse response = new EmployeeResponse(1L, "John", "Doe", email, "1234567890", "123 Main St");
         
-        when(employeeService.getEmployeeByEmailUsingHQL(email)).thenReturn(response);
+        when(employeeService.getEmployeeByEmailUsingHQL(email, EmployeeFields.ALL)).thenReturn(response);
         
         // When & Then
         mockMvc.perform(get("/api/employees/email/{email}/hql", email))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.email").value(email));
         
-        verify(employeeService, times(1)).getEmployeeByEmailUsingHQL(email);
+        verify(employeeService, times(1)).getEmployeeByEmailUsingHQL(email, EmployeeFields.ALL);
     }
     
     @Test
@@ -69,14 +104,14 @@ class EmployeeControllerTest {
         String email = "john.doe@example.com";
         EmployeeResponse response = new EmployeeResponse(1L, "John", "Doe", email, "1234567890", "123 Main St");
         
-        when(employeeService.getEmployeeByEmailUsingNativeSQL(email)).thenReturn(response);
+        when(employeeService.getEmployeeByEmailUsingNativeSQL(email, EmployeeFields.ALL)).thenReturn(response);
         
         // When & Then
         mockMvc.perform(get("/api/employees/email/{email}/native", email))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.email").value(email));
         
-        verify(employeeService, times(1)).getEmployeeByEmailUsingNativeSQL(email);
+        verify(employeeService, times(1)).getEmployeeByEmailUsingNativeSQL(email, EmployeeFields.ALL);
     }
     
     @Test
@@ -85,14 +120,14 @@ class EmployeeControllerTest {
         String name = "John";
         EmployeeResponse response = new EmployeeResponse(1L, name, "Doe", "john.doe@example.com", "1234567890", "123 Main St");
         
-        when(employeeService.getEmployeeByNameUsingSpecifications(name)).thenReturn(response);
+        when(employeeService.getEmployeeByNameUsingSpecifications(name, EmployeeFields.ALL)).thenReturn(response);
         
         // When & Then
         mockMvc.perform(get("/api/employees/name/{name}/specifications", name))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.firstName").value(name));
         
-        verify(employeeService, times(1)).getEmployeeByNameUsingSpecifications(name);
+        verify(employeeService, times(1)).getEmployeeByNameUsingSpecifications(name, EmployeeFields.ALL);
     }
     
     @Test
@@ -101,14 +136,14 @@ class EmployeeControllerTest {
         String name = "John";
         EmployeeResponse response = new EmployeeResponse(1L, name, "Doe", "john.doe@example.com", "1234567890", "123 Main St");
         
-        when(employeeService.getEmployeeByNameUsingHQL(name)).thenReturn(response);
+        when(employeeService.getEmployeeByNameUsingHQL(name, EmployeeFields.ALL)).thenReturn(response);
         
         // When & Then
         mockMvc.perform(get("/api/employees/name/{name}/hql", name))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.firstName").value(name));
         
-        verify(employeeService, times(1)).getEmployeeByNameUsingHQL(name);
+        verify(employeeService, times(1)).getEmployeeByNameUsingHQL(name, EmployeeFields.ALL);
     }
     
     @Test
@@ -117,14 +152,63 @@ class EmployeeControllerTest {
         String name = "John";
         EmployeeResponse response = new EmployeeResponse(1L, name, "Doe", "john.doe@example.com", "1234567890", "123 Main St");
         
-        when(employeeService.getEmployeeByNameUsingNativeSQL(name)).thenReturn(response);
+        when(employeeService.getEmployeeByNameUsingNativeSQL(name, EmployeeFields.ALL)).thenReturn(response);
         
         // When & Then
         mockMvc.perform(get("/api/employees/name/{name}/native", name))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.firstName").value(name));
         
-        verify(employeeService, times(1)).getEmployeeByNameUsingNativeSQL(name);
+        verify(employeeService, times(1)).getEmployeeByNameUsingNativeSQL(name, EmployeeFields.ALL);
+    }
+    
+    @Test
+    void testFullTextSearch() throws Exception {
+        // Given
+        EmployeeResponse employee = new EmployeeResponse(1L, "John", "Doe", "john.doe@example.com", "1234567890", "Building 4, Springfield");
+        FullTextSearchResponse response = new FullTextSearchResponse(
+                List.of(new FullTextSearchResponse.Hit(2.5f, employee)), 1, true, 0, 20);
+        
+        when(employeeService.fullTextSearch("building 4", 0, 20, EmployeeFields.ALL)).thenReturn(response);
+        
+        // When & Then
+        mockMvc.perform(get("/api/employees/fulltext").param("q", "building 4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalHits").value(1))
+                .andExpect(jsonPath("$.hits[0].employee.address").value("Building 4, Springfield"));
+        
+        verify(employeeService, times(1)).fullTextSearch("building 4", 0, 20, EmployeeFields.ALL);
+    }
+    
+    @Test
+    void testGetEmployeeByEmail_SparseFields() throws Exception {
+        // Given
+        String email = "john.doe@example.com";
+        EmployeeFields fields = EmployeeFields.parse("email,phone");
+        EmployeeResponse response = new EmployeeResponse(null, null, null, email, null, null);
+        
+        when(employeeService.getEmployeeByEmailUsingHQL(eq(email), any(EmployeeFields.class)))
+                .thenReturn(fields.apply(response));
+        
+        // When & Then - only the selected fields are written, null ones included
+        mockMvc.perform(get("/api/employees/email/{email}/hql", email).param("fields", "email,phone"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(email))
+                .andExpect(jsonPath("$.phone").isEmpty())
+                .andExpect(jsonPath("$.id").doesNotExist())
+                .andExpect(jsonPath("$.firstName").doesNotExist());
+        
+        verify(employeeService, times(1)).getEmployeeByEmailUsingHQL(eq(email),
+                argThat(selected -> !selected.isAll() && selected.fields().size() == 2));
+    }
+    
+    @Test
+    void testGetEmployeeByEmail_UnknownField() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/employees/email/{email}/hql", "john.doe@example.com").param("fields", "email,salary"))
+                .andExpect(status().isBadRequest());
+        
+        verify(employeeService, never()).getEmployeeByEmailUsingHQL(anyString(), any(EmployeeFields.class));
     }
     
     @Test
@@ -150,6 +234,61 @@ class EmployeeControllerTest {
         verify(employeeService, times(1)).createEmployee(any(CreateEmployeeRequest.class));
     }
     
+    @Test
+    void testCreateEmployee_IdempotentRetry() throws Exception {
+        // Given
+        CreateEmployeeRequest request = new CreateEmployeeRequest();
+        request.setName("Jane");
+        request.setEmail("jane@example.com");
+        
+        EmployeeResponse response = new EmployeeResponse(2L, "Jane", null, "jane@example.com", null, null);
+        
+        when(employeeService.createEmployee(any(CreateEmployeeRequest.class))).thenReturn(response);
+        
+        // When & Then
+        mockMvc.perform(post("/api/employees")
+                        .header("Idempotency-Key", "create-jane-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "false"));
+        
+        mockMvc.perform(post("/api/employees")
+                        .header("Idempotency-Key", "create-jane-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.id").value(2));
+        
+        request.setName("Janet");
+        mockMvc.perform(post("/api/employees")
+                        .header("Idempotency-Key", "create-jane-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+        
+        verify(employeeService, times(1)).createEmployee(any(CreateEmployeeRequest.class));
+    }
+    
+    @Test
+    void testCreateEmployee_DuplicateEmail() throws Exception {
+        // Given
+        CreateEmployeeRequest request = new CreateEmployeeRequest();
+        request.setName("Jane");
+        request.setEmail("jane@example.com");
+        
+        when(employeeService.createEmployee(any(CreateEmployeeRequest.class)))
+                .thenThrow(new ConflictException("Employee with email jane@example.com already exists"));
+        
+        // When & Then
+        mockMvc.perform(post("/api/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Employee with email jane@example.com already exists"));
+    }
+    
     @Test
     void testCreateEmployee_ValidationError() throws Exception {
         // Given
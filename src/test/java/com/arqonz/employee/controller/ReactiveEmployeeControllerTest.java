@@ -0,0 +1,82 @@
+package com.arqonz.employee.controller;
+
+import com.arqonz.employee.dto.EmployeeResponse;
+import com.arqonz.employee.service.ReactiveEmployeeService;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReactiveEmployeeController.class)
+class ReactiveEmployeeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReactiveEmployeeService reactiveEmployeeService;
+
+    @Test
+    void testGetEmployeeByEmailUsingHQL() throws Exception {
+        // Given
+        String email = "john.doe@example.com";
+        EmployeeResponse response = new EmployeeResponse(1L, "John", "Doe", email, "1234567890", "123 Main St");
+        when(reactiveEmployeeService.getEmployeeByEmailUsingHQL(email)).thenReturn(Mono.just(response));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/reactive/employees/email/{email}/hql", email))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(email));
+    }
+
+    @Test
+    void testGetEmployeeByEmail_NotFound() throws Exception {
+        // Given
+        String email = "notfound@example.com";
+        when(reactiveEmployeeService.getEmployeeByEmailUsingNativeSQL(email))
+                .thenReturn(Mono.error(new EntityNotFoundException("Employee not found with email: " + email)));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/reactive/employees/email/{email}/native", email))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testGetAllEmployees_Streaming() throws Exception {
+        // Given
+        EmployeeResponse john = new EmployeeResponse(1L, "John", null, "john@example.com", null, null);
+        EmployeeResponse jane = new EmployeeResponse(2L, "Jane", null, "jane@example.com", null, null);
+        when(reactiveEmployeeService.streamAllEmployees()).thenReturn(Flux.just(john, jane));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/reactive/employees").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON));
+        verify(reactiveEmployeeService, times(1)).streamAllEmployees();
+    }
+}
@@ -0,0 +1,150 @@
+package com.arqonz.employee.directory;
+
+import com.arqonz.employee.dto.EmployeeResponse;
+import com.arqonz.employee.model.Employee;
+import com.arqonz.employee.repository.EmployeeRepository;
+import com.arqonz.employee.service.EmployeeChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DirectorySnapshotTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @TempDir
+    Path tempDir;
+
+    private DirectorySnapshot snapshot;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        List<Employee> employees = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            employees.add(new Employee(id, "Name" + id, "Last" + id, "user" + id + "@example.com", null, "Street " + id));
+        }
+        stubFingerprint(3L, 3L, 1000L);
+        lenient().when(employeeRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class))).thenReturn(employees);
+
+        snapshot = newSnapshot();
+        snapshot.load();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        snapshot.close();
+    }
+
+    @Test
+    void testLoadsFromDatabase() {
+        Optional<EmployeeResponse> found = snapshot.findByEmail("user2@example.com");
+
+        assertTrue(found.isPresent());
+        assertEquals(2L, found.get().getId());
+        assertEquals("Street 2", found.get().getAddress());
+        assertNull(found.get().getPhone());
+        assertEquals("Name3", snapshot.findById(3L).orElseThrow().getFirstName());
+        assertTrue(snapshot.findByEmail("missing@example.com").isEmpty());
+        assertEquals(2L, snapshot.findByEmail(" User2@EXAMPLE.com").orElseThrow().getId());
+    }
+
+    @Test
+    void testFollowsMutations() {
+        EmployeeResponse before = snapshot.findByEmail("user1@example.com").orElseThrow();
+        EmployeeResponse after = new EmployeeResponse(1L, "Name1", "Changed", "user1@example.com", "555", null);
+        EmployeeResponse created = new EmployeeResponse(4L, "Name4", null, "user4@example.com", null, null);
+
+        snapshot.onEmployeeChanged(new EmployeeChangedEvent(before, after));
+        snapshot.onEmployeeChanged(new EmployeeChangedEvent(null, created));
+        snapshot.onEmployeeChanged(new EmployeeChangedEvent(snapshot.findById(2L).orElseThrow(), null));
+
+        assertEquals("Changed", snapshot.findByEmail("user1@example.com").orElseThrow().getLastName());
+        assertEquals("555", snapshot.findById(1L).orElseThrow().getPhone());
+        assertTrue(snapshot.findByEmail("user4@example.com").isPresent());
+        assertTrue(snapshot.findByEmail("user2@example.com").isEmpty());
+        assertTrue(snapshot.findById(2L).isEmpty());
+    }
+
+    @Test
+    void testReloadsPersistedFileWithoutDatabaseScan() throws Exception {
+        snapshot.onEmployeeChanged(new EmployeeChangedEvent(null,
+                new EmployeeResponse(4L, "Name4", null, "user4@example.com", null, null)));
+        stubFingerprint(4L, 4L, 1400L);
+        snapshot.close();
+
+        snapshot = newSnapshot();
+        snapshot.load();
+
+        assertEquals(4L, snapshot.findByEmail("user4@example.com").orElseThrow().getId());
+        verify(employeeRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class));
+    }
+
+    @Test
+    void testReloadsFromDatabaseWhenRowsChangedWhileClosed() throws Exception {
+        snapshot.close();
+        // Same row count and max id, but a row was updated while the replica was down
+        stubFingerprint(3L, 3L, 1001L);
+        List<Employee> updated = List.of(
+                new Employee(1L, "Name1", "Last1", "user1@example.com", null, "Street 1"),
+                new Employee(2L, "Name2", "Moved", "user2@example.com", null, "Street 2"),
+                new Employee(3L, "Name3", "Last3", "user3@example.com", null, "Street 3"));
+        when(employeeRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class))).thenReturn(updated);
+
+        snapshot = newSnapshot();
+        snapshot.load();
+
+        assertEquals("Moved", snapshot.findByEmail("user2@example.com").orElseThrow().getLastName());
+        verify(employeeRepository, times(2)).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class));
+    }
+
+    @Test
+    void testReloadsFromDatabaseAfterUncleanShutdown() throws Exception {
+        // A second replica maps the same file while the first is still open, as after a crash
+        DirectorySnapshot restarted = newSnapshot();
+        try {
+            restarted.load();
+        } finally {
+            restarted.close();
+        }
+
+        verify(employeeRepository, times(2)).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class));
+    }
+
+    @Test
+    void testManyUpdatesTriggerCompaction() {
+        for (int i = 0; i < 20_000; i++) {
+            EmployeeResponse current = snapshot.findById(1L).orElseThrow();
+            snapshot.onEmployeeChanged(new EmployeeChangedEvent(current,
+                    new EmployeeResponse(1L, "Name1", "Last" + i, "user1@example.com", "0123456789", "Street 1")));
+        }
+
+        assertEquals("Last19999", snapshot.findByEmail("user1@example.com").orElseThrow().getLastName());
+        assertEquals("Name3", snapshot.findByEmail("user3@example.com").orElseThrow().getFirstName());
+    }
+
+    private void stubFingerprint(long rows, long maxId, long rowHashSum) {
+        List<Object[]> fingerprint = new ArrayList<>();
+        fingerprint.add(new Object[] {rows, maxId, rowHashSum});
+        lenient().when(employeeRepository.fingerprint("default")).thenReturn(fingerprint);
+    }
+
+    private DirectorySnapshot newSnapshot() {
+        return new DirectorySnapshot(employeeRepository, true, tempDir.resolve("directory.snapshot").toString(), 1, true);
+    }
+}
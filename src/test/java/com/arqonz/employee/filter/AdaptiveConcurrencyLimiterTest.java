@@ -0,0 +1,64 @@
+package com.arqonz.employee.filter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private AtomicLong now;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(0);
+        limiter = new AdaptiveConcurrencyLimiter(4, 2, 10, 2.0, 100, now::get);
+    }
+
+    @Test
+    void testRejectsAboveLimit() {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.tryAcquire());
+        assertEquals(4, limiter.getInFlight());
+    }
+
+    @Test
+    void testLimitShrinksWhenLatencyRises() {
+        // Establish a 5 ms baseline
+        window(5 * MILLIS);
+        int before = limiter.getLimit();
+
+        // Latency quadruples
+        window(20 * MILLIS);
+
+        assertTrue(limiter.getLimit() < before);
+        assertTrue(limiter.getLimit() >= 2);
+    }
+
+    @Test
+    void testLimitGrowsWhileLatencyIsStableAndLimitIsUsed() {
+        window(5 * MILLIS);
+        int before = limiter.getLimit();
+
+        // Keep half of the limit busy while the next window closes
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        window(5 * MILLIS);
+
+        assertEquals(before + 1, limiter.getLimit());
+    }
+
+    private void window(long latencyNanos) {
+        assertTrue(limiter.tryAcquire());
+        now.addAndGet(100 * MILLIS);
+        limiter.release(latencyNanos);
+    }
+}
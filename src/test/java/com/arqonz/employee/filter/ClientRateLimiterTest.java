@@ -0,0 +1,110 @@
+package com.arqonz.employee.filter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private AtomicLong now;
+    private ClientRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(1_000 * SECOND);
+        // 10 tokens per second, burst of 20
+        limiter = new ClientRateLimiter(10, 20, 100, now::get);
+    }
+
+    @Test
+    void testBurstIsAdmittedThenThrottled() {
+        for (int i = 0; i < 20; i++) {
+            assertEquals(0, limiter.tryAcquire("client-a", 1));
+        }
+        assertTrue(limiter.tryAcquire("client-a", 1) > 0);
+    }
+
+    @Test
+    void testTokensRefillOverTime() {
+        assertEquals(0, limiter.tryAcquire("client-a", 20));
+        assertTrue(limiter.tryAcquire("client-a", 5) > 0);
+
+        now.addAndGet(SECOND / 2);
+
+        assertEquals(0, limiter.tryAcquire("client-a", 5));
+    }
+
+    @Test
+    void testExpensiveRequestsDrainFaster() {
+        assertEquals(0, limiter.tryAcquire("client-a", 10));
+        assertEquals(0, limiter.tryAcquire("client-a", 10));
+
+        long waitNanos = limiter.tryAcquire("client-a", 10);
+
+        // Ten tokens at ten per second need a full second
+        assertEquals(SECOND, waitNanos, SECOND / 100);
+    }
+
+    @Test
+    void testClientsAreIsolated() {
+        assertEquals(0, limiter.tryAcquire("client-a", 20));
+        assertTrue(limiter.tryAcquire("client-a", 1) > 0);
+
+        assertEquals(0, limiter.tryAcquire("client-b", 1));
+    }
+
+    @Test
+    void testIdleClientsAreEvictedWhenFull() {
+        ClientRateLimiter small = new ClientRateLimiter(10, 20, 2, now::get);
+        small.tryAcquire("client-a", 1);
+        small.tryAcquire("client-b", 1);
+
+        now.addAndGet(SECOND);
+        small.tryAcquire("client-c", 1);
+
+        assertEquals(1, small.trackedClients());
+    }
+
+    @Test
+    void testFullTableFallsBackToSharedOverflowBucket() {
+        ClientRateLimiter small = new ClientRateLimiter(10, 20, 2, now::get);
+        assertEquals(0, small.tryAcquire("client-a", 10));
+        assertEquals(0, small.tryAcquire("client-b", 10));
+
+        // Both tracked clients are active: every new key shares one bucket instead of getting its own
+        for (int i = 0; i < 20; i++) {
+            assertEquals(0, small.tryAcquire("rotated-" + i, 1));
+        }
+        assertTrue(small.tryAcquire("rotated-20", 1) > 0);
+        assertTrue(small.tryAcquire("rotated-21", 1) > 0);
+
+        assertEquals(2, small.trackedClients());
+        assertEquals(0, small.tryAcquire("client-a", 10));
+    }
+
+    @Test
+    void testEvictionFreesSlotsOnceClientsGoIdle() {
+        ClientRateLimiter small = new ClientRateLimiter(10, 20, 100, now::get);
+        for (int i = 0; i < 100; i++) {
+            small.tryAcquire("client-" + i, 20);
+        }
+        assertEquals(100, small.trackedClients());
+
+        // Buckets refill after two seconds; new clients then take over the idle clients' slots
+        now.addAndGet(3 * SECOND);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, small.tryAcquire("new-client-" + i, 20));
+        }
+        assertEquals(100, small.trackedClients());
+
+        // No idle bucket is left to evict, so the next client gets the overflow bucket
+        assertEquals(0, small.tryAcquire("new-client-100", 20));
+        assertTrue(small.tryAcquire("new-client-101", 1) > 0);
+        assertEquals(100, small.trackedClients());
+    }
+}
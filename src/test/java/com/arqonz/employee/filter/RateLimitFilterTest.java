@@ -0,0 +1,55 @@
+package com.arqonz.employee.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private static final int LISTING_COST = 50;
+    private static final int SEARCH_COST = 5;
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        // A burst of exactly one listing and practically no refill
+        filter = new RateLimitFilter(new ObjectMapper().findAndRegisterModules(), 0.001, LISTING_COST, 100, 1000, 10_000, 100,
+                1, LISTING_COST, SEARCH_COST, 20, 2, 100, 10, 400, 2.0, 1000);
+    }
+
+    @Test
+    void testSearchIsChargedTheSearchCost() throws Exception {
+        for (int i = 0; i < LISTING_COST / SEARCH_COST; i++) {
+            assertEquals(200, get("lastName", "Doe").getStatus());
+        }
+        assertEquals(429, get("lastName", "Doe").getStatus());
+    }
+
+    @Test
+    void testUnrelatedQueryParameterIsChargedTheListingCost() throws Exception {
+        assertEquals(200, get("fields", "email").getStatus());
+        assertEquals(429, get("x", "1").getStatus());
+    }
+
+    @Test
+    void testEmptyLimitIsChargedTheListingCost() throws Exception {
+        // Binds as no limit, so the controller returns the full listing
+        assertEquals(200, get("limit", "").getStatus());
+        assertEquals(429, get("limit", "").getStatus());
+    }
+
+    private MockHttpServletResponse get(String name, String value) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees");
+        request.setQueryString(name + "=" + value);
+        request.addParameter(name, value);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
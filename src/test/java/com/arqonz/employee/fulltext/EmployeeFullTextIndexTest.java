@@ -0,0 +1,189 @@
+package com.arqonz.employee.fulltext;
+
+import com.arqonz.employee.dto.EmployeeResponse;
+import com.arqonz.employee.dto.FullTextSearchResponse;
+import com.arqonz.employee.model.Employee;
+import com.arqonz.employee.repository.EmployeeRepository;
+import com.arqonz.employee.service.EmployeeChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeFullTextIndexTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @TempDir
+    Path tempDir;
+
+    private EmployeeFullTextIndex index;
+
+    private List<Employee> employees;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        employees = List.of(
+                new Employee(1L, "John", "Doe", "john.doe@example.com", null, "Building 4, Springfield"),
+                new Employee(2L, "Jane", "Smith", "jane.smith@example.com", "555", "12 Oak Street, Shelbyville"),
+                new Employee(3L, "Springer", "Brown", "s.brown@example.org", null, "Building 7, Capital City"),
+                new Employee(5L, "John", "Spring", "john@acme.com", null, "Building 4, Ogdenville"));
+        employees.forEach(employee -> employee.setTenantId("default"));
+        employees.get(3).setTenantId("acme");
+        lenient().when(employeeRepository.fingerprint("*")).thenReturn(fingerprint(4L, 5L, 100L));
+        lenient().when(employeeRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class))).thenReturn(employees);
+
+        index = newIndex();
+        index.load();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.close();
+    }
+
+    @Test
+    void testMatchesEveryWordAcrossFields() throws Exception {
+        assertEquals(List.of(1L), ids(index.search("default", "building 4", 0, 10)));
+        assertEquals(List.of(2L), ids(index.search("default", "jane shelbyville", 0, 10)));
+        assertEquals(List.of(3L), ids(index.search("default", "s.brown@example.org", 0, 10)));
+        assertTrue(index.search("default", "building 9", 0, 10).getHits().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> index.search("default", " , ", 0, 10));
+    }
+
+    @Test
+    void testRanksNamesAboveAddressAndCompletesLastWord() throws Exception {
+        FullTextSearchResponse response = index.search("default", "spring", 0, 10);
+
+        assertEquals(List.of(3L, 1L), ids(response));
+        assertEquals(2, response.getTotalHits());
+        assertTrue(response.isTotalHitsExact());
+        assertEquals(List.of(1L), ids(index.search("default", "spring", 1, 1)));
+    }
+
+    @Test
+    void testFollowsMutationsAfterRefresh() throws Exception {
+        EmployeeResponse before = new EmployeeResponse(1L, "John", "Doe", "john.doe@example.com", null, "Building 4, Springfield");
+        EmployeeResponse after = new EmployeeResponse(1L, "John", "Doe", "john.doe@example.com", null, "Harbour Road, Ogdenville");
+
+        index.onEmployeeChanged(new EmployeeChangedEvent(before, after));
+        index.onEmployeeChanged(new EmployeeChangedEvent(null,
+                new EmployeeResponse(4L, "Lisa", "Doe", "lisa@example.com", null, null)));
+        index.onEmployeeChanged(new EmployeeChangedEvent(
+                new EmployeeResponse(2L, "Jane", "Smith", "jane.smith@example.com", "555", null), null));
+        index.refresh();
+
+        assertEquals("Harbour Road, Ogdenville", index.search("default", "ogdenville", 0, 10).getHits().get(0).getEmployee().getAddress());
+        assertTrue(index.search("default", "building 4", 0, 10).getHits().isEmpty());
+        assertEquals(List.of(1L, 4L), ids(index.search("default", "doe", 0, 10)).stream().sorted().collect(Collectors.toList()));
+        assertTrue(index.search("default", "jane", 0, 10).getHits().isEmpty());
+    }
+
+    @Test
+    void testReopensPersistedIndexWithoutDatabaseScan() throws Exception {
+        index.onEmployeeChanged(new EmployeeChangedEvent(null,
+                new EmployeeResponse(4L, "Lisa", "Doe", "lisa@example.com", null, null)));
+        when(employeeRepository.fingerprint("*")).thenReturn(fingerprint(5L, 5L, 150L));
+        index.close();
+
+        index = newIndex();
+        index.load();
+
+        assertEquals(List.of(4L), ids(index.search("default", "lisa", 0, 10)));
+        verify(employeeRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class));
+    }
+
+    @Test
+    void testRebuildsWhenTheDatabaseChangedWhileClosed() throws Exception {
+        index.close();
+        // Same row count, different content: an update made while the index was down
+        when(employeeRepository.fingerprint("*")).thenReturn(fingerprint(4L, 5L, 101L));
+        employees.get(1).setAddress("Harbour Road, Ogdenville");
+
+        index = newIndex();
+        index.load();
+
+        assertEquals(List.of(2L), ids(index.search("default", "harbour", 0, 10)));
+        verify(employeeRepository, times(2)).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class));
+    }
+
+    @Test
+    void testRebuildsWhenClosedWithoutAFingerprint() throws Exception {
+        index.onEmployeeChanged(new EmployeeChangedEvent(null,
+                new EmployeeResponse(4L, "Lisa", "Doe", "lisa@example.com", null, null)));
+        // Same state on disk as a crash after the load cleared the stored fingerprint
+        when(employeeRepository.fingerprint("*")).thenThrow(new IllegalStateException("database unavailable"));
+        index.close();
+        reset(employeeRepository);
+        when(employeeRepository.fingerprint("*")).thenReturn(fingerprint(4L, 5L, 100L));
+        when(employeeRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class))).thenReturn(employees);
+
+        index = newIndex();
+        index.load();
+
+        assertTrue(index.search("default", "lisa", 0, 10).getHits().isEmpty());
+        verify(employeeRepository).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class));
+    }
+
+    @Test
+    void testAppliesChangesCommittedWhileLoading() throws Exception {
+        index.close();
+        // A request thread commits while the rows are being read; it must not wait for the load
+        when(employeeRepository.fingerprint("*")).thenReturn(fingerprint(5L, 5L, 150L));
+        when(employeeRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class))).thenAnswer(invocation -> {
+            Thread request = new Thread(() -> {
+                index.onEmployeeChanged(new EmployeeChangedEvent("default", null,
+                        new EmployeeResponse(4L, "Lisa", "Doe", "lisa@example.com", null, null)));
+                index.onEmployeeChanged(new EmployeeChangedEvent("default",
+                        new EmployeeResponse(2L, "Jane", "Smith", "jane.smith@example.com", "555", null), null));
+            });
+            request.start();
+            request.join(5000);
+            assertFalse(request.isAlive());
+            return employees;
+        });
+
+        index = newIndex();
+        index.load();
+
+        assertEquals(List.of(4L), ids(index.search("default", "lisa", 0, 10)));
+        assertTrue(index.search("default", "jane", 0, 10).getHits().isEmpty());
+    }
+
+    @Test
+    void testSearchesOnlyTheGivenTenant() throws Exception {
+        assertEquals(List.of(5L), ids(index.search("acme", "building 4", 0, 10)));
+        assertEquals(List.of(1L), ids(index.search("default", "building 4", 0, 10)));
+        assertTrue(index.search("acme", "jane", 0, 10).getHits().isEmpty());
+        assertTrue(index.search("other", "john", 0, 10).getHits().isEmpty());
+    }
+
+    private EmployeeFullTextIndex newIndex() {
+        return new EmployeeFullTextIndex(employeeRepository, true, tempDir.resolve("fulltext").toString(), true);
+    }
+
+    private static List<Object[]> fingerprint(long rows, long maxId, long hashSum) {
+        List<Object[]> fingerprint = new ArrayList<>();
+        fingerprint.add(new Object[]{rows, maxId, hashSum});
+        return fingerprint;
+    }
+
+    private static List<Long> ids(FullTextSearchResponse response) {
+        return response.getHits().stream().map(hit -> hit.getEmployee().getId()).collect(Collectors.toList());
+    }
+}
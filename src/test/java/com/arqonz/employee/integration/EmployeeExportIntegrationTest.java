@@ -0,0 +1,101 @@
+package com.arqonz.employee.integration;
+
+import com.arqonz.employee.model.Employee;
+import com.arqonz.employee.repository.EmployeeRepository;
+import com.arqonz.employee.tenant.TenantContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Not @Transactional: export workers read on their own connections and would not see
+// uncommitted test rows. Small ranges, so a handful of rows spans many parallel chunks.
+@SpringBootTest(properties = {"app.export.chunk-size=2", "app.export.chunks-in-flight=3"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EmployeeExportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM employees");
+    }
+
+    @Test
+    void testExportIsCompleteAndInIdOrder_Integration() throws Exception {
+        // Given - ids of other tenants leave gaps in the default tenant's range
+        List<Long> expectedIds = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            expectedIds.add(save("default", "user" + i + "@example.com").getId());
+            if (i % 3 == 0) {
+                save("acme", "acme" + i + "@example.com");
+            }
+        }
+
+        // When
+        String body = mockMvc.perform(get("/api/employees/export"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        JsonNode employees = objectMapper.readTree(body);
+        List<Long> ids = new ArrayList<>();
+        employees.forEach(employee -> ids.add(employee.get("id").asLong()));
+        assertEquals(expectedIds, ids);
+        assertEquals("user0@example.com", employees.get(0).get("email").asText());
+        assertEquals("First", employees.get(0).get("firstName").asText());
+    }
+
+    @Test
+    void testExportSparseFieldsOfOneTenant_Integration() throws Exception {
+        // Given
+        save("default", "john@example.com");
+        save("acme", "jane@example.com");
+        save("acme", "jim@example.com");
+
+        // When & Then
+        mockMvc.perform(get("/api/employees/export").param("fields", "email").header(TenantContext.HEADER, "acme"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].email").value("jane@example.com"))
+                .andExpect(jsonPath("$[0].id").doesNotExist())
+                .andExpect(jsonPath("$[1].email").value("jim@example.com"));
+
+        mockMvc.perform(get("/api/employees/export").header(TenantContext.HEADER, "globex"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+    }
+
+    private Employee save(String tenantId, String email) {
+        try (TenantContext.Scope ignored = TenantContext.enter(tenantId)) {
+            Employee employee = new Employee();
+            employee.setFirstName("First");
+            employee.setEmail(email);
+            return employeeRepository.save(employee);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.arqonz.employee.dto.UpdateEmployeeRequest;
 import com.arqonz.employee.dto.UpdatePhoneRequest;
 import com.arqonz.employee.model.Employee;
 import com.arqonz.employee.repository.EmployeeRepository;
+import com.arqonz.employee.service.EmployeeStatistics;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,6 +17,12 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.anyOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -35,6 +42,9 @@ class EmployeeIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
     
+    @Autowired
+    private EmployeeStatistics employeeStatistics;
+    
     private Employee testEmployee;
     
     @BeforeEach
@@ -59,6 +69,19 @@ class EmployeeIntegrationTest {
                 .andExpect(jsonPath("$.firstName").value(testEmployee.getFirstName()));
     }
     
+    @Test
+    void testSampledRequestReportsServerTiming_Integration() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/employees/email/{email}/specifications", testEmployee.getEmail())
+                        .header("traceparent", "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(testEmployee.getEmail()))
+                .andExpect(header().string("Server-Timing", containsString("controller;dur=")))
+                .andExpect(header().string("Server-Timing", containsString("repository;dur=")))
+                .andExpect(header().string("Server-Timing", containsString("db;dur=")))
+                .andExpect(header().string("Server-Timing", containsString("serialize;dur=")));
+    }
+    
     @Test
     void testGetEmployeeByEmailUsingHQL_Integration() throws Exception {
         // When & Then
@@ -77,6 +100,22 @@ class EmployeeIntegrationTest {
                 .andExpect(jsonPath("$.firstName").value(testEmployee.getFirstName()));
     }
     
+    @Test
+    void testGetEmployeeByEmail_CaseInsensitive_Integration() throws Exception {
+        // When & Then - every lookup strategy matches on the normalized email
+        for (String strategy : new String[] {"specifications", "hql", "native"}) {
+            mockMvc.perform(get("/api/employees/email/{email}/" + strategy, " John.DOE@Example.com "))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.email").value(testEmployee.getEmail()));
+        }
+        
+        mockMvc.perform(patch("/api/employees/{email}/phone", "JOHN.DOE@EXAMPLE.COM")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"phone\":\"5550001111\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.phone").value("5550001111"));
+    }
+    
     @Test
     void testGetEmployeeByNameUsingSpecifications_Integration() throws Exception {
         // When & Then
@@ -120,7 +159,7 @@ class EmployeeIntegrationTest {
                 .andExpect(jsonPath("$.firstName").value("Jane"));
         
         // Verify employee was saved in database
-        assertTrue(employeeRepository.existsByEmail("jane@example.com"));
+        assertTrue(employeeRepository.findByEmailUsingHQL("jane@example.com").isPresent());
     }
     
     @Test
@@ -141,7 +180,7 @@ class EmployeeIntegrationTest {
                 .andExpect(jsonPath("$.phone").value("9876543210"));
         
         // Verify employee was saved in database
-        assertTrue(employeeRepository.existsByEmail("bob@example.com"));
+        assertTrue(employeeRepository.findByEmailUsingHQL("bob@example.com").isPresent());
     }
     
     @Test
@@ -155,7 +194,50 @@ class EmployeeIntegrationTest {
         mockMvc.perform(post("/api/employees")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
-                .andExpect(status().isBadRequest());
+                .andExpect(status().isConflict());
+    }
+    
+    @Test
+    void testCreateEmployee_DuplicateEmailDifferentCase_Integration() throws Exception {
+        // Given
+        CreateEmployeeRequest request = new CreateEmployeeRequest();
+        request.setName("Another John");
+        request.setEmail("John.Doe@Example.COM");
+        
+        // When & Then
+        mockMvc.perform(post("/api/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict());
+    }
+    
+    @Test
+    void testCreateEmployee_IdempotencyKeyReplay_Integration() throws Exception {
+        // Given
+        CreateEmployeeRequest request = new CreateEmployeeRequest();
+        request.setName("Retry Smith");
+        request.setEmail("retry.smith@example.com");
+        String body = objectMapper.writeValueAsString(request);
+        
+        // When
+        String first = mockMvc.perform(post("/api/employees")
+                        .header("Idempotency-Key", "it-retry-smith")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "false"))
+                .andReturn().getResponse().getContentAsString();
+        
+        // Then - the retry gets the stored response and no second row is written
+        mockMvc.perform(post("/api/employees")
+                        .header("Idempotency-Key", "it-retry-smith")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(content().json(first));
+        
+        assertTrue(employeeRepository.findByEmailUsingHQL("retry.smith@example.com").isPresent());
     }
     
     @Test
@@ -233,7 +315,83 @@ class EmployeeIntegrationTest {
                 .andExpect(status().isNoContent());
         
         // Verify deletion from database
-        assertFalse(employeeRepository.existsByEmail(testEmployee.getEmail()));
+        assertFalse(employeeRepository.findByEmailUsingHQL(testEmployee.getEmail()).isPresent());
+    }
+    
+    @Test
+    void testSoftDeleteHidesEmployeeUntilRestored_Integration() throws Exception {
+        // Given
+        mockMvc.perform(delete("/api/employees/{email}", testEmployee.getEmail()))
+                .andExpect(status().isNoContent());
+        
+        // Then - hidden from every read path, but the row and its email are kept
+        mockMvc.perform(get("/api/employees/email/{email}/native", testEmployee.getEmail()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/employees/name/{name}/hql", testEmployee.getFirstName()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/employees").param("lastName", "Doe"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(0));
+        mockMvc.perform(delete("/api/employees/{email}", testEmployee.getEmail()))
+                .andExpect(status().isNotFound());
+        assertTrue(employeeRepository.findDeletedByEmail("default", testEmployee.getEmail()).isPresent());
+        
+        // When
+        mockMvc.perform(post("/api/employees/{email}/restore", testEmployee.getEmail()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(testEmployee.getId()));
+        
+        // Then
+        mockMvc.perform(get("/api/employees/email/{email}/specifications", testEmployee.getEmail()))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/employees/{email}/restore", testEmployee.getEmail()))
+                .andExpect(status().isNotFound());
+    }
+    
+    @Test
+    void testDeletedEmailCanBeReused_Integration() throws Exception {
+        // Given
+        mockMvc.perform(delete("/api/employees/{email}", testEmployee.getEmail()))
+                .andExpect(status().isNoContent());
+        CreateEmployeeRequest request = new CreateEmployeeRequest();
+        request.setName("Johnny");
+        request.setEmail("John.Doe@example.com");
+        
+        // When & Then - the soft-deleted row does not hold on to its email
+        String created = mockMvc.perform(post("/api/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long newId = objectMapper.readTree(created).get("id").asLong();
+        
+        // When & Then - with both deleted, restore brings back the latest
+        mockMvc.perform(delete("/api/employees/{email}", testEmployee.getEmail()))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(post("/api/employees/{email}/restore", testEmployee.getEmail()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(newId))
+                .andExpect(jsonPath("$.firstName").value("Johnny"));
+        
+        // When & Then - the older row cannot come back while its email is taken
+        mockMvc.perform(post("/api/employees/{email}/restore", testEmployee.getEmail()))
+                .andExpect(status().isConflict());
+    }
+    
+    @Test
+    void testPurgeRemovesOnlySoftDeletedRows_Integration() throws Exception {
+        // Given
+        saveEmployee("Jane", "Roe", "jane.roe@example.com", null, null);
+        mockMvc.perform(delete("/api/employees/{email}", testEmployee.getEmail()))
+                .andExpect(status().isNoContent());
+        
+        // When
+        int purged = employeeRepository.purgeDeletedBefore(LocalDateTime.now().plusMinutes(1), 10);
+        
+        // Then
+        assertEquals(1, purged);
+        assertTrue(employeeRepository.findDeletedByEmail("default", testEmployee.getEmail()).isEmpty());
+        assertTrue(employeeRepository.findByEmailUsingHQL("jane.roe@example.com").isPresent());
     }
     
     @Test
@@ -249,5 +407,210 @@ class EmployeeIntegrationTest {
         mockMvc.perform(get("/api/employees/email/{email}/hql", "notfound@example.com"))
                 .andExpect(status().isNotFound());
     }
+    
+    @Test
+    void testSearchEmployees_ByLastNameAndPhonePrefix_Integration() throws Exception {
+        // Given
+        saveEmployee("Jane", "Doe", "jane.doe@example.com", "1239999999", "9 Side St");
+        saveEmployee("Jim", "Roe", "jim.roe@example.com", "1238888888", "123 Main St");
+        
+        // When & Then
+        mockMvc.perform(get("/api/employees")
+                        .param("lastName", "Doe")
+                        .param("phonePrefix", "123"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].email").value(testEmployee.getEmail()))
+                .andExpect(jsonPath("$.items[1].email").value("jane.doe@example.com"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+    
+    @Test
+    void testSearchEmployees_CursorPagination_Integration() throws Exception {
+        // Given
+        saveEmployee("Anna", "Doe", "anna@example.com", null, null);
+        saveEmployee("Zoe", "Doe", "zoe@example.com", null, null);
+        
+        // When - first page sorted by first name
+        String firstPage = mockMvc.perform(get("/api/employees")
+                        .param("lastName", "Doe")
+                        .param("sort", "firstName,asc")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].firstName").value("Anna"))
+                .andExpect(jsonPath("$.items[1].firstName").value("John"))
+                .andExpect(jsonPath("$.nextCursor").exists())
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+        
+        // Then - second page continues after John
+        mockMvc.perform(get("/api/employees")
+                        .param("lastName", "Doe")
+                        .param("sort", "firstName,asc")
+                        .param("limit", "2")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].firstName").value("Zoe"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+    
+    @Test
+    void testSearchEmployees_UnindexedScanRejected_Integration() throws Exception {
+        // When & Then - substring filter alone would scan the whole table
+        mockMvc.perform(get("/api/employees").param("addressContains", "main"))
+                .andExpect(status().isBadRequest());
+        
+        // Combined with an indexed filter it is accepted
+        mockMvc.perform(get("/api/employees")
+                        .param("lastName", "Doe")
+                        .param("addressContains", "main"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].email").value(testEmployee.getEmail()));
+    }
+    
+    @Test
+    void testBatchLookup_Integration() throws Exception {
+        // Given
+        Employee jane = saveEmployee("Jane", null, "jane@example.com", null, null);
+        String request = "{\"emails\": [\"jane@example.com\", \"nobody@example.com\", \"john.doe@example.com\"],"
+                + " \"ids\": [" + testEmployee.getId() + ", 999999]}";
+        
+        // When & Then
+        mockMvc.perform(post("/api/employees/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(5))
+                .andExpect(jsonPath("$.results[0].employee.id").value(jane.getId()))
+                .andExpect(jsonPath("$.results[1].found").value(false))
+                .andExpect(jsonPath("$.results[1].email").value("nobody@example.com"))
+                .andExpect(jsonPath("$.results[2].employee.firstName").value("John"))
+                .andExpect(jsonPath("$.results[3].employee.email").value(testEmployee.getEmail()))
+                .andExpect(jsonPath("$.results[4].found").value(false))
+                .andExpect(jsonPath("$.found").value(3))
+                .andExpect(jsonPath("$.notFound").value(2));
+    }
+    
+    @Test
+    void testSparseFields_Integration() throws Exception {
+        // When & Then - every lookup strategy returns only the requested fields
+        for (String strategy : new String[] {"specifications", "hql", "native"}) {
+            mockMvc.perform(get("/api/employees/email/{email}/" + strategy, testEmployee.getEmail())
+                            .param("fields", "email,phone"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.email").value(testEmployee.getEmail()))
+                    .andExpect(jsonPath("$.phone").value(testEmployee.getPhone()))
+                    .andExpect(jsonPath("$.id").doesNotExist())
+                    .andExpect(jsonPath("$.address").doesNotExist());
+        }
+        
+        mockMvc.perform(get("/api/employees/name/{name}/specifications", "John").param("fields", "id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(testEmployee.getId()))
+                .andExpect(jsonPath("$.firstName").doesNotExist());
+        
+        mockMvc.perform(get("/api/employees/email/{email}/hql", testEmployee.getEmail()).param("fields", "salary"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    void testSearchEmployees_SparseFieldsWithCursor_Integration() throws Exception {
+        // Given
+        saveEmployee("Anna", "Doe", "anna@example.com", null, null);
+        saveEmployee("Zoe", "Doe", "zoe@example.com", null, null);
+        
+        // When - the sort field is read for the cursor even though it is not returned
+        String firstPage = mockMvc.perform(get("/api/employees")
+                        .param("lastName", "Doe")
+                        .param("sort", "firstName,asc")
+                        .param("limit", "2")
+                        .param("fields", "email"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].email").value("anna@example.com"))
+                .andExpect(jsonPath("$.items[0].firstName").doesNotExist())
+                .andExpect(jsonPath("$.items[1].email").value(testEmployee.getEmail()))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+        
+        // Then
+        mockMvc.perform(get("/api/employees")
+                        .param("lastName", "Doe")
+                        .param("sort", "firstName,asc")
+                        .param("limit", "2")
+                        .param("fields", "email")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].email").value("zoe@example.com"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+    
+    @Test
+    void testBatchLookup_SparseFields_Integration() throws Exception {
+        // Given
+        saveEmployee("Jane", null, "jane@example.com", "5550000", null);
+        String request = "{\"emails\": [\"JANE@example.com\", \"nobody@example.com\"],"
+                + " \"ids\": [" + testEmployee.getId() + "]}";
+        
+        // When & Then
+        mockMvc.perform(post("/api/employees/lookup")
+                        .param("fields", "phone")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].employee.phone").value("5550000"))
+                .andExpect(jsonPath("$.results[0].employee.email").doesNotExist())
+                .andExpect(jsonPath("$.results[1].found").value(false))
+                .andExpect(jsonPath("$.results[2].employee.phone").value(testEmployee.getPhone()))
+                .andExpect(jsonPath("$.results[2].employee.id").doesNotExist())
+                .andExpect(jsonPath("$.found").value(2));
+    }
+    
+    @Test
+    void testRoutedLookups_Integration() throws Exception {
+        // When - each lookup is routed to one strategy and samples its query time
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/employees/email/{email}", testEmployee.getEmail()).param("fields", "id"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("X-Lookup-Strategy", anyOf(is("specifications"), is("hql"), is("native"))))
+                    .andExpect(jsonPath("$.id").value(testEmployee.getId()));
+        }
+        mockMvc.perform(get("/api/employees/name/{name}", "John"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Lookup-Strategy"))
+                .andExpect(jsonPath("$.email").value(testEmployee.getEmail()));
+        mockMvc.perform(get("/api/employees/email/{email}", "nobody@example.com"))
+                .andExpect(status().isNotFound());
+        
+        // Then
+        mockMvc.perform(get("/api/employees/stats/lookup-strategies"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email.strategies.length()").value(3))
+                .andExpect(jsonPath("$.email.strategies.specifications.samples").isNumber())
+                .andExpect(jsonPath("$.email.strategies.native.routed").isNumber())
+                .andExpect(jsonPath("$.name.strategies.hql.explored").isNumber());
+    }
+    
+    @Test
+    void testReconciledDomainsMatchIncrementalSplit_Integration() {
+        // Given - a quoted local part may itself contain '@'
+        saveEmployee("Quoted", null, "\"john@home\"@Example.com", null, null);
+        
+        // When
+        employeeStatistics.reconcile();
+        
+        // Then
+        assertEquals(Map.of("example.com", 2L), employeeStatistics.snapshot("default").getByEmailDomain());
+    }
+    
+    private Employee saveEmployee(String firstName, String lastName, String email, String phone, String address) {
+        Employee employee = new Employee();
+        employee.setFirstName(firstName);
+        employee.setLastName(lastName);
+        employee.setEmail(email);
+        employee.setPhone(phone);
+        employee.setAddress(address);
+        return employeeRepository.save(employee);
+    }
 }
-
@@ -0,0 +1,135 @@
+package com.arqonz.employee.integration;
+
+import com.arqonz.employee.EmployeeManagementApplication;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Fast-boot mode on a real server, with the SessionFactory build held back until the test lets
+// it finish: the health path answers and /api/** is refused while persistence is starting.
+// The application runs on its own thread like a real launch, since startup listeners that read
+// the database keep SpringApplication.run() from returning until JPA is up.
+class FastBootReadinessIntegrationTest {
+
+    private static final CountDownLatch BOOTSTRAP_RELEASED = new CountDownLatch(1);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final CompletableFuture<Integer> port = new CompletableFuture<>();
+    private final CompletableFuture<ConfigurableApplicationContext> context = new CompletableFuture<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        BOOTSTRAP_RELEASED.countDown();
+        context.get(60, TimeUnit.SECONDS).close();
+    }
+
+    @Test
+    void testHealthAnswersAndApiIsUnavailableUntilPersistenceIsReady_Integration() throws Exception {
+        // Given
+        Thread main = new Thread(this::runApplication, "fast-boot-main");
+        main.setDaemon(true);
+        main.start();
+        int serverPort = port.get(60, TimeUnit.SECONDS);
+
+        // When & Then - JPA is still bootstrapping
+        assertEquals(200, get(serverPort, "/").statusCode());
+        HttpResponse<String> api = get(serverPort, "/api/employees");
+        assertEquals(503, api.statusCode());
+        assertEquals("1", api.headers().firstValue("Retry-After").orElse(null));
+        assertEquals(200, get(serverPort, "/").statusCode());
+        assertFalse(context.isDone());
+
+        // When - the bootstrap completes
+        BOOTSTRAP_RELEASED.countDown();
+
+        // Then
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        api = get(serverPort, "/api/employees");
+        while (api.statusCode() == 503 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            api = get(serverPort, "/api/employees");
+        }
+        assertEquals(200, api.statusCode());
+        assertEquals("[]", api.body());
+    }
+
+    private void runApplication() {
+        try {
+            context.complete(new SpringApplicationBuilder(EmployeeManagementApplication.class, DelayedBootstrapConfig.class)
+                    .profiles("test", "fastboot")
+                    .listeners(event -> {
+                        if (event instanceof WebServerInitializedEvent initialized) {
+                            port.complete(initialized.getWebServer().getPort());
+                        }
+                    })
+                    // Own in-memory database: create-drop on close must not drop the shared test schema
+                    .run("--spring.datasource.url=jdbc:h2:mem:fastboot-" + UUID.randomUUID(),
+                            "--app.rate-limit.enabled=false"));
+        } catch (RuntimeException ex) {
+            port.completeExceptionally(ex);
+            context.completeExceptionally(ex);
+        }
+    }
+
+    private HttpResponse<String> get(int serverPort, String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + serverPort + path))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @TestConfiguration
+    static class DelayedBootstrapConfig {
+
+        // Hibernate runs integrators on the bootstrap thread while it builds the SessionFactory
+        @Bean
+        HibernatePropertiesCustomizer delayedBootstrap() {
+            Integrator integrator = new Integrator() {
+                @Override
+                public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                                      SessionFactoryImplementor sessionFactory) {
+                    try {
+                        BOOTSTRAP_RELEASED.await(30, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+
+                @Override
+                public void disintegrate(SessionFactoryImplementor sessionFactory,
+                                         SessionFactoryServiceRegistry serviceRegistry) {
+                }
+            };
+            IntegratorProvider provider = () -> List.of(integrator);
+            return properties -> properties.put("hibernate.integrator_provider", provider);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.arqonz.employee.integration;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the prod-profile Flyway migrations against data written under an older schema
+class SchemaMigrationTest {
+
+    @Test
+    void testEmailNormalizationAbortsOnCaseOnlyDuplicates() {
+        DriverManagerDataSource dataSource = newDatabase();
+        migrate(dataSource, "2");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO employees (id, first_name, email) VALUES (1, 'John', 'John.Doe@example.com')");
+        jdbcTemplate.update("INSERT INTO employees (id, first_name, email) VALUES (2, 'John', 'john.doe@example.com ')");
+        jdbcTemplate.update("INSERT INTO employees (id, first_name, email) VALUES (3, 'Jane', 'jane@example.com')");
+
+        FlywayException failure = assertThrows(FlywayException.class, () -> migrate(dataSource, "latest"));
+
+        assertTrue(failure.getMessage().contains("john.doe@example.com (ids 1, 2)"), failure.getMessage());
+        assertFalse(failure.getMessage().contains("jane@example.com"), failure.getMessage());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE TABLE_NAME = 'EMPLOYEES' AND COLUMN_NAME = 'EMAIL_NORMALIZED'", Integer.class));
+    }
+
+    @Test
+    void testEmailNormalizationBackfillsDistinctEmails() {
+        DriverManagerDataSource dataSource = newDatabase();
+        migrate(dataSource, "2");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO employees (id, first_name, email) VALUES (1, 'John', ' John.Doe@example.com')");
+
+        migrate(dataSource, "latest");
+
+        assertEquals("john.doe@example.com",
+                jdbcTemplate.queryForObject("SELECT email_normalized FROM employees WHERE id = 1", String.class));
+    }
+
+    @Test
+    void testSoftDeletedRowsReleaseTheirEmailButEmailStaysIndexed() {
+        DriverManagerDataSource dataSource = newDatabase();
+        migrate(dataSource, "latest");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO employees (id, first_name, email, email_normalized, deleted_at) "
+                + "VALUES (1, 'John', 'john@example.com', 'john@example.com', CURRENT_TIMESTAMP)");
+
+        jdbcTemplate.update("INSERT INTO employees (id, first_name, email, email_normalized) "
+                + "VALUES (2, 'John', 'John@example.com', 'john@example.com')");
+
+        assertThrows(Exception.class, () -> jdbcTemplate.update("INSERT INTO employees (id, first_name, email, "
+                + "email_normalized) VALUES (3, 'John', 'john@example.com', 'john@example.com')"));
+        // Keyset sorts by email need an index leading with (tenant_id, email)
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEX_COLUMNS a "
+                + "JOIN INFORMATION_SCHEMA.INDEX_COLUMNS b ON a.INDEX_NAME = b.INDEX_NAME AND a.TABLE_NAME = b.TABLE_NAME "
+                + "WHERE a.TABLE_NAME = 'EMPLOYEES' AND a.COLUMN_NAME = 'TENANT_ID' AND a.ORDINAL_POSITION = 1 "
+                + "AND b.COLUMN_NAME = 'EMAIL' AND b.ORDINAL_POSITION = 2", Integer.class));
+    }
+
+    private static DriverManagerDataSource newDatabase() {
+        return new DriverManagerDataSource("jdbc:h2:mem:migration-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static void migrate(DriverManagerDataSource dataSource, String target) {
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").target(target).load().migrate();
+    }
+}
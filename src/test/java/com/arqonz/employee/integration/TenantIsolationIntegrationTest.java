@@ -0,0 +1,88 @@
+package com.arqonz.employee.integration;
+
+import com.arqonz.employee.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Not @Transactional: a test transaction would pin one tenant's session for every request
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TenantIsolationIntegrationTest {
+
+    private static final String EMAIL = "jane@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Plain SQL, so rows of every tenant and soft-deleted ones go too
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM employees");
+    }
+
+    @Test
+    void testSameEmailInTwoTenants_Integration() throws Exception {
+        // Given
+        create("acme", "Jane Acme").andExpect(status().isCreated());
+        create("globex", "Jane Globex").andExpect(status().isCreated());
+
+        // When & Then
+        create("acme", "Jane Again").andExpect(status().isConflict());
+        mockMvc.perform(get("/api/employees/email/{email}/hql", EMAIL).header(TenantContext.HEADER, "acme"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Jane Acme"));
+        mockMvc.perform(get("/api/employees/email/{email}/native", EMAIL).header(TenantContext.HEADER, "globex"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Jane Globex"));
+        mockMvc.perform(get("/api/employees/email/{email}/specifications", EMAIL))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testDeleteOnlyAffectsOwnTenant_Integration() throws Exception {
+        // Given
+        create("acme", "Jane Acme").andExpect(status().isCreated());
+        create("globex", "Jane Globex").andExpect(status().isCreated());
+
+        // When
+        mockMvc.perform(delete("/api/employees/{email}", EMAIL).header(TenantContext.HEADER, "globex"))
+                .andExpect(status().isNoContent());
+
+        // Then
+        mockMvc.perform(get("/api/employees/email/{email}/hql", EMAIL).header(TenantContext.HEADER, "globex"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/employees/email/{email}/hql", EMAIL).header(TenantContext.HEADER, "acme"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testInvalidTenantRejected_Integration() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/employees/email/{email}/hql", EMAIL).header(TenantContext.HEADER, "Acme Corp"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString(TenantContext.HEADER)));
+    }
+
+    private ResultActions create(String tenant, String name) throws Exception {
+        return mockMvc.perform(post("/api/employees")
+                .header(TenantContext.HEADER, tenant)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"" + name + "\", \"email\": \"" + EMAIL + "\"}"));
+    }
+}
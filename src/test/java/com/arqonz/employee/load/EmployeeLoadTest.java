@@ -0,0 +1,289 @@
+package com.arqonz.employee.load;
+
+import com.arqonz.employee.seed.EmployeeDataGenerator;
+import com.arqonz.employee.seed.EmployeeDataLoader;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Load test against the real application: mvn -Ploadtest test
+//
+// Boots the app on a random port, seeds `load.employees` generated rows (EmployeeDataGenerator,
+// loaded with `load.seed-mode` csv or batched), then `load.users` virtual users
+// replay a read-heavy mix for `load.warmup-seconds` (discarded) and `load.duration-seconds`.
+// Percentiles and throughput are written to target/load-test/ and compared against
+// src/test/resources/load-baseline.properties: a latency more than `load.tolerance` (plus
+// `load.slack-millis`) above its baseline, or throughput more than `load.tolerance` below it,
+// fails the build. Run with -Dload.write-baseline=true to record a new baseline instead.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "spring.h2.console.enabled=false",
+        "app.rate-limit.enabled=false"
+})
+@Tag("load")
+class EmployeeLoadTest {
+
+    private static final int EMPLOYEES = Integer.getInteger("load.employees", 20_000);
+    private static final int USERS = Integer.getInteger("load.users", 32);
+    private static final long WARMUP_SECONDS = Long.getLong("load.warmup-seconds", 5);
+    private static final long DURATION_SECONDS = Long.getLong("load.duration-seconds", 20);
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("load.tolerance", "0.30"));
+    private static final double SLACK_MILLIS = Double.parseDouble(System.getProperty("load.slack-millis", "2"));
+    private static final boolean WRITE_BASELINE = Boolean.getBoolean("load.write-baseline");
+    private static final Path BASELINE = Path.of("src/test/resources/load-baseline.properties");
+    private static final Path REPORT_DIR = Path.of("target/load-test");
+    private static final EmployeeDataLoader.Mode SEED_MODE =
+            EmployeeDataLoader.Mode.valueOf(System.getProperty("load.seed-mode", "csv").toUpperCase(Locale.ROOT));
+    private static final int SEED_BATCH_SIZE = 5000;
+    private static final int UNIQUE_NAME_EVERY = 10;
+    private static final EmployeeDataGenerator GENERATOR = new EmployeeDataGenerator(42, 1.1, UNIQUE_NAME_EVERY);
+    private static final String[] STRATEGIES = {"hql", "native", "specifications"};
+
+    // Weights add up to 100
+    enum Operation {
+        EMAIL_HQL("email-hql", 20),
+        EMAIL_NATIVE("email-native", 20),
+        EMAIL_SPECIFICATIONS("email-specifications", 20),
+        NAME_LOOKUP("name-lookup", 9),
+        LISTING("listing", 7),
+        CREATE("create", 8),
+        PATCH_PHONE("patch-phone", 12),
+        DELETE("delete", 4);
+
+        private final String key;
+        private final int weight;
+
+        Operation(String key, int weight) {
+            this.key = key;
+            this.weight = weight;
+        }
+
+        static Operation pick(int roll) {
+            for (Operation operation : values()) {
+                roll -= operation.weight;
+                if (roll < 0) {
+                    return operation;
+                }
+            }
+            return EMAIL_HQL;
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final Queue<String> createdEmails = new ConcurrentLinkedQueue<>();
+    private final AtomicLong createSequence = new AtomicLong();
+
+    @Test
+    void mixedWorkloadStaysWithinBaseline() throws Exception {
+        seed();
+
+        run(WARMUP_SECONDS);
+        long start = System.nanoTime();
+        Map<Operation, LatencySamples> results = run(DURATION_SECONDS);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Map<String, Double> report = report(results, elapsedSeconds);
+        writeReport(results, report, elapsedSeconds);
+
+        long requests = results.values().stream().mapToLong(LatencySamples::count).sum();
+        long errors = results.values().stream().mapToLong(LatencySamples::errors).sum();
+        assertTrue(errors <= requests / 100, "Error rate above 1%: " + errors + " of " + requests);
+
+        if (WRITE_BASELINE) {
+            writeBaseline(report);
+        } else {
+            List<String> regressions = compareWithBaseline(report);
+            assertTrue(regressions.isEmpty(), "Performance regressions:\n" + String.join("\n", regressions));
+        }
+    }
+
+    private void seed() throws Exception {
+        new EmployeeDataLoader(dataSource).load(GENERATOR, 1, EMPLOYEES, SEED_MODE, SEED_BATCH_SIZE);
+    }
+
+    private Map<Operation, LatencySamples> run(long seconds) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        ExecutorService executor = Executors.newFixedThreadPool(USERS);
+        try {
+            List<Future<Map<Operation, LatencySamples>>> users = new ArrayList<>();
+            for (int i = 0; i < USERS; i++) {
+                users.add(executor.submit(() -> virtualUser(deadline)));
+            }
+            Map<Operation, LatencySamples> merged = new EnumMap<>(Operation.class);
+            for (Future<Map<Operation, LatencySamples>> user : users) {
+                user.get().forEach((operation, samples) ->
+                        merged.computeIfAbsent(operation, key -> new LatencySamples()).addAll(samples));
+            }
+            return merged;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Map<Operation, LatencySamples> virtualUser(long deadline) throws IOException, InterruptedException {
+        Map<Operation, LatencySamples> samples = new EnumMap<>(Operation.class);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            Operation operation = Operation.pick(random.nextInt(100));
+            String deleteEmail = operation == Operation.DELETE ? createdEmails.poll() : null;
+            if (operation == Operation.DELETE && deleteEmail == null) {
+                operation = Operation.CREATE;
+            }
+            HttpRequest request = request(operation, random.nextInt(EMPLOYEES) + 1, deleteEmail);
+
+            long start = System.nanoTime();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            long latency = System.nanoTime() - start;
+
+            boolean ok = response.statusCode() / 100 == 2;
+            samples.computeIfAbsent(operation, key -> new LatencySamples()).record(latency, ok);
+        }
+        return samples;
+    }
+
+    private HttpRequest request(Operation operation, int employee, String deleteEmail) {
+        String email = GENERATOR.row(employee).getEmail();
+        String strategy = STRATEGIES[employee % STRATEGIES.length];
+        return switch (operation) {
+            case EMAIL_HQL -> get("/api/employees/email/" + email + "/hql");
+            case EMAIL_NATIVE -> get("/api/employees/email/" + email + "/native");
+            case EMAIL_SPECIFICATIONS -> get("/api/employees/email/" + email + "/specifications");
+            // Name lookups expect one match, so they target the rows with a generated unique first name
+            case NAME_LOOKUP -> get("/api/employees/name/"
+                    + GENERATOR.row(uniqueNameRow(employee)).getFirstName() + "/" + strategy);
+            case LISTING -> get("/api/employees?lastName="
+                    + URLEncoder.encode(GENERATOR.row(employee).getLastName(), StandardCharsets.UTF_8)
+                    + "&sort=firstName,asc&limit=50");
+            case CREATE -> {
+                String created = "load-new" + createSequence.incrementAndGet() + "@example.com";
+                createdEmails.add(created);
+                yield send("POST", "/api/employees", "{\"name\":\"New\",\"email\":\"" + created + "\"}");
+            }
+            case PATCH_PHONE -> send("PATCH", "/api/employees/" + email + "/phone",
+                    "{\"phone\":\"" + String.format("556%07d", employee) + "\"}");
+            case DELETE -> HttpRequest.newBuilder(uri("/api/employees/" + deleteEmail)).DELETE().build();
+        };
+    }
+
+    private static long uniqueNameRow(int employee) {
+        long row = (long) employee / UNIQUE_NAME_EVERY * UNIQUE_NAME_EVERY;
+        return row == 0 ? UNIQUE_NAME_EVERY : row;
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private HttpRequest send(String method, String path, String json) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static Map<String, Double> report(Map<Operation, LatencySamples> results, double elapsedSeconds) {
+        Map<String, Double> report = new TreeMap<>();
+        long requests = 0;
+        for (Map.Entry<Operation, LatencySamples> entry : results.entrySet()) {
+            String key = entry.getKey().key;
+            LatencySamples samples = entry.getValue();
+            report.put(key + ".p50", samples.percentileMillis(50));
+            report.put(key + ".p95", samples.percentileMillis(95));
+            report.put(key + ".p99", samples.percentileMillis(99));
+            requests += samples.count();
+        }
+        report.put("total.throughput", requests / elapsedSeconds);
+        return report;
+    }
+
+    private static void writeReport(Map<Operation, LatencySamples> results, Map<String, Double> report,
+                                    double elapsedSeconds) throws IOException {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT,
+                "%-22s %8s %9s %8s %8s %8s %8s %8s%n", "operation", "count", "req/s", "p50 ms", "p95 ms",
+                "p99 ms", "max ms", "errors"));
+        results.forEach((operation, samples) -> table.append(String.format(Locale.ROOT,
+                "%-22s %8d %9.1f %8.2f %8.2f %8.2f %8.2f %8d%n", operation.key, samples.count(),
+                samples.count() / elapsedSeconds, samples.percentileMillis(50), samples.percentileMillis(95),
+                samples.percentileMillis(99), samples.percentileMillis(100), samples.errors())));
+        table.append(String.format(Locale.ROOT, "%-22s %8s %9.1f%n", "total", "",
+                report.get("total.throughput")));
+
+        Files.createDirectories(REPORT_DIR);
+        Files.writeString(REPORT_DIR.resolve("report.txt"), table);
+        Files.writeString(REPORT_DIR.resolve("report.properties"), format(report));
+        System.out.println(table);
+    }
+
+    private static List<String> compareWithBaseline(Map<String, Double> report) throws IOException {
+        Properties baseline = new Properties();
+        try (var reader = Files.newBufferedReader(BASELINE)) {
+            baseline.load(reader);
+        }
+        List<String> regressions = new ArrayList<>();
+        for (String key : new TreeMap<>(baseline).keySet().stream().map(Object::toString).toList()) {
+            double expected = Double.parseDouble(baseline.getProperty(key));
+            Double actual = report.get(key);
+            if (actual == null) {
+                regressions.add(key + ": no samples");
+            } else if (key.endsWith(".throughput")) {
+                if (actual < expected * (1 - TOLERANCE)) {
+                    regressions.add(String.format(Locale.ROOT, "%s: %.1f req/s, baseline %.1f", key, actual, expected));
+                }
+            } else if (actual > expected * (1 + TOLERANCE) + SLACK_MILLIS) {
+                regressions.add(String.format(Locale.ROOT, "%s: %.2f ms, baseline %.2f ms", key, actual, expected));
+            }
+        }
+        return regressions;
+    }
+
+    private static void writeBaseline(Map<String, Double> report) throws IOException {
+        Files.writeString(BASELINE, "# Load test baseline (latencies in ms, throughput in req/s), written by\n"
+                + "# mvn -Ploadtest test -Dload.write-baseline=true\n" + format(report));
+    }
+
+    private static String format(Map<String, Double> values) {
+        StringBuilder out = new StringBuilder();
+        values.forEach((key, value) -> out.append(key).append('=')
+                .append(String.format(Locale.ROOT, "%.3f", value)).append('\n'));
+        return out.toString();
+    }
+}
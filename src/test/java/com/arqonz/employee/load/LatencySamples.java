@@ -0,0 +1,55 @@
+package com.arqonz.employee.load;
+
+import java.util.Arrays;
+
+// Latency samples of one operation. Each virtual user records into its own instance
+// (no synchronization on the hot path); the instances are merged after the run.
+final class LatencySamples {
+
+    private long[] values = new long[1024];
+    private int size;
+    private long errors;
+    private boolean sorted;
+
+    void record(long nanos, boolean ok) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = nanos;
+        if (!ok) {
+            errors++;
+        }
+        sorted = false;
+    }
+
+    void addAll(LatencySamples other) {
+        if (size + other.size > values.length) {
+            values = Arrays.copyOf(values, Math.max(values.length * 2, size + other.size));
+        }
+        System.arraycopy(other.values, 0, values, size, other.size);
+        size += other.size;
+        errors += other.errors;
+        sorted = false;
+    }
+
+    int count() {
+        return size;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    // Nearest-rank percentile in milliseconds, p in (0, 100]
+    double percentileMillis(double p) {
+        if (size == 0) {
+            return 0;
+        }
+        if (!sorted) {
+            Arrays.sort(values, 0, size);
+            sorted = true;
+        }
+        int rank = (int) Math.ceil(p / 100.0 * size);
+        return values[Math.max(0, rank - 1)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,79 @@
+package com.arqonz.employee.seed;
+
+import com.arqonz.employee.model.Employee;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeDataGeneratorTest {
+
+    private final EmployeeDataGenerator generator = new EmployeeDataGenerator(42, 1.1, 10);
+
+    @Test
+    void testRowsAreDeterministic() {
+        Employee first = generator.row(1234);
+        Employee again = new EmployeeDataGenerator(42, 1.1, 10).row(1234);
+
+        assertEquals(first, again);
+        assertNotEquals(first, new EmployeeDataGenerator(7, 1.1, 10).row(1234));
+    }
+
+    @Test
+    void testEmailsAndUniqueFirstNamesDoNotRepeat() {
+        Set<String> emails = new HashSet<>();
+        Set<String> uniqueNames = new HashSet<>();
+        for (long n = 1; n <= 50_000; n++) {
+            Employee employee = generator.row(n);
+            assertTrue(emails.add(employee.getEmail()), "Duplicate email " + employee.getEmail());
+            if (generator.hasUniqueFirstName(n)) {
+                assertTrue(uniqueNames.add(employee.getFirstName()), "Duplicate name " + employee.getFirstName());
+            }
+        }
+    }
+
+    @Test
+    void testFirstNamesAreSkewed() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (long n = 1; n <= 50_000; n++) {
+            if (!generator.hasUniqueFirstName(n)) {
+                counts.merge(generator.row(n).getFirstName(), 1, Integer::sum);
+            }
+        }
+        int top = counts.values().stream().max(Integer::compare).orElse(0);
+        int bottom = counts.values().stream().min(Integer::compare).orElse(0);
+
+        assertTrue(top > 20 * bottom, "Expected a skewed distribution, top " + top + " bottom " + bottom);
+    }
+
+    @Test
+    void testLoadersInsertTheSameRows() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:seedtest;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        EmployeeDataLoader loader = new EmployeeDataLoader(dataSource);
+
+        loader.load(generator, 1, 1500, EmployeeDataLoader.Mode.CSV, 500);
+        loader.load(generator, 1501, 1500, EmployeeDataLoader.Mode.BATCHED, 500);
+
+        assertEquals(3000, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employees", Long.class));
+        for (long n : new long[]{1, 1500, 1501, 3000}) {
+            Employee expected = generator.row(n);
+            Employee actual = jdbcTemplate.queryForObject(
+                    "SELECT first_name, last_name, email, phone, address FROM employees WHERE email = ?",
+                    (rs, i) -> new Employee(null, rs.getString(1), rs.getString(2), rs.getString(3),
+                            rs.getString(4), rs.getString(5)),
+                    expected.getEmail());
+            assertEquals(expected, actual);
+        }
+        assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employees WHERE phone IS NULL", Long.class),
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employees WHERE phone IS NULL OR phone = ''", Long.class));
+    }
+}
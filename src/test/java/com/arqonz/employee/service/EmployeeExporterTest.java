@@ -0,0 +1,76 @@
+package com.arqonz.employee.service;
+
+import com.arqonz.employee.dto.EmployeeFields;
+import com.arqonz.employee.model.Employee;
+import com.arqonz.employee.repository.EmployeeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeExporterTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private EmployeeExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        exporter = new EmployeeExporter(employeeRepository, new ObjectMapper(), 2, 2, 2, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        exporter.shutdown();
+    }
+
+    @Test
+    void testRangesFollowTheTenantsIdsNotTheIdSpace() throws Exception {
+        // Given - five rows spread over three million ids
+        when(employeeRepository.findIdsAfter(Long.MIN_VALUE, PageRequest.of(0, 2))).thenReturn(List.of(1L, 1_000_000L));
+        when(employeeRepository.findIdsAfter(1_000_000L, PageRequest.of(0, 2))).thenReturn(List.of(2_000_000L, 3_000_000L));
+        when(employeeRepository.findIdsAfter(3_000_000L, PageRequest.of(0, 2))).thenReturn(List.of(3_000_001L));
+        when(employeeRepository.findProjected(any(), anyCollection(), any(Sort.class), eq(0)))
+                .thenReturn(List.of(new Employee(1L, "A", null, "a@example.com", null, null)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long exported = exporter.export("default", EmployeeFields.parse("id"), out);
+
+        // Then - one query per range, each range full except the last
+        assertEquals(3, exported);
+        verify(employeeRepository, times(3)).findProjected(any(), anyCollection(), any(Sort.class), eq(0));
+        verify(employeeRepository, times(3)).findIdsAfter(anyLong(), any());
+        assertEquals("[{\"id\":1},{\"id\":1},{\"id\":1}]", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testEmptyTenantExportsEmptyArray() throws Exception {
+        // Given
+        when(employeeRepository.findIdsAfter(Long.MIN_VALUE, PageRequest.of(0, 2))).thenReturn(List.of());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long exported = exporter.export("default", EmployeeFields.ALL, out);
+
+        // Then
+        assertEquals(0, exported);
+        assertEquals("[]", out.toString(StandardCharsets.UTF_8));
+        verify(employeeRepository, never()).findProjected(any(), anyCollection(), any(Sort.class), anyInt());
+    }
+}
@@ -1,20 +1,32 @@
 package com.arqonz.employee.service;
 
+import com.arqonz.employee.audit.AuditLog;
+import com.arqonz.employee.cache.EmployeeCache;
+import com.arqonz.employee.cache.HotKeyTracker;
+import com.arqonz.employee.directory.DirectorySnapshot;
+import com.arqonz.employee.dto.BatchLookupRequest;
+import com.arqonz.employee.dto.BatchLookupResponse;
 import com.arqonz.employee.dto.CreateEmployeeRequest;
 import com.arqonz.employee.dto.EmployeeResponse;
 import com.arqonz.employee.dto.UpdateEmployeeRequest;
 import com.arqonz.employee.dto.UpdatePhoneRequest;
+import com.arqonz.employee.exception.ConflictException;
+import com.arqonz.employee.fulltext.EmployeeFullTextIndex;
 import com.arqonz.employee.model.Employee;
 import com.arqonz.employee.repository.EmployeeRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,13 +39,37 @@ class EmployeeServiceTest {
     @Mock
     private EmployeeRepository employeeRepository;
     
-    @InjectMocks
+    @Mock
+    private DirectorySnapshot directorySnapshot;
+    
+    @Mock
+    private EmployeeCache employeeCache;
+    
+    @Mock
+    private HotKeyTracker hotKeyTracker;
+    
+    private final LookupStrategyRouter lookupRouter = new LookupStrategyRouter(0.1, 0.05, 20);
+    
+    @Mock
+    private EmployeeStatistics employeeStatistics;
+    
+    @Mock
+    private EmployeeFullTextIndex fullTextIndex;
+    
+    @Mock
+    private AuditLog auditLog;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
     private EmployeeService employeeService;
     
     private Employee testEmployee;
     
     @BeforeEach
     void setUp() {
+        employeeService = newService(true);
+        
         testEmployee = new Employee();
         testEmployee.setId(1L);
         testEmployee.setFirstName("John");
@@ -87,11 +123,51 @@ class EmployeeServiceTest {
         verify(employeeRepository, times(1)).findByEmailUsingHQL(email);
     }
     
+    @Test
+    void testGetEmployeeByEmailUsingHQL_ServedFromDirectorySnapshot() {
+        // Given
+        String email = "john.doe@example.com";
+        EmployeeResponse cached = new EmployeeResponse(1L, "John", "Doe", email, "1234567890", "123 Main St");
+        when(directorySnapshot.findByEmail(email)).thenReturn(Optional.of(cached));
+        
+        // When
+        EmployeeResponse response = employeeService.getEmployeeByEmailUsingHQL(email);
+        
+        // Then
+        assertEquals(cached, response);
+        verify(employeeRepository, never()).findByEmailUsingHQL(anyString());
+    }
+    
+    @Test
+    void testLookupEmployees_CacheHitsSkipDatabaseAndOrderIsPreserved() {
+        // Given
+        Employee jane = new Employee(2L, "Jane", null, "jane@example.com", null, null);
+        EmployeeResponse cachedJohn = new EmployeeResponse(1L, "John", "Doe", "john.doe@example.com", null, null);
+        when(employeeCache.get(anyString())).thenAnswer(invocation ->
+                cachedJohn.getEmail().equals(invocation.getArgument(0)) ? Optional.of(cachedJohn) : Optional.empty());
+        when(employeeRepository.findByEmailNormalizedIn(List.of("missing@example.com", "jane@example.com")))
+                .thenReturn(List.of(jane));
+        BatchLookupRequest request = new BatchLookupRequest(
+                List.of("missing@example.com", "john.doe@example.com", "jane@example.com"), null);
+        
+        // When
+        BatchLookupResponse response = employeeService.lookupEmployees(request);
+        
+        // Then
+        assertEquals(3, response.getResults().size());
+        assertFalse(response.getResults().get(0).isFound());
+        assertEquals("John", response.getResults().get(1).getEmployee().getFirstName());
+        assertEquals("Jane", response.getResults().get(2).getEmployee().getFirstName());
+        assertEquals(2, response.getFound());
+        assertEquals(1, response.getNotFound());
+        verify(employeeRepository, times(1)).findByEmailNormalizedIn(anyCollection());
+    }
+    
     @Test
     void testGetEmployeeByEmailUsingNativeSQL_Success() {
         // Given
         String email = "john.doe@example.com";
-        when(employeeRepository.findByEmailUsingNativeSQL(email)).thenReturn(Optional.of(testEmployee));
+        when(employeeRepository.findByEmailUsingNativeSQL("default", email)).thenReturn(Optional.of(testEmployee));
         
         // When
         EmployeeResponse response = employeeService.getEmployeeByEmailUsingNativeSQL(email);
@@ -99,7 +175,7 @@ class EmployeeServiceTest {
         // Then
         assertNotNull(response);
         assertEquals(testEmployee.getEmail(), response.getEmail());
-        verify(employeeRepository, times(1)).findByEmailUsingNativeSQL(email);
+        verify(employeeRepository, times(1)).findByEmailUsingNativeSQL("default", email);
     }
     
     @Test
@@ -136,7 +212,7 @@ class EmployeeServiceTest {
     void testGetEmployeeByNameUsingNativeSQL_Success() {
         // Given
         String name = "John";
-        when(employeeRepository.findByNameUsingNativeSQL(name)).thenReturn(Optional.of(testEmployee));
+        when(employeeRepository.findByNameUsingNativeSQL("default", name)).thenReturn(Optional.of(testEmployee));
         
         // When
         EmployeeResponse response = employeeService.getEmployeeByNameUsingNativeSQL(name);
@@ -144,7 +220,7 @@ class EmployeeServiceTest {
         // Then
         assertNotNull(response);
         assertEquals(testEmployee.getFirstName(), response.getFirstName());
-        verify(employeeRepository, times(1)).findByNameUsingNativeSQL(name);
+        verify(employeeRepository, times(1)).findByNameUsingNativeSQL("default", name);
     }
     
     @Test
@@ -161,8 +237,7 @@ class EmployeeServiceTest {
         newEmployee.setEmail("jane@example.com");
         newEmployee.setPhone("9876543210");
         
-        when(employeeRepository.existsByEmail(request.getEmail())).thenReturn(false);
-        when(employeeRepository.save(any(Employee.class))).thenReturn(newEmployee);
+        when(employeeRepository.saveAndFlush(any(Employee.class))).thenReturn(newEmployee);
         
         // When
         EmployeeResponse response = employeeService.createEmployee(request);
@@ -171,8 +246,10 @@ class EmployeeServiceTest {
         assertNotNull(response);
         assertEquals(request.getEmail(), response.getEmail());
         assertEquals(request.getName(), response.getFirstName());
-        verify(employeeRepository, times(1)).existsByEmail(request.getEmail());
-        verify(employeeRepository, times(1)).save(any(Employee.class));
+        // No existence pre-check: the insert itself detects duplicates
+        verify(employeeRepository, never()).findByEmailUsingHQL(anyString());
+        verify(employeeRepository, times(1)).saveAndFlush(any(Employee.class));
+        verify(eventPublisher, times(1)).publishEvent(any(EmployeeChangedEvent.class));
     }
     
     @Test
@@ -182,15 +259,16 @@ class EmployeeServiceTest {
         request.setName("Jane");
         request.setEmail("jane@example.com");
         
-        when(employeeRepository.existsByEmail(request.getEmail())).thenReturn(true);
+        when(employeeRepository.saveAndFlush(any(Employee.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new SQLException("Unique index or primary key violation", "23505")));
         
         // When & Then
-        assertThrows(IllegalArgumentException.class, () -> {
+        assertThrows(ConflictException.class, () -> {
             employeeService.createEmployee(request);
         });
         
-        verify(employeeRepository, times(1)).existsByEmail(request.getEmail());
-        verify(employeeRepository, never()).save(any(Employee.class));
+        verify(employeeRepository, times(1)).saveAndFlush(any(Employee.class));
+        verify(eventPublisher, never()).publishEvent(any());
     }
     
     @Test
@@ -252,14 +330,80 @@ class EmployeeServiceTest {
         // Given
         String email = "john.doe@example.com";
         when(employeeRepository.findByEmailUsingHQL(email)).thenReturn(Optional.of(testEmployee));
-        doNothing().when(employeeRepository).delete(any(Employee.class));
+        
+        // When
+        employeeService.deleteEmployeeByEmail(email);
+        
+        // Then - soft delete: the row is only marked
+        assertNotNull(testEmployee.getDeletedAt());
+        verify(employeeRepository, times(1)).saveAndFlush(testEmployee);
+        verify(employeeRepository, never()).delete(any(Employee.class));
+        verify(eventPublisher, times(1)).publishEvent(any(EmployeeChangedEvent.class));
+    }
+    
+    @Test
+    void testDeleteEmployeeByEmail_HardDeleteWhenSoftDeleteDisabled() {
+        // Given
+        employeeService = newService(false);
+        String email = "john.doe@example.com";
+        when(employeeRepository.findByEmailUsingHQL(email)).thenReturn(Optional.of(testEmployee));
         
         // When
         employeeService.deleteEmployeeByEmail(email);
         
         // Then
-        verify(employeeRepository, times(1)).findByEmailUsingHQL(email);
+        assertNull(testEmployee.getDeletedAt());
         verify(employeeRepository, times(1)).delete(testEmployee);
+        verify(employeeRepository, never()).saveAndFlush(any(Employee.class));
+    }
+    
+    @Test
+    void testRestoreEmployee_Success() {
+        // Given
+        testEmployee.setDeletedAt(LocalDateTime.now());
+        when(employeeRepository.findDeletedByEmail("default", "john.doe@example.com")).thenReturn(Optional.of(testEmployee));
+        when(employeeRepository.saveAndFlush(testEmployee)).thenReturn(testEmployee);
+        
+        // When
+        EmployeeResponse response = employeeService.restoreEmployee("John.Doe@example.com");
+        
+        // Then
+        assertEquals("john.doe@example.com", response.getEmail());
+        assertNull(testEmployee.getDeletedAt());
+        verify(eventPublisher, times(1)).publishEvent(any(EmployeeChangedEvent.class));
+    }
+    
+    @Test
+    void testRestoreEmployee_NotFound() {
+        // Given
+        when(employeeRepository.findDeletedByEmail("default", "john.doe@example.com")).thenReturn(Optional.empty());
+        
+        // When & Then
+        assertThrows(EntityNotFoundException.class, () -> employeeService.restoreEmployee("john.doe@example.com"));
+        verify(employeeRepository, never()).saveAndFlush(any(Employee.class));
+    }
+    
+    @Test
+    void testRestoreEmployee_EmailTakenSinceDelete() {
+        // Given
+        testEmployee.setDeletedAt(LocalDateTime.now());
+        when(employeeRepository.findDeletedByEmail("default", "john.doe@example.com")).thenReturn(Optional.of(testEmployee));
+        when(employeeRepository.saveAndFlush(testEmployee)).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new SQLException("Unique index or primary key violation", "23505")));
+        
+        // When & Then
+        assertThrows(ConflictException.class, () -> employeeService.restoreEmployee("john.doe@example.com"));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+    
+    @Test
+    void testGetEmployeeHistory_NotFound() throws Exception {
+        // Given
+        when(auditLog.history("default", "nobody@example.com", 10)).thenReturn(List.of());
+        
+        // When & Then
+        assertThrows(EntityNotFoundException.class, () -> employeeService.getEmployeeHistory("nobody@example.com", 10));
+        assertThrows(IllegalArgumentException.class, () -> employeeService.getEmployeeHistory("nobody@example.com", 0));
     }
     
     @Test
@@ -275,5 +419,10 @@ class EmployeeServiceTest {
         
         verify(employeeRepository, never()).delete(any(Employee.class));
     }
+    
+    private EmployeeService newService(boolean softDelete) {
+        return new EmployeeService(employeeRepository, directorySnapshot, employeeCache, hotKeyTracker,
+                lookupRouter, employeeStatistics, fullTextIndex, auditLog, eventPublisher, softDelete);
+    }
 }
 
@@ -0,0 +1,87 @@
+package com.arqonz.employee.service;
+
+import com.arqonz.employee.dto.EmployeeResponse;
+import com.arqonz.employee.dto.EmployeeStatsResponse;
+import com.arqonz.employee.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeStatisticsTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private EmployeeStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new EmployeeStatistics(employeeRepository);
+    }
+
+    @Test
+    void testReconcileLoadsAggregatesFromDatabase() {
+        // Given
+        when(employeeRepository.countByTenant()).thenReturn(List.of(
+                new Object[]{"default", 3L}, new Object[]{"acme", 1L}));
+        when(employeeRepository.countMissingPhone()).thenReturn(List.<Object[]>of(new Object[]{"default", 1L}));
+        when(employeeRepository.countMissingAddress()).thenReturn(List.of(
+                new Object[]{"default", 2L}, new Object[]{"acme", 1L}));
+        when(employeeRepository.countByEmailDomain()).thenReturn(List.of(
+                new Object[]{"default", "example.com", 2L}, new Object[]{"default", "test.org", 1L},
+                new Object[]{"acme", "acme.com", 1L}));
+        when(employeeRepository.countByLastNameInitial()).thenReturn(List.of(
+                new Object[]{"default", "D", 2L}, new Object[]{"default", null, 1L}, new Object[]{"acme", "R", 1L}));
+
+        // When
+        statistics.reconcile();
+        EmployeeStatsResponse stats = statistics.snapshot("default");
+        EmployeeStatsResponse acme = statistics.snapshot("acme");
+
+        // Then
+        assertEquals(3, stats.getTotalEmployees());
+        assertEquals(1, stats.getMissingPhone());
+        assertEquals(2, stats.getMissingAddress());
+        assertEquals(Map.of("example.com", 2L, "test.org", 1L), stats.getByEmailDomain());
+        assertEquals(Map.of("D", 2L, "-", 1L), stats.getByLastNameInitial());
+        assertNotNull(stats.getLastReconciledAt());
+        assertEquals(1, acme.getTotalEmployees());
+        assertEquals(0, acme.getMissingPhone());
+        assertEquals(Map.of("acme.com", 1L), acme.getByEmailDomain());
+        assertEquals(0, statistics.snapshot("other").getTotalEmployees());
+    }
+
+    @Test
+    void testEventsAdjustCountersIncrementally() {
+        // Given
+        EmployeeResponse created = new EmployeeResponse(1L, "John", null, "john@Example.com", null, null);
+        EmployeeResponse updated = new EmployeeResponse(1L, "John", "Doe", "john@Example.com", "1234567890", null);
+        EmployeeResponse other = new EmployeeResponse(2L, "Jane", "smith", "jane@test.org", "555", "1 Main St");
+
+        // When
+        statistics.onEmployeeChanged(new EmployeeChangedEvent(null, created));
+        statistics.onEmployeeChanged(new EmployeeChangedEvent(null, other));
+        statistics.onEmployeeChanged(new EmployeeChangedEvent(created, updated));
+        statistics.onEmployeeChanged(new EmployeeChangedEvent(other, null));
+        statistics.onEmployeeChanged(new EmployeeChangedEvent("acme", null, other));
+        EmployeeStatsResponse stats = statistics.snapshot("default");
+
+        // Then
+        assertEquals(1, stats.getTotalEmployees());
+        assertEquals(0, stats.getMissingPhone());
+        assertEquals(1, stats.getMissingAddress());
+        assertEquals(Map.of("example.com", 1L), stats.getByEmailDomain());
+        assertEquals(Map.of("D", 1L), stats.getByLastNameInitial());
+        assertEquals(Map.of("test.org", 1L), statistics.snapshot("acme").getByEmailDomain());
+        verifyNoInteractions(employeeRepository);
+    }
+}
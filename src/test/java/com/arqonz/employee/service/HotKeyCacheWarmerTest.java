@@ -0,0 +1,99 @@
+package com.arqonz.employee.service;
+
+import com.arqonz.employee.cache.EmployeeCache;
+import com.arqonz.employee.cache.HotKeyTracker;
+import com.arqonz.employee.dto.EmployeeResponse;
+import com.arqonz.employee.model.Employee;
+import com.arqonz.employee.repository.EmployeeRepository;
+import com.arqonz.employee.tenant.TenantContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotKeyCacheWarmerTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testPreloadsSavedHotKeys() {
+        String path = dir.resolve("hot-keys.tsv").toString();
+        HotKeyTracker before = new HotKeyTracker(true, true, path, 10, 4096);
+        before.record("john.doe@example.com");
+        try (TenantContext.Scope ignored = TenantContext.enter("acme")) {
+            before.record("jane@example.com");
+        }
+        before.save();
+
+        HotKeyTracker tracker = new HotKeyTracker(true, true, path, 10, 4096);
+        tracker.load();
+        EmployeeCache cache = new EmployeeCache(true, 300, 100, 10);
+        when(employeeRepository.findByEmailNormalizedIn(List.of("john.doe@example.com")))
+                .thenReturn(List.of(employee(1L, "John.Doe@example.com")));
+        when(employeeRepository.findByEmailNormalizedIn(List.of("jane@example.com")))
+                .thenReturn(List.of(employee(2L, "jane@example.com")));
+
+        assertEquals(2, new HotKeyCacheWarmer(employeeRepository, cache, tracker, 60, 2).preload());
+
+        assertEquals(1L, cache.get("john.doe@example.com").orElseThrow().getId());
+        try (TenantContext.Scope ignored = TenantContext.enter("acme")) {
+            assertEquals(2L, cache.get("jane@example.com").orElseThrow().getId());
+        }
+    }
+
+    @Test
+    void testRefreshesOnlyHotKeysCloseToExpiry() {
+        HotKeyTracker tracker = new HotKeyTracker(true, true, dir.resolve("hot-keys.tsv").toString(), 10, 4096);
+        tracker.record("john.doe@example.com");
+        tracker.record("john.doe@example.com");
+        tracker.record("once@example.com");
+        // A 30 second TTL is inside the 60 second window, a fresh entry of a 300 second one is not
+        EmployeeCache shortLived = new EmployeeCache(true, 30, 100, 10);
+        shortLived.put(new EmployeeResponse(1L, "John", "Doe", "john.doe@example.com", null, null), shortLived.generation());
+        when(employeeRepository.findByEmailNormalizedIn(List.of("john.doe@example.com")))
+                .thenReturn(List.of(employee(1L, "john.doe@example.com")));
+
+        assertEquals(1, new HotKeyCacheWarmer(employeeRepository, shortLived, tracker, 60, 2).refreshAhead());
+
+        EmployeeCache longLived = new EmployeeCache(true, 300, 100, 10);
+        longLived.put(new EmployeeResponse(1L, "John", "Doe", "john.doe@example.com", null, null), longLived.generation());
+        assertEquals(0, new HotKeyCacheWarmer(employeeRepository, longLived, tracker, 60, 2).refreshAhead());
+        verify(employeeRepository, times(1)).findByEmailNormalizedIn(anyCollection());
+    }
+
+    @Test
+    void testDoesNotReviveDeletedHotKeys() {
+        HotKeyTracker tracker = new HotKeyTracker(true, true, dir.resolve("hot-keys.tsv").toString(), 10, 4096);
+        tracker.record("john.doe@example.com");
+        tracker.record("john.doe@example.com");
+        EmployeeCache cache = new EmployeeCache(true, 300, 100, 10);
+        cache.onEmployeeChanged(new EmployeeChangedEvent(
+                new EmployeeResponse(1L, "John", "Doe", "john.doe@example.com", null, null), null));
+
+        assertEquals(0, new HotKeyCacheWarmer(employeeRepository, cache, tracker, 600, 2).refreshAhead());
+
+        assertTrue(cache.isTombstoned("john.doe@example.com"));
+        verifyNoInteractions(employeeRepository);
+    }
+
+    private static Employee employee(Long id, String email) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setFirstName("John");
+        employee.setEmail(email);
+        return employee;
+    }
+}
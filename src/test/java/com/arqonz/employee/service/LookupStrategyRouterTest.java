@@ -0,0 +1,84 @@
+package com.arqonz.employee.service;
+
+import com.arqonz.employee.dto.LookupStrategyStatsResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LookupStrategyRouterTest {
+
+    private static final LookupStrategyRouter.Kind EMAIL = LookupStrategyRouter.Kind.EMAIL;
+
+    @Test
+    void testChoosesLeastSampledUntilEveryStrategyIsWarm() {
+        LookupStrategyRouter router = new LookupStrategyRouter(0.1, 0.0, 2);
+        Map<LookupStrategy, Integer> chosen = new EnumMap<>(LookupStrategy.class);
+        for (int i = 0; i < 6; i++) {
+            LookupStrategy strategy = router.choose(EMAIL);
+            chosen.merge(strategy, 1, Integer::sum);
+            router.record(EMAIL, strategy, 1_000);
+        }
+
+        for (LookupStrategy strategy : LookupStrategy.values()) {
+            assertEquals(2, chosen.get(strategy));
+        }
+        assertNull(new LookupStrategyRouter(0.1, 0.0, 2).getStats().getEmail().getPreferred());
+    }
+
+    @Test
+    void testPrefersFastestOnceWarm() {
+        LookupStrategyRouter router = new LookupStrategyRouter(0.5, 0.0, 1);
+        router.record(EMAIL, LookupStrategy.SPECIFICATIONS, 300_000);
+        router.record(EMAIL, LookupStrategy.HQL, 200_000);
+        router.record(EMAIL, LookupStrategy.NATIVE_SQL, 100_000);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(LookupStrategy.NATIVE_SQL, router.choose(EMAIL));
+        }
+
+        // The native query slows down: its average moves halfway per sample
+        router.record(EMAIL, LookupStrategy.NATIVE_SQL, 900_000);
+        assertEquals(LookupStrategy.HQL, router.choose(EMAIL));
+        // Name lookups are routed separately
+        assertEquals(LookupStrategy.SPECIFICATIONS, router.choose(LookupStrategyRouter.Kind.NAME));
+    }
+
+    @Test
+    void testExploresOtherStrategies() {
+        LookupStrategyRouter router = new LookupStrategyRouter(0.1, 1.0, 1);
+        router.record(EMAIL, LookupStrategy.SPECIFICATIONS, 100_000);
+        router.record(EMAIL, LookupStrategy.HQL, 200_000);
+        router.record(EMAIL, LookupStrategy.NATIVE_SQL, 300_000);
+
+        for (int i = 0; i < 20; i++) {
+            assertNotEquals(LookupStrategy.SPECIFICATIONS, router.choose(EMAIL));
+        }
+        LookupStrategyStatsResponse.KindStats stats = router.getStats().getEmail();
+        assertEquals(0, stats.getStrategies().get("specifications").getRouted());
+        assertEquals(20, stats.getStrategies().get("hql").getExplored() + stats.getStrategies().get("native").getExplored());
+    }
+
+    @Test
+    void testTimedSamplesOnlySuccessfulQueries() {
+        LookupStrategyRouter router = new LookupStrategyRouter(0.1, 0.05, 1);
+
+        assertEquals("found", router.timed(EMAIL, LookupStrategy.HQL, () -> "found"));
+        assertThrows(IllegalStateException.class, () -> router.timed(EMAIL, LookupStrategy.HQL, () -> {
+            throw new IllegalStateException("query failed");
+        }));
+
+        LookupStrategyStatsResponse.StrategyStats hql = router.getStats().getEmail().getStrategies().get("hql");
+        assertEquals(1, hql.getSamples());
+        assertNotNull(hql.getLatencyMicros());
+        assertNull(router.getStats().getEmail().getStrategies().get("native").getLatencyMicros());
+    }
+
+    @Test
+    void testRejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new LookupStrategyRouter(0.0, 0.05, 20));
+        assertThrows(IllegalArgumentException.class, () -> new LookupStrategyRouter(0.1, 1.5, 20));
+    }
+}
@@ -0,0 +1,49 @@
+package com.arqonz.employee.service;
+
+import com.arqonz.employee.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SoftDeletePurgerTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Test
+    void testPurgesInBatchesUntilBacklogIsDrained() {
+        when(employeeRepository.purgeDeletedBefore(any(LocalDateTime.class), eq(100))).thenReturn(100, 100, 37);
+        SoftDeletePurger purger = new SoftDeletePurger(employeeRepository, true, 24, 100, 0, 10);
+
+        assertEquals(237, purger.purge());
+        verify(employeeRepository, times(3)).purgeDeletedBefore(any(LocalDateTime.class), eq(100));
+    }
+
+    @Test
+    void testStopsAtBatchLimitPerRun() {
+        when(employeeRepository.purgeDeletedBefore(any(LocalDateTime.class), eq(100))).thenReturn(100);
+        SoftDeletePurger purger = new SoftDeletePurger(employeeRepository, true, 24, 100, 0, 2);
+
+        assertEquals(200, purger.purge());
+        verify(employeeRepository, times(2)).purgeDeletedBefore(any(LocalDateTime.class), eq(100));
+    }
+
+    @Test
+    void testKeepsRowsWithinRetention() {
+        SoftDeletePurger purger = new SoftDeletePurger(employeeRepository, true, 24, 100, 0, 10);
+        LocalDateTime before = LocalDateTime.now().minusHours(24);
+
+        purger.purge();
+
+        verify(employeeRepository).purgeDeletedBefore(argThat(cutoff -> !cutoff.isBefore(before)
+                && cutoff.isBefore(LocalDateTime.now().minusHours(23))), eq(100));
+    }
+}
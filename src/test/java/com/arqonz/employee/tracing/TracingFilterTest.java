@@ -0,0 +1,80 @@
+package com.arqonz.employee.tracing;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracingFilterTest {
+
+    private static final String SAMPLED = "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01";
+
+    // Opens nested spans the way the aspect and Hibernate listener would, then writes a body
+    private final HttpServlet servlet = new HttpServlet() {
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            try (Span controller = Tracer.span("controller", "EmployeeController.get")) {
+                try (Span repository = Tracer.span("repository", "EmployeeRepository.findOne");
+                     Span db = Tracer.span("db", "jdbc.execute")) {
+                    response.setContentType("application/json");
+                }
+                response.getWriter().write("{\"ok\":true}");
+            }
+        }
+    };
+
+    @Test
+    void testSampledRequestGetsServerTimingHeader() throws Exception {
+        TracingFilter filter = new TracingFilter(0.0, false, "unused", 16, "test");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees/email/a@b.com/hql");
+        request.addHeader(TracingFilter.TRACEPARENT_HEADER, SAMPLED);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain(servlet));
+
+        String serverTiming = response.getHeader(TracingFilter.SERVER_TIMING_HEADER);
+        assertNotNull(serverTiming);
+        assertTrue(serverTiming.matches("total;dur=[0-9.]+, controller;dur=[0-9.]+, repository;dur=[0-9.]+, "
+                + "db;dur=[0-9.]+, trace;desc=\"0af7651916cd43dd8448eb211c80319c\""), serverTiming);
+        assertEquals("{\"ok\":true}", response.getContentAsString());
+        assertFalse(Tracer.isTracing());
+    }
+
+    @Test
+    void testUnsampledRequestIsNotTraced() throws Exception {
+        TracingFilter filter = new TracingFilter(0.0, false, "unused", 16, "test");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees/email/a@b.com/hql");
+        request.addHeader(TracingFilter.TRACEPARENT_HEADER, SAMPLED.substring(0, 53) + "00");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain(servlet) {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) throws IOException, ServletException {
+                assertSame(Span.NOOP, Tracer.span("controller", "unsampled"));
+                super.doFilter(req, res);
+            }
+        });
+
+        assertNull(response.getHeader(TracingFilter.SERVER_TIMING_HEADER));
+        assertEquals("{\"ok\":true}", response.getContentAsString());
+    }
+
+    @Test
+    void testTraceparentValidation() {
+        assertTrue(TracingFilter.isSampled(SAMPLED));
+        assertFalse(TracingFilter.isSampled(SAMPLED.substring(0, 53) + "00"));
+        assertFalse(TracingFilter.isSampled("00-xyz"));
+        assertFalse(TracingFilter.isSampled(SAMPLED.replace('a', 'g')));
+        assertFalse(TracingFilter.isSampled(null));
+    }
+}